@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("application")
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.example"
@@ -17,6 +18,19 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-core:2.17.2")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.17.2")
 }
+// The macro benchmark harness in src/macro/java, kept out of the application jar like the microbenchmarks
+sourceSets {
+    create("macro") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+    test {
+        compileClasspath += sourceSets["macro"].output
+        runtimeClasspath += sourceSets["macro"].output
+    }
+}
+configurations["macroImplementation"].extendsFrom(configurations.implementation.get())
+configurations["macroRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
 application{
     mainClass.set("it.unicam.formula1Game.application.Formula1ApplicationCpu")
 }
@@ -24,6 +38,15 @@ application{
 tasks.test {
     useJUnitPlatform()
 }
+// Microbenchmarks in src/jmh/java, run with ./gradlew jmh; results are written to build/results/jmh
+jmh {
+    jmhVersion.set("1.37")
+    profilers.add("gc")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    resultFormat.set("JSON")
+}
 // Custom task to handle proper input redirection for interactive applications
 tasks.register<JavaExec>("runApp"){
     group = "application"
@@ -31,4 +54,30 @@ tasks.register<JavaExec>("runApp"){
     mainClass.set("it.unicam.formula1Game.application.Formula1ApplicationCpu")
     classpath = sourceSets.main.get().runtimeClasspath
     standardInput = System.`in` // Redirects input to System.in
-}
\ No newline at end of file
+}
+// Custom task to compile a JSON track into the binary track format, e.g. --args="src/jsonRaceTracks/track.json"
+tasks.register<JavaExec>("compileTrack"){
+    group = "application"
+    description = "Compile a JSON track into a memory-mappable .f1t track file"
+    mainClass.set("it.unicam.formula1Game.parser.TrackCompiler")
+    classpath = sourceSets.main.get().runtimeClasspath
+}
+// Custom task to generate a benchmark track, e.g. --args="build/tracks/large.json 2000 1000 12 5 42"
+tasks.register<JavaExec>("generateTrack"){
+    group = "application"
+    description = "Generate a closed-loop JSON track of the given size for benchmarks"
+    mainClass.set("it.unicam.formula1Game.generator.TrackGenerator")
+    classpath = sourceSets.main.get().runtimeClasspath
+}
+// Custom task to run the macro benchmark; the first run stores the baseline, later runs fail on a regression
+// or when the benchmark cannot run
+tasks.register<JavaExec>("macroBenchmark"){
+    group = "verification"
+    description = "Measure races per second and round latencies against the stored baseline"
+    mainClass.set("it.unicam.formula1Game.benchmark.MacroBenchmark")
+    classpath = sourceSets["macro"].runtimeClasspath
+    // A fixed heap keeps its resizing out of the measurements
+    jvmArgs("-Xms1g", "-Xmx1g")
+    // Five trials, each in its own JVM started with the options above
+    args("build/results/macro/report.json", "benchmarks/macro-baseline.json", "0.10", "5")
+}
@@ -0,0 +1,58 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.GameStrategy;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a full round of a {@link CpuGameEngine} race on the benchmarked track, without any output.
+ * A new race is started on the same track whenever the current one ends, so a few invocations also
+ * include placing the players on the start line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EngineBenchmark {
+    private RaceTrack raceTrack;
+    private List<GameStrategy> strategies;
+    private CpuGameEngine gameEngine;
+
+    @Setup(Level.Trial)
+    public void setUp(TrackState track) {
+        this.raceTrack = track.raceTrack;
+        this.strategies = List.of(
+                new WeightedRandomStrategy(this.raceTrack),
+                new LandingRegionsStrategy(this.raceTrack, new GeometricLandingRegionsDetector()));
+        startRace();
+    }
+
+    private void startRace() {
+        this.gameEngine = new CpuGameEngine(OutputSink.none());
+        this.gameEngine.setStrategies(this.strategies);
+        this.gameEngine.initializeEnvironment(this.raceTrack);
+        this.gameEngine.makeFirstMove();
+    }
+
+    @Benchmark
+    public boolean round() {
+        if (this.gameEngine.isFinished()) {
+            startRace();
+        }
+        return this.gameEngine.step();
+    }
+}
@@ -0,0 +1,47 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the parsing of the JSON configuration file of the benchmarked track.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParserBenchmark {
+    private final JsonParser jsonParser = new JsonParser();
+    private Path trackFile;
+
+    @Setup(Level.Trial)
+    public void setUp(TrackState track) throws IOException {
+        this.trackFile = Files.createTempFile("track", ".json");
+        track.generator().write(this.trackFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.trackFile);
+    }
+
+    @Benchmark
+    public RaceTrack jsonParser() throws InvalidConfigurationException {
+        return this.jsonParser.parse(new File(this.trackFile.toString()));
+    }
+}
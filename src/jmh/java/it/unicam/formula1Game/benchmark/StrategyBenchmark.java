@@ -0,0 +1,80 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.player.PlayerStateTable;
+import it.unicam.formula1Game.strategy.StrategyUtils;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegion;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the decisions of the strategies, taken for every player on the start line.
+ * The players are put back on the start line before each decision, so every invocation measures the same moves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StrategyBenchmark {
+    private WeightedRandomStrategy weightedRandomStrategy;
+    /**
+     * The strategy following the corners found by the {@link GeometricLandingRegionsDetector},
+     * since the regions of the {@link LandingRegionsDetector} only fit the shipped track.
+     */
+    private LandingRegionsStrategy landingRegionsStrategy;
+    private GeometricLandingRegionsDetector landingRegionsDetector;
+
+    @Setup(Level.Trial)
+    public void setUp(TrackState track) {
+        this.weightedRandomStrategy = new WeightedRandomStrategy(track.raceTrack);
+        this.landingRegionsDetector = new GeometricLandingRegionsDetector();
+        this.landingRegionsStrategy = new LandingRegionsStrategy(track.raceTrack, this.landingRegionsDetector);
+    }
+
+    @Benchmark
+    public void availableMoves(TrackState track, Blackhole blackhole) {
+        for (CpuPlayer player : track.cpuPlayers) {
+            blackhole.consume(StrategyUtils.getAvailableMoves(player.calculatePrincipalPoint(), track.raceTrack));
+        }
+    }
+
+    @Benchmark
+    public PlayerStateTable weightedRandomStrategy(TrackState track) {
+        track.resetPlayers();
+        for (CpuPlayer player : track.cpuPlayers) {
+            this.weightedRandomStrategy.applyStrategy(player);
+        }
+        return track.playerStates;
+    }
+
+    @Benchmark
+    public PlayerStateTable landingRegionsStrategy(TrackState track) {
+        track.resetPlayers();
+        for (CpuPlayer player : track.cpuPlayers) {
+            this.landingRegionsStrategy.applyStrategy(player);
+        }
+        return track.playerStates;
+    }
+
+    /**
+     * Measures the detection of the {@link GeometricLandingRegionsDetector} on the benchmarked track,
+     * bypassing its memo so that every invocation runs the whole detection.
+     */
+    @Benchmark
+    public List<LandingRegion> detectLandingRegions(TrackState track) {
+        return this.landingRegionsDetector.detect(track.raceTrack);
+    }
+}
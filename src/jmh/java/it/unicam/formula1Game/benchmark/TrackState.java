@@ -0,0 +1,74 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.generator.TrackGenerator;
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.player.PlayerStateTable;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The state shared by the benchmarks: a generated track of the benchmarked size, whose height is half its width,
+ * and the benchmarked number of players on its start line, as after the first move of a race.
+ */
+@State(Scope.Benchmark)
+public class TrackState {
+    /**
+     * The seed of the generated tracks, fixed so that every run measures the same tracks.
+     */
+    private static final long SEED = 42;
+    @Param({"64", "256", "1024"})
+    public int trackWidth;
+    @Param({"2", "10"})
+    public int players;
+    RaceTrack raceTrack;
+    PlayerStateTable playerStates;
+    List<CpuPlayer> cpuPlayers;
+    private List<Coordinate> startLine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InvalidConfigurationException {
+        this.raceTrack = generator().generate();
+        this.playerStates = new PlayerStateTable(this.players, this.raceTrack.getCoordinates());
+        this.cpuPlayers = new ArrayList<>();
+        this.startLine = this.raceTrack.getStartCoordinates();
+        for (int i = 0; i < this.players; i++) {
+            Coordinate start = this.startLine.get(i % this.startLine.size());
+            int slot = this.playerStates.add(i, start.getRow(), start.getColumn());
+            this.cpuPlayers.add(new CpuPlayer(this.playerStates, slot));
+        }
+        resetPlayers();
+    }
+
+    /**
+     * Returns the generator of the benchmarked track, whose road widens with the track.
+     *
+     * @return the {@link TrackGenerator} of the track.
+     */
+    TrackGenerator generator() {
+        return new TrackGenerator(this.trackWidth, this.trackWidth / 2,
+                Math.max(TrackGenerator.DEFAULT_ROAD_WIDTH, this.trackWidth / 16), TrackGenerator.DEFAULT_CORNERS,
+                this.players, "ccw", SEED);
+    }
+
+    /**
+     * Puts the players back on the start line, moving left as after the first move of a race.
+     */
+    void resetPlayers() {
+        for (int slot = 0; slot < this.players; slot++) {
+            Coordinate start = this.startLine.get(slot % this.startLine.size());
+            this.playerStates.setPosition(slot, start.getRow(), start.getColumn());
+            this.playerStates.move(slot, start.getRow(), start.getColumn() - 1);
+            this.playerStates.setCrashed(slot, false);
+            this.playerStates.setStrategyProgress(slot, 0);
+        }
+    }
+}
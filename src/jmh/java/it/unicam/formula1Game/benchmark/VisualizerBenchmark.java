@@ -0,0 +1,51 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.engine.GameVisualizer;
+import it.unicam.formula1Game.engine.TrackRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the drawing of the benchmarked track with its players: a whole frame drawn from scratch,
+ * and the rows redrawn by the {@link TrackRenderer} after a round, once the first frame has been written.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VisualizerBenchmark {
+    private TrackRenderer renderer;
+    private StringBuilder output;
+
+    @Setup(Level.Trial)
+    public void setUp(TrackState track) {
+        this.renderer = new TrackRenderer(track.raceTrack, true);
+        this.output = new StringBuilder();
+        this.renderer.update(track.cpuPlayers);
+        this.renderer.render(this.output, "Round 0");
+    }
+
+    @Benchmark
+    public String visualizeGame(TrackState track) {
+        return GameVisualizer.visualizeGame(track.raceTrack, track.cpuPlayers);
+    }
+
+    /**
+     * Measures a frame after the first one: the players are taken off and put back on the frame,
+     * so only their rows are redrawn.
+     */
+    @Benchmark
+    public StringBuilder renderChangedRows(TrackState track) {
+        this.output.setLength(0);
+        this.renderer.update(track.cpuPlayers);
+        this.renderer.render(this.output, "Round 1");
+        return this.output;
+    }
+}
@@ -0,0 +1,181 @@
+package it.unicam.formula1Game.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The report of a run of the {@link MacroBenchmark}, written as JSON so that it can be kept as a baseline
+ * and compared with later runs.
+ *
+ * @param javaVersion         the version of the Java runtime.
+ * @param availableProcessors the number of processors of the machine.
+ * @param warmupMillis        the time spent warming up each scenario in every trial, in milliseconds.
+ * @param measurementMillis   the time spent measuring each scenario in every trial, in milliseconds.
+ * @param trials              the number of trials.
+ * @param results             the results of the scenarios, merged over the trials.
+ */
+public record BenchmarkReport(String javaVersion, int availableProcessors, long warmupMillis, long measurementMillis,
+                              int trials, List<ScenarioResult> results) {
+    /**
+     * The mapper reading and writing the reports, ignoring the fields added by later versions.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    /**
+     * The two-sided 95% critical values of Student's t distribution, by degrees of freedom from 1 to 30.
+     */
+    private static final double[] T_CRITICAL = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042};
+
+    /**
+     * Writes the report to a JSON file, replacing the file if it exists and creating its parent directories.
+     *
+     * @param file the path of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Reads a report from a JSON file.
+     *
+     * @param file the path of the file.
+     * @return the report.
+     * @throws IOException if the file cannot be read or is not a report.
+     */
+    public static BenchmarkReport read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), BenchmarkReport.class);
+    }
+
+    /**
+     * Merges the reports of the trials of the same scenarios into a single report.
+     *
+     * @param trials the reports of the trials, at least one.
+     * @return the merged report.
+     * @throws IllegalArgumentException if no report is given.
+     */
+    public static BenchmarkReport merge(List<BenchmarkReport> trials) {
+        if (trials.isEmpty()) {
+            throw new IllegalArgumentException("At least one trial is required");
+        }
+        Map<String, List<ScenarioResult>> byScenario = new LinkedHashMap<>();
+        int trialCount = 0;
+        for (BenchmarkReport trial : trials) {
+            trialCount += trial.trials();
+            for (ScenarioResult result : trial.results()) {
+                byScenario.computeIfAbsent(result.scenario(), scenario -> new ArrayList<>()).add(result);
+            }
+        }
+        List<ScenarioResult> results = new ArrayList<>();
+        for (List<ScenarioResult> scenarioTrials : byScenario.values()) {
+            results.add(ScenarioResult.merge(scenarioTrials));
+        }
+        BenchmarkReport first = trials.get(0);
+        return new BenchmarkReport(first.javaVersion(), first.availableProcessors(), first.warmupMillis(),
+                first.measurementMillis(), trialCount, results);
+    }
+
+    /**
+     * Compares the report with a baseline, scenario by scenario.
+     * A scenario regresses if the mean over the trials of its races per second drops, or the mean of the
+     * 99th percentile of its rounds grows, by more than the given fraction of the baseline, and the change
+     * is significant, i.e. the 95% confidence interval of the difference of the means, by Welch's t-test,
+     * does not include zero. This way the noise between trials is not mistaken for a regression.
+     * Scenarios missing from the baseline, or measured by fewer than two trials on either side,
+     * are not compared, since their noise cannot be estimated.
+     *
+     * @param baseline  the report to compare with.
+     * @param threshold the tolerated change, as a fraction of the baseline, e.g. <code>0.1</code> for 10%.
+     * @return the description of every regression, empty if there is none.
+     */
+    public List<String> compare(BenchmarkReport baseline, double threshold) {
+        Map<String, ScenarioResult> baselineResults = baseline.results().stream()
+                .collect(Collectors.toMap(ScenarioResult::scenario, Function.identity(), (first, second) -> first));
+        List<String> regressions = new ArrayList<>();
+        for (ScenarioResult result : this.results) {
+            ScenarioResult before = baselineResults.get(result.scenario());
+            if (before == null) {
+                continue;
+            }
+            double[] throughput = interval(result.trialRacesPerSecond(), before.trialRacesPerSecond());
+            if (throughput != null && throughput[1] < 0
+                    && mean(result.trialRacesPerSecond()) < mean(before.trialRacesPerSecond()) * (1 - threshold)) {
+                regressions.add(String.format("%s: %.1f races/s, baseline %.1f races/s (difference %.1f to %.1f)",
+                        result.scenario(), mean(result.trialRacesPerSecond()), mean(before.trialRacesPerSecond()),
+                        throughput[0], throughput[1]));
+            }
+            double[] latency = interval(result.trialRoundP99Micros(), before.trialRoundP99Micros());
+            if (latency != null && latency[0] > 0
+                    && mean(result.trialRoundP99Micros()) > mean(before.trialRoundP99Micros()) * (1 + threshold)) {
+                regressions.add(String.format("%s: round p99 %.1f us, baseline %.1f us (difference %.1f to %.1f)",
+                        result.scenario(), mean(result.trialRoundP99Micros()), mean(before.trialRoundP99Micros()),
+                        latency[0], latency[1]));
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Computes the 95% confidence interval of the difference between the means of two samples by Welch's t-test.
+     *
+     * @param current  the samples of the current run.
+     * @param baseline the samples of the baseline.
+     * @return the lower and upper bounds of <code>mean(current) - mean(baseline)</code>,
+     * <code>null</code> if either side has fewer than two samples.
+     */
+    static double[] interval(List<Double> current, List<Double> baseline) {
+        if (current == null || baseline == null || current.size() < 2 || baseline.size() < 2) {
+            return null;
+        }
+        double currentError = variance(current) / current.size();
+        double baselineError = variance(baseline) / baseline.size();
+        double difference = mean(current) - mean(baseline);
+        double standardError = Math.sqrt(currentError + baselineError);
+        if (standardError == 0) {
+            return new double[]{difference, difference};
+        }
+        double degrees = Math.pow(currentError + baselineError, 2)
+                / (currentError * currentError / (current.size() - 1) + baselineError * baselineError / (baseline.size() - 1));
+        // Rounding the degrees of freedom down widens the interval, erring on the side of no regression
+        int index = (int) Math.floor(degrees) - 1;
+        double t = index < T_CRITICAL.length ? T_CRITICAL[Math.max(0, index)] : 1.96;
+        return new double[]{difference - t * standardError, difference + t * standardError};
+    }
+
+    private static double mean(List<Double> samples) {
+        double sum = 0;
+        for (double sample : samples) {
+            sum += sample;
+        }
+        return sum / samples.size();
+    }
+
+    /**
+     * Computes the unbiased variance of at least two samples.
+     */
+    private static double variance(List<Double> samples) {
+        double mean = mean(samples);
+        double sum = 0;
+        for (double sample : samples) {
+            sum += (sample - mean) * (sample - mean);
+        }
+        return sum / (samples.size() - 1);
+    }
+}
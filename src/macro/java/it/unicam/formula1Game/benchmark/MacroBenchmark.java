@@ -0,0 +1,421 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.application.Formula1ApplicationCpu;
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.generator.TrackGenerator;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.parser.StreamingJsonParser;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.GameStrategy;
+import it.unicam.formula1Game.strategy.GameStrategyFactory;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import it.unicam.formula1Game.validator.JsonValidator;
+import it.unicam.formula1Game.validator.RaceTrackValidator;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures the whole system: how many complete races per second a single thread sustains, and how long
+ * races and rounds take, for a fixed matrix of {@link Scenario scenarios}.
+ * <p>
+ * Every scenario first runs warm-up races for a fixed time, so that the code is compiled before being measured,
+ * then measures races, each with its own seed, for a fixed time. A run is made of several trials, each in its
+ * own JVM, since compilation decisions and memory layout vary between JVMs more than within one.
+ * The results of the trials are merged in a {@link BenchmarkReport}, which can be compared with a baseline
+ * to detect the regressions that stand out of the noise between trials.
+ * <p>
+ * Generated tracks are written as JSON files to a work directory, so that the application scenarios
+ * also measure the parsing of the track.
+ */
+public class MacroBenchmark {
+    /**
+     * The warm-up time of each scenario when none is given.
+     */
+    public static final Duration DEFAULT_WARMUP = Duration.ofSeconds(1);
+    /**
+     * The measurement time of each scenario when none is given.
+     */
+    public static final Duration DEFAULT_MEASUREMENT = Duration.ofSeconds(2);
+    /**
+     * The number of trials when none is given.
+     */
+    public static final int DEFAULT_TRIALS = 5;
+    /**
+     * The tolerated change with respect to the baseline when none is given.
+     */
+    public static final double DEFAULT_THRESHOLD = 0.1;
+    /**
+     * The mixes of strategies of the scenarios, by name. The "mixed" one is the mix chosen by the application.
+     */
+    public static final Map<String, List<GameStrategyFactory>> STRATEGY_MIXES = Map.of(
+            "weighted", List.of(WeightedRandomStrategy::new),
+            "landing", List.of(raceTrack -> new LandingRegionsStrategy(raceTrack, new GeometricLandingRegionsDetector())),
+            "mixed", List.of(WeightedRandomStrategy::new,
+                    raceTrack -> new LandingRegionsStrategy(raceTrack, new GeometricLandingRegionsDetector())));
+    /**
+     * The track shipped with the game.
+     */
+    private static final Path SHIPPED_TRACK = Path.of("src/jsonRaceTracks/track.json");
+    /**
+     * The seed of the generated tracks, fixed so that every run measures the same tracks.
+     */
+    private static final long TRACK_SEED = 42;
+    /**
+     * The first argument of the JVMs running a single trial.
+     */
+    private static final String TRIAL_OPTION = "--trial";
+    /**
+     * The exit status of a run that detected a regression.
+     */
+    static final int REGRESSION_STATUS = 1;
+    /**
+     * The exit status of a run that could not measure or compare the scenarios, e.g. because of invalid arguments,
+     * a failed trial or an unreadable baseline.
+     */
+    static final int FAILURE_STATUS = 2;
+    private final Duration warmup;
+    private final Duration measurement;
+    /**
+     * The directory where the generated tracks are written.
+     */
+    private final Path workDirectory;
+
+    /**
+     * Constructs a {@code MacroBenchmark}.
+     *
+     * @param warmup        the time spent running races before measuring each scenario.
+     * @param measurement   the time spent measuring each scenario. At least one race is measured, however long.
+     * @param workDirectory the directory where the generated tracks are written.
+     * @throws IllegalArgumentException if either time is negative.
+     */
+    public MacroBenchmark(Duration warmup, Duration measurement, Path workDirectory) {
+        if (warmup.isNegative() || measurement.isNegative()) {
+            throw new IllegalArgumentException("The warm-up and measurement times cannot be negative");
+        }
+        this.warmup = warmup;
+        this.measurement = measurement;
+        this.workDirectory = workDirectory;
+    }
+
+    /**
+     * Returns the default matrix of scenarios: every mix of strategies with two and six players on the shipped track
+     * and on generated tracks of width 96 and 256 for the engine, and the races of the application on the tracks
+     * it accepts.
+     *
+     * @return the default scenarios.
+     */
+    public static List<Scenario> defaultScenarios() {
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String track : List.of("shipped", "ring96", "ring256")) {
+            for (int players : new int[]{2, 6}) {
+                for (String strategies : List.of("weighted", "landing", "mixed")) {
+                    scenarios.add(new Scenario(Scenario.Mode.ENGINE, track, players, strategies));
+                }
+            }
+        }
+        scenarios.add(new Scenario(Scenario.Mode.APPLICATION, "shipped", 2, "mixed"));
+        scenarios.add(new Scenario(Scenario.Mode.APPLICATION, "ring96", 2, "mixed"));
+        scenarios.add(new Scenario(Scenario.Mode.APPLICATION, "ring96", 6, "mixed"));
+        return scenarios;
+    }
+
+    /**
+     * Runs a single trial of the given scenarios, one after the other, in this JVM.
+     *
+     * @param scenarios the scenarios to run.
+     * @return the report of the trial.
+     * @throws InvalidConfigurationException if a scenario is not valid.
+     * @throws IOException                   if a track cannot be written or read.
+     */
+    public BenchmarkReport run(List<Scenario> scenarios) throws InvalidConfigurationException, IOException {
+        List<ScenarioResult> results = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            results.add(run(scenario));
+        }
+        return new BenchmarkReport(System.getProperty("java.version"), Runtime.getRuntime().availableProcessors(),
+                this.warmup.toMillis(), this.measurement.toMillis(), 1, results);
+    }
+
+    /**
+     * Runs a single trial of a scenario.
+     *
+     * @param scenario the scenario to run.
+     * @return the measurements of the scenario.
+     * @throws InvalidConfigurationException if the scenario is not valid.
+     * @throws IOException                   if the track cannot be written or read.
+     */
+    public ScenarioResult run(Scenario scenario) throws InvalidConfigurationException, IOException {
+        List<GameStrategyFactory> strategies = STRATEGY_MIXES.get(scenario.strategies());
+        if (strategies == null) {
+            throw new InvalidConfigurationException("Unknown mix of strategies " + scenario.strategies());
+        }
+        Path trackFile = trackFile(scenario);
+        RaceTrack parsed = new JsonParser().parse(trackFile.toFile());
+        RaceTrack raceTrack = new RaceTrack(parsed.getWidth(), parsed.getHeight(), parsed.getTrackGrid(),
+                scenario.players(), parsed.getDirection());
+        Samples raceSamples = new Samples();
+        Samples roundSamples = scenario.mode() == Scenario.Mode.ENGINE ? new Samples() : null;
+        long rounds = 0;
+        // Warm-up races get negative seeds, so that the measured races do not depend on how many they are
+        long warmupEnd = System.nanoTime() + this.warmup.toNanos();
+        for (int race = 0; System.nanoTime() < warmupEnd; race++) {
+            runRace(scenario, trackFile, raceTrack, strategies, -1 - race, null);
+        }
+        long start = System.nanoTime();
+        long end = start + this.measurement.toNanos();
+        int races = 0;
+        long now;
+        do {
+            long raceStart = System.nanoTime();
+            rounds += runRace(scenario, trackFile, raceTrack, strategies, races++, roundSamples);
+            now = System.nanoTime();
+            raceSamples.add(now - raceStart);
+        } while (now < end);
+        double seconds = (now - start) / 1e9;
+        return new ScenarioResult(scenario.name(), races, races / seconds, (double) rounds / races,
+                raceSamples.percentile(0.50) / 1e6, raceSamples.percentile(0.99) / 1e6,
+                roundSamples == null ? null : roundSamples.percentile(0.50) / 1e3,
+                roundSamples == null ? null : roundSamples.percentile(0.99) / 1e3);
+    }
+
+    /**
+     * Runs a whole race, stopping it without a winner after as many rounds as the cells of the track.
+     *
+     * @param scenario     the scenario of the race.
+     * @param trackFile    the JSON file of the track, read by the application.
+     * @param raceTrack    the parsed track, used by the engine.
+     * @param strategies   the factories of the strategies of the race.
+     * @param seed         the seed of the race.
+     * @param roundSamples the samples receiving the duration of every round, <code>null</code> if not measured.
+     * @return the number of rounds of the race.
+     * @throws InvalidConfigurationException if the application rejects the track.
+     */
+    private int runRace(Scenario scenario, Path trackFile, RaceTrack raceTrack, List<GameStrategyFactory> strategies,
+                        long seed, Samples roundSamples) throws InvalidConfigurationException {
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setMaxRounds(raceTrack.getWidth() * raceTrack.getHeight());
+        gameEngine.setSeed(seed);
+        if (scenario.mode() == Scenario.Mode.APPLICATION) {
+            RaceTrackValidator trackValidator = new RaceTrackValidator();
+            try {
+                new Formula1ApplicationCpu(new StreamingJsonParser(trackValidator), new JsonValidator(),
+                        trackValidator, gameEngine).run(trackFile.toFile());
+            } catch (InvalidConfigurationException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new InvalidConfigurationException("The application could not run the race: " + e.getMessage());
+            }
+            return gameEngine.getRound();
+        }
+        List<GameStrategy> raceStrategies = new ArrayList<>();
+        for (GameStrategyFactory factory : strategies) {
+            raceStrategies.add(factory.create(raceTrack));
+        }
+        gameEngine.setStrategies(raceStrategies);
+        gameEngine.initializeEnvironment(raceTrack);
+        gameEngine.makeFirstMove();
+        boolean finished = gameEngine.isFinished();
+        while (!finished) {
+            long roundStart = System.nanoTime();
+            finished = gameEngine.step();
+            if (roundSamples != null) {
+                roundSamples.add(System.nanoTime() - roundStart);
+            }
+        }
+        return gameEngine.getRound();
+    }
+
+    /**
+     * Returns the JSON file of the track of a scenario, generating it on first use.
+     *
+     * @param scenario the scenario.
+     * @return the path of the track file.
+     * @throws InvalidConfigurationException if the track is unknown, or the application would race on the shipped
+     *                                       track with a number of players other than the one of its file.
+     * @throws IOException                   if the track cannot be written.
+     */
+    private Path trackFile(Scenario scenario) throws InvalidConfigurationException, IOException {
+        if (scenario.track().equals("shipped")) {
+            if (scenario.mode() == Scenario.Mode.APPLICATION && scenario.players() != 2) {
+                throw new InvalidConfigurationException("The shipped track is raced by 2 players");
+            }
+            return SHIPPED_TRACK;
+        }
+        if (!scenario.track().matches("ring\\d+")) {
+            throw new InvalidConfigurationException("Unknown track " + scenario.track());
+        }
+        int width = Integer.parseInt(scenario.track().substring(4));
+        Path file = this.workDirectory.resolve(scenario.track() + "-" + scenario.players() + "p.json");
+        if (!Files.exists(file)) {
+            new TrackGenerator(width, width / 2, Math.max(TrackGenerator.DEFAULT_ROAD_WIDTH, width / 16),
+                    TrackGenerator.DEFAULT_CORNERS, scenario.players(), "ccw", TRACK_SEED).write(file);
+        }
+        return file;
+    }
+
+    /**
+     * A growing list of durations, in nanoseconds.
+     */
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (this.size == this.values.length) {
+                this.values = Arrays.copyOf(this.values, this.size * 2);
+            }
+            this.values[this.size++] = value;
+        }
+
+        /**
+         * Returns a percentile of the samples, by the nearest-rank method.
+         *
+         * @param fraction the percentile, as a fraction.
+         * @return the percentile, <code>0</code> if there are no samples.
+         */
+        double percentile(double fraction) {
+            if (this.size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(this.values, this.size);
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(fraction * this.size) - 1)];
+        }
+    }
+
+    /**
+     * Runs a trial of the default scenarios in a new JVM, started with the same JVM options and class path
+     * as this one.
+     *
+     * @param trialReport   the file where the trial writes its report.
+     * @param workDirectory the directory where the generated tracks are written.
+     * @param warmup        the warm-up time of each scenario.
+     * @param measurement   the measurement time of each scenario.
+     * @return the report of the trial.
+     * @throws IOException if the trial cannot be started, fails or its report cannot be read.
+     */
+    private static BenchmarkReport forkTrial(Path trialReport, Path workDirectory, Duration warmup, Duration measurement)
+            throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), MacroBenchmark.class.getName(),
+                TRIAL_OPTION, trialReport.toString(), workDirectory.toString(),
+                Long.toString(warmup.toMillis()), Long.toString(measurement.toMillis())));
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException("The trial exited with status " + process.exitValue());
+            }
+        } catch (InterruptedException e) {
+            process.destroy();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the trial");
+        }
+        return BenchmarkReport.read(trialReport);
+    }
+
+    /**
+     * Runs the default scenarios in several trials, each in its own JVM, writes their merged report
+     * and compares it with a baseline. If the baseline does not exist yet, the report is stored as the baseline.
+     * The process exits with status {@link #REGRESSION_STATUS} if a scenario regresses, and with status
+     * {@link #FAILURE_STATUS} if the run fails, so that the regression gate never passes without running.
+     *
+     * @param args the report file and, optionally, the baseline file, the tolerated change, the number of trials,
+     *             the warm-up seconds and the measurement seconds of each scenario.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(TRIAL_OPTION)) {
+            runTrial(args);
+            return;
+        }
+        if (args.length < 1 || args.length > 6) {
+            System.out.println("Usage: MacroBenchmark <report.json> [baseline.json] [threshold] [trials] "
+                    + "[warmupSeconds] [measurementSeconds]");
+            System.exit(FAILURE_STATUS);
+        }
+        try {
+            Path report = Path.of(args[0]);
+            double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+            int trials = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_TRIALS;
+            Duration warmup = args.length > 4 ? seconds(args[4]) : DEFAULT_WARMUP;
+            Duration measurement = args.length > 5 ? seconds(args[5]) : DEFAULT_MEASUREMENT;
+            if (trials <= 0) {
+                throw new IllegalArgumentException("At least one trial is required");
+            }
+            Path directory = report.toAbsolutePath().getParent();
+            List<BenchmarkReport> trialReports = new ArrayList<>();
+            for (int trial = 1; trial <= trials; trial++) {
+                System.out.println("Trial " + trial + " of " + trials);
+                trialReports.add(forkTrial(directory.resolve("trials").resolve("trial-" + trial + ".json"),
+                        directory.resolve("tracks"), warmup, measurement));
+            }
+            BenchmarkReport result = BenchmarkReport.merge(trialReports);
+            for (ScenarioResult scenario : result.results()) {
+                System.out.printf("%-32s %9.1f races/s  race p50 %9.2f ms  p99 %9.2f ms  round p50 %s  p99 %s%n",
+                        scenario.scenario(), scenario.racesPerSecond(), scenario.raceP50Millis(), scenario.raceP99Millis(),
+                        micros(scenario.roundP50Micros()), micros(scenario.roundP99Micros()));
+            }
+            result.write(report);
+            System.out.println("Report written to " + report);
+            if (args.length > 1) {
+                Path baseline = Path.of(args[1]);
+                if (!Files.exists(baseline)) {
+                    result.write(baseline);
+                    System.out.println("Baseline stored in " + baseline);
+                    return;
+                }
+                List<String> regressions = result.compare(BenchmarkReport.read(baseline), threshold);
+                if (!regressions.isEmpty()) {
+                    System.out.println("REGRESSIONS:");
+                    regressions.forEach(regression -> System.out.println("  " + regression));
+                    System.exit(REGRESSION_STATUS);
+                }
+                System.out.println("No regression against " + baseline);
+            }
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid parameters: " + e.getMessage());
+            System.exit(FAILURE_STATUS);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Error running the benchmark: " + e.getMessage());
+            System.exit(FAILURE_STATUS);
+        }
+    }
+
+    /**
+     * Runs a single trial of the default scenarios in this JVM, as started by {@link #forkTrial}.
+     * The process exits with status {@link #FAILURE_STATUS} if the trial fails.
+     *
+     * @param args the trial option, the report file, the work directory, the warm-up and the measurement milliseconds.
+     */
+    private static void runTrial(String[] args) {
+        try {
+            MacroBenchmark benchmark = new MacroBenchmark(Duration.ofMillis(Long.parseLong(args[3])),
+                    Duration.ofMillis(Long.parseLong(args[4])), Path.of(args[2]));
+            benchmark.run(defaultScenarios()).write(Path.of(args[1]));
+        } catch (RuntimeException | InvalidConfigurationException | IOException e) {
+            System.out.println("Trial failed: " + e.getMessage());
+            System.exit(FAILURE_STATUS);
+        }
+    }
+
+    private static Duration seconds(String value) {
+        return Duration.ofMillis(Math.round(Double.parseDouble(value) * 1000));
+    }
+
+    private static String micros(Double value) {
+        return value == null ? "      n/a" : String.format("%6.1f us", value);
+    }
+}
@@ -0,0 +1,36 @@
+package it.unicam.formula1Game.benchmark;
+
+/**
+ * A scenario of the {@link MacroBenchmark}: races on a track, with a number of players and a mix of strategies.
+ *
+ * @param mode       whether the races are run by a bare engine or by the whole application.
+ * @param track      the name of the track, either "shipped" or "ring" followed by the width of a generated track.
+ * @param players    the number of players.
+ * @param strategies the name of the mix of strategies, one of {@link MacroBenchmark#STRATEGY_MIXES}.
+ */
+public record Scenario(Mode mode, String track, int players, String strategies) {
+    /**
+     * How the races of a scenario are run.
+     */
+    public enum Mode {
+        /**
+         * Races are run by a {@link it.unicam.formula1Game.engine.CpuGameEngine} on an already parsed track,
+         * one round at a time.
+         */
+        ENGINE,
+        /**
+         * Races are run by a {@link it.unicam.formula1Game.application.Formula1ApplicationCpu},
+         * which validates and parses the track file before every race.
+         */
+        APPLICATION
+    }
+
+    /**
+     * Returns the name of the scenario, used to match it against a baseline.
+     *
+     * @return the name of the scenario.
+     */
+    public String name() {
+        return this.mode.name().toLowerCase() + "/" + this.track + "/" + this.players + "p/" + this.strategies;
+    }
+}
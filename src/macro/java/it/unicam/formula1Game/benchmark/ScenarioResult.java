@@ -0,0 +1,83 @@
+package it.unicam.formula1Game.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The measurements of a {@link Scenario} of the {@link MacroBenchmark}, taken on a single thread in one or more
+ * trials. The headline figures are the means over the trials, while the figures compared with a baseline
+ * are also kept trial by trial, so that their noise can be estimated.
+ *
+ * @param scenario            the name of the scenario.
+ * @param races               the number of measured races, over every trial.
+ * @param racesPerSecond      the number of complete races per second.
+ * @param meanRounds          the mean number of rounds of a race.
+ * @param raceP50Millis       the median duration of a race, in milliseconds.
+ * @param raceP99Millis       the 99th percentile of the duration of a race, in milliseconds.
+ * @param roundP50Micros      the median duration of a round, in microseconds, <code>null</code> if rounds are not measured.
+ * @param roundP99Micros      the 99th percentile of the duration of a round, in microseconds,
+ *                            <code>null</code> if rounds are not measured.
+ * @param trialRacesPerSecond the races per second of every trial.
+ * @param trialRoundP99Micros the 99th percentile of the duration of a round of every trial,
+ *                            <code>null</code> if rounds are not measured.
+ */
+public record ScenarioResult(String scenario, int races, double racesPerSecond, double meanRounds,
+                             double raceP50Millis, double raceP99Millis, Double roundP50Micros, Double roundP99Micros,
+                             List<Double> trialRacesPerSecond, List<Double> trialRoundP99Micros) {
+
+    /**
+     * Constructs the {@code ScenarioResult} of a single trial.
+     *
+     * @param scenario       the name of the scenario.
+     * @param races          the number of measured races.
+     * @param racesPerSecond the number of complete races per second.
+     * @param meanRounds     the mean number of rounds of a race.
+     * @param raceP50Millis  the median duration of a race, in milliseconds.
+     * @param raceP99Millis  the 99th percentile of the duration of a race, in milliseconds.
+     * @param roundP50Micros the median duration of a round, in microseconds, <code>null</code> if not measured.
+     * @param roundP99Micros the 99th percentile of the duration of a round, in microseconds, <code>null</code> if not measured.
+     */
+    public ScenarioResult(String scenario, int races, double racesPerSecond, double meanRounds,
+                          double raceP50Millis, double raceP99Millis, Double roundP50Micros, Double roundP99Micros) {
+        this(scenario, races, racesPerSecond, meanRounds, raceP50Millis, raceP99Millis, roundP50Micros, roundP99Micros,
+                List.of(racesPerSecond), roundP99Micros == null ? null : List.of(roundP99Micros));
+    }
+
+    /**
+     * Merges the results of the trials of the same scenario.
+     *
+     * @param trials the results of the trials, at least one.
+     * @return the merged result, whose headline figures are the means over the trials.
+     * @throws IllegalArgumentException if no trial is given or the trials belong to different scenarios.
+     */
+    public static ScenarioResult merge(List<ScenarioResult> trials) {
+        if (trials.isEmpty()) {
+            throw new IllegalArgumentException("At least one trial is required");
+        }
+        String scenario = trials.get(0).scenario();
+        int races = 0;
+        double racesPerSecond = 0, meanRounds = 0, raceP50 = 0, raceP99 = 0, roundP50 = 0, roundP99 = 0;
+        List<Double> trialRacesPerSecond = new ArrayList<>();
+        List<Double> trialRoundP99 = trials.get(0).trialRoundP99Micros() == null ? null : new ArrayList<>();
+        for (ScenarioResult trial : trials) {
+            if (!trial.scenario().equals(scenario)) {
+                throw new IllegalArgumentException("Cannot merge " + trial.scenario() + " into " + scenario);
+            }
+            races += trial.races();
+            racesPerSecond += trial.racesPerSecond();
+            meanRounds += trial.meanRounds();
+            raceP50 += trial.raceP50Millis();
+            raceP99 += trial.raceP99Millis();
+            trialRacesPerSecond.addAll(trial.trialRacesPerSecond());
+            if (trialRoundP99 != null) {
+                roundP50 += trial.roundP50Micros();
+                roundP99 += trial.roundP99Micros();
+                trialRoundP99.addAll(trial.trialRoundP99Micros());
+            }
+        }
+        int n = trials.size();
+        return new ScenarioResult(scenario, races, racesPerSecond / n, meanRounds / n, raceP50 / n, raceP99 / n,
+                trialRoundP99 == null ? null : roundP50 / n, trialRoundP99 == null ? null : roundP99 / n,
+                trialRacesPerSecond, trialRoundP99);
+    }
+}
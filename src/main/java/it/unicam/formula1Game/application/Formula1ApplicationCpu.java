@@ -4,10 +4,12 @@ import it.unicam.formula1Game.engine.CpuGameEngine;
 import it.unicam.formula1Game.engine.GameEngine;
 import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
 import it.unicam.formula1Game.exceptions.InvalidFileFormatException;
+import it.unicam.formula1Game.metrics.MetricsRegistry;
+import it.unicam.formula1Game.metrics.MetricsServer;
 import it.unicam.formula1Game.parser.*;
 import it.unicam.formula1Game.racetrack.RaceTrack;
 import it.unicam.formula1Game.strategy.GameStrategy;
-import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
 import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
 import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
 import it.unicam.formula1Game.validator.ConfigurationFileValidator;
@@ -29,6 +31,10 @@ import static it.unicam.formula1Game.userInteraction.RequestConfigurationFile.re
  * using a predefined configuration file.
  */
 public class Formula1ApplicationCpu implements IFormula1Application {
+    /**
+     * The system property holding the port the metrics of the race are served at, if any.
+     */
+    public static final String METRICS_PORT_PROPERTY = "formula1.metrics.port";
     /**
      * Parser for configuration files.
      */
@@ -127,23 +133,35 @@ public class Formula1ApplicationCpu implements IFormula1Application {
     private List<GameStrategy> chooseStrategies(RaceTrack raceTrack) {
         List<GameStrategy> strategies = new ArrayList<>();
         strategies.add(new WeightedRandomStrategy(raceTrack));
-        strategies.add(new LandingRegionsStrategy(raceTrack, new LandingRegionsDetector()));
+        strategies.add(new LandingRegionsStrategy(raceTrack, new GeometricLandingRegionsDetector()));
         return strategies;
     }
 
     /**
      * The main method to run the application.
+     * If the {@value #METRICS_PORT_PROPERTY} system property is set, the metrics of the race are served
+     * on the loopback interface at that port while the race runs.
      *
      * @param args command-line arguments (not used).
      */
     public static void main(String[] args) {
+        RaceTrackValidator trackValidator = new RaceTrackValidator();
+        CpuGameEngine gameEngine = new CpuGameEngine();
         Formula1ApplicationCpu application = new Formula1ApplicationCpu(
-                new JsonParser(),
+                new StreamingJsonParser(trackValidator),
                 new JsonValidator(),
-                new RaceTrackValidator(),
-                new CpuGameEngine()
+                trackValidator,
+                gameEngine
         );
+        String metricsPort = System.getProperty(METRICS_PORT_PROPERTY);
+        MetricsServer metricsServer = null;
         try {
+            if (metricsPort != null) {
+                MetricsRegistry metricsRegistry = new MetricsRegistry();
+                gameEngine.setMetricsRegistry(metricsRegistry);
+                metricsServer = new MetricsServer(metricsRegistry, Integer.parseInt(metricsPort));
+                System.out.println("Metrics served at http://127.0.0.1:" + metricsServer.getPort() + MetricsServer.PATH);
+            }
             application.run();
         } catch (NoSuchFileException e) {
             System.out.println("File not found: " + e.getMessage());
@@ -151,6 +169,10 @@ public class Formula1ApplicationCpu implements IFormula1Application {
             System.out.println("Invalid configuration: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("Unexpected error: " + e.getMessage());
+        } finally {
+            if (metricsServer != null) {
+                metricsServer.close();
+            }
         }
 
 
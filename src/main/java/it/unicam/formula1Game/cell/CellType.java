@@ -44,6 +44,15 @@ public enum CellType {
         this.value = c;
     }
 
+    /**
+     * Returns the character that represents the cell type on the track.
+     *
+     * @return the character value of the cell type
+     */
+    public char getValue() {
+        return this.value;
+    }
+
     /**
      * Converts a character to the corresponding {@code CellType}.
      * Throws {@link IllegalArgumentException} if the character does not map to a valid {@code CellType}.
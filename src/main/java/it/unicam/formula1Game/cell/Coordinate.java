@@ -1,20 +1,14 @@
 package it.unicam.formula1Game.cell;
 
-import java.util.Objects;
-
 /**
- * Represents a coordinate in a 2D grid.
- * This class encapsulates a pair of integers representing a row and column.
+ * Represents an immutable coordinate in a 2D grid.
+ * The row and column are packed together into a single <code>long</code> value.
  */
-public class Coordinate {
-    /**
-     * The row component of the coordinate.
-     */
-    private int row;
+public final class Coordinate {
     /**
-     * The column component of the coordinate.
+     * The row (high 32 bits) and column (low 32 bits) of the coordinate.
      */
-    private int column;
+    private final long packed;
 
     /**
      * Constructs a {@code Coordinate} with the specified row and column values.
@@ -23,26 +17,27 @@ public class Coordinate {
      * @param column the column value of the coordinate.
      */
     public Coordinate(int row, int column) {
-        this.row = row;
-        this.column = column;
+        this.packed = pack(row, column);
     }
 
     /**
-     * Returns the row value of this coordinate.
+     * Packs a row and a column into a single <code>long</code> value.
      *
-     * @return the row value.
+     * @param row    the row value.
+     * @param column the column value.
+     * @return the packed value, with the row in the high 32 bits and the column in the low 32 bits.
      */
-    public int getRow() {
-        return row;
+    public static long pack(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
     }
 
     /**
-     * Updates the row value of this coordinate.
+     * Returns the row value of this coordinate.
      *
-     * @param row the new row value.
+     * @return the row value.
      */
-    public void setRow(int row) {
-        this.row = row;
+    public int getRow() {
+        return (int) (packed >> 32);
     }
 
     /**
@@ -51,16 +46,16 @@ public class Coordinate {
      * @return the column value.
      */
     public int getColumn() {
-        return column;
+        return (int) packed;
     }
 
     /**
-     * Updates the column value of this coordinate.
+     * Returns the row and column of this coordinate packed into a single value.
      *
-     * @param column the new column value.
+     * @return the packed value, as computed by {@link #pack(int, int)}.
      */
-    public void setColumn(int column) {
-        this.column = column;
+    public long getPacked() {
+        return packed;
     }
 
     /**
@@ -74,7 +69,7 @@ public class Coordinate {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Coordinate coordinate)) return false;
-        return row == coordinate.row && column == coordinate.column;
+        return packed == coordinate.packed;
     }
 
     /**
@@ -85,7 +80,7 @@ public class Coordinate {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(row, column);
+        return 31 * getRow() + getColumn();
     }
 
     /**
@@ -96,6 +91,6 @@ public class Coordinate {
      */
     @Override
     public String toString() {
-        return "(" + row + ";" + column + ")";
+        return "(" + getRow() + ";" + getColumn() + ")";
     }
 }
@@ -0,0 +1,55 @@
+package it.unicam.formula1Game.cell;
+
+/**
+ * Interns the {@link Coordinate} objects of a grid, so that every in-bounds cell has a single canonical instance.
+ * <p>
+ * Instances are created lazily on first access. Two threads accessing the same cell for the first time
+ * at once may briefly get two different, yet equal, instances; afterwards only one of them is returned.
+ */
+public class CoordinateTable {
+    /**
+     * The width of the grid.
+     */
+    private final int width;
+    /**
+     * The height of the grid.
+     */
+    private final int height;
+    /**
+     * The canonical instances, indexed by <code>row * width + column</code>.
+     */
+    private final Coordinate[] coordinates;
+
+    /**
+     * Constructs a {@code CoordinateTable} for a grid of the given size.
+     *
+     * @param width  the width of the grid.
+     * @param height the height of the grid.
+     */
+    public CoordinateTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.coordinates = new Coordinate[width * height];
+    }
+
+    /**
+     * Returns the canonical {@link Coordinate} for the given cell.
+     * Coordinates outside the grid are not interned and a new instance is returned.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the {@link Coordinate} of the cell.
+     */
+    public Coordinate get(int row, int column) {
+        if (row < 0 || row >= this.height || column < 0 || column >= this.width) {
+            return new Coordinate(row, column);
+        }
+        int index = row * this.width + column;
+        Coordinate coordinate = this.coordinates[index];
+        if (coordinate == null) {
+            coordinate = new Coordinate(row, column);
+            this.coordinates[index] = coordinate;
+        }
+        return coordinate;
+    }
+}
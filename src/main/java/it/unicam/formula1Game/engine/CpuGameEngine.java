@@ -2,11 +2,20 @@ package it.unicam.formula1Game.engine;
 
 import it.unicam.formula1Game.cell.Coordinate;
 import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.metrics.HistogramSnapshot;
+import it.unicam.formula1Game.metrics.MetricsRegistry;
 import it.unicam.formula1Game.player.CpuPlayer;
 import it.unicam.formula1Game.player.Player;
+import it.unicam.formula1Game.player.PlayerStateTable;
 import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.replay.RaceRecorder;
+import it.unicam.formula1Game.replay.ReplayWriter;
 import it.unicam.formula1Game.strategy.GameStrategy;
+import it.unicam.formula1Game.strategy.StrategyUtils;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
@@ -17,6 +26,10 @@ public class CpuGameEngine implements GameEngine {
      * The cpu players that take part to the race.
      */
     private CpuPlayer[] players;
+    /**
+     * The state of the players, stored in parallel arrays. The <code>players</code> are views over its slots.
+     */
+    private PlayerStateTable playerStates;
     /**
      * The racetrack where the game takes place.
      */
@@ -30,6 +43,71 @@ public class CpuGameEngine implements GameEngine {
      * The game strategies that will be applied by the players in the game.
      */
     private List<GameStrategy> strategies;
+    /**
+     * The sink the engine writes the rounds and the result of the race to.
+     */
+    private final OutputSink outputSink;
+    /**
+     * The pipeline that renders the rounds of the race, <code>null</code> when the sink writes no frame.
+     */
+    private RenderPipeline renderPipeline;
+    /**
+     * The maximum number of frames rendered per second.
+     */
+    private int framesPerSecond = RenderPipeline.DEFAULT_FRAMES_PER_SECOND;
+    /**
+     * The maximum number of rounds after which the race is stopped without a winner.
+     */
+    private int maxRounds = Integer.MAX_VALUE;
+    /**
+     * The progressive number of the last round played.
+     */
+    private int round;
+    /**
+     * Whether the race has ended.
+     */
+    private boolean finished;
+    /**
+     * The seed of the random choices of the race.
+     */
+    private long seed = new Random().nextLong();
+    /**
+     * The file where the race is recorded when it ends, <code>null</code> if races are not recorded.
+     */
+    private ReplayWriter replayWriter;
+    /**
+     * The recorder of the current race, <code>null</code> if the race is not recorded.
+     */
+    private RaceRecorder raceRecorder;
+    /**
+     * The registry where the metrics of the races are kept, <code>null</code> if no metric is kept.
+     */
+    private MetricsRegistry metricsRegistry;
+    /**
+     * The metrics of the current race, <code>null</code> if no metric is kept.
+     */
+    private RaceMetrics raceMetrics;
+    /**
+     * The flight recorder event of the current race, begun when the race is initialized.
+     */
+    private RaceEndEvent raceEndEvent;
+
+    /**
+     * Constructs a {@code CpuGameEngine} that prints the state of the race at every round on the standard output.
+     */
+    public CpuGameEngine() {
+        this(OutputSink.everyRound(System.out));
+    }
+
+    /**
+     * Constructs a {@code CpuGameEngine}.
+     *
+     * @param outputSink the {@link OutputSink} the engine writes the race to,
+     *                   {@link OutputSink#none()} to run the race headless.
+     */
+    public CpuGameEngine(OutputSink outputSink) {
+        this.outputSink = outputSink;
+    }
 
     /**
      * Initializes the game environment by placing players on the track and assigning strategies.
@@ -43,10 +121,21 @@ public class CpuGameEngine implements GameEngine {
             this.players = new CpuPlayer[raceTrack.getNumberOfPlayers()];
             placeCpuPlayers();
             assignStrategies();
-            System.out.println("*****************GAME INITIALIZED*****************");
-            System.out.println(GameVisualizer.visualizeGame(this.raceTrack, Arrays.stream(this.players).toList()));
+            if (this.replayWriter != null) {
+                this.raceRecorder = new RaceRecorder(raceTrack.getFingerprint(), this.seed, this.playerStates);
+            }
+            this.raceMetrics = this.metricsRegistry == null ? null : new RaceMetrics(this.metricsRegistry, this.players);
+            commitRaceStartEvent();
+            this.raceEndEvent = new RaceEndEvent();
+            this.raceEndEvent.begin();
+            if (this.outputSink.writesFrames()) {
+                this.renderPipeline = new RenderPipeline(new TrackRenderer(raceTrack), raceTrack, this.outputSink.getOut(),
+                        this.framesPerSecond, RenderPipeline.DEFAULT_CAPACITY,
+                        this.metricsRegistry == null ? null : this.metricsRegistry.histogram(MetricsRegistry.RENDER_LATENCY));
+                printCurrentState();
+            }
         } catch (InvalidConfigurationException e) {
-            System.out.println("An error occurred during players placement");
+            this.outputSink.writeError("An error occurred during players placement");
         }
     }
 
@@ -61,13 +150,14 @@ public class CpuGameEngine implements GameEngine {
         List<Integer> playerIds = generateUniquePlayerIds(numberOfPlayers);
         // Get all START cells from the track
         List<Coordinate> startLine = this.raceTrack.getStartCoordinates();
+        this.playerStates = new PlayerStateTable(numberOfPlayers, this.raceTrack.getCoordinates());
         // Assign players to START cells in a round-robin fashion
         for (int i = 0; i < numberOfPlayers; i++) {
             int playerId = playerIds.get(i);
             Coordinate startPosition = startLine.get(i % startLine.size()); // Cycle through start line positions
             // Create a player and place it on the track
-            this.players[i] = new CpuPlayer(playerId, new Coordinate(startPosition.getRow(), startPosition.getColumn()));
-
+            int slot = this.playerStates.add(playerId, startPosition.getRow(), startPosition.getColumn());
+            this.players[i] = new CpuPlayer(this.playerStates, slot);
         }
 
     }
@@ -83,7 +173,7 @@ public class CpuGameEngine implements GameEngine {
         for (int i = 0; i < 10; i++) {
             availableIds.add(i);  // Add IDs from 0 to 9
         }
-        Collections.shuffle(availableIds);  // Shuffle the list to randomize IDs
+        Collections.shuffle(availableIds, new Random(this.seed));  // Shuffle the list to randomize IDs
         return availableIds.subList(0, numberOfPlayers);  // Return only the number of IDs needed for the players
     }
 
@@ -92,10 +182,20 @@ public class CpuGameEngine implements GameEngine {
      */
     @Override
     public void makeFirstMove() {
-        for (CpuPlayer player : this.players) {
-            player.makeMove(new Coordinate(player.getPosition().getRow(), player.getPosition().getColumn() - 1));
+        RoundEvent roundEvent = new RoundEvent();
+        roundEvent.begin();
+        for (int slot = 0; slot < this.playerStates.size(); slot++) {
+            this.playerStates.move(slot, this.playerStates.getRow(slot), this.playerStates.getColumn(slot) - 1);
+        }
+        this.round = 1;
+        this.finished = isOver();
+        roundEvent.end();
+        commitRoundEvent(roundEvent, this.playerStates.size());
+        printCurrentState();
+        recordRound();
+        if (this.finished) {
+            finishRace();
         }
-        printCurrentState(1);
     }
 
     /**
@@ -122,35 +222,221 @@ public class CpuGameEngine implements GameEngine {
     /**
      * Starts the main game loop where players take turns until the game ends.
      * Each player makes a move based on its strategy, and the engine checks for end conditions.
+     * The race is stopped without a winner once <code>maxRounds</code> rounds have been played.
      */
     @Override
     public void startGame() {
-        int round = 2;
-        while (!checkEndCondition()) {
-            for (CpuPlayer player : this.players) {
-                if (!player.hasCrashed()) {
-                    player.applyStrategy();
+        if (!this.finished && isOver()) {
+            this.finished = true;
+            finishRace();
+        }
+        while (!step()) {
+            // Each step plays a whole round
+        }
+    }
+
+    /**
+     * Plays a single round, in which every player that has not crashed makes a move based on its strategy.
+     *
+     * @return <code>true</code> if the race has ended, <code>false</code> otherwise.
+     */
+    @Override
+    public boolean step() {
+        if (!this.finished) {
+            this.round++;
+            RoundEvent roundEvent = new RoundEvent();
+            int alivePlayers = 0;
+            long roundStart = this.raceMetrics == null ? 0 : System.nanoTime();
+            roundEvent.begin();
+            for (int slot = 0; slot < this.playerStates.size(); slot++) {
+                if (!this.playerStates.hasCrashed(slot)) {
+                    alivePlayers++;
+                    applyStrategy(slot);
                 }
             }
-            printCurrentState(round);
-            round++;
+            this.finished = isOver();
+            roundEvent.end();
+            if (this.raceMetrics != null) {
+                this.raceMetrics.recordRound(System.nanoTime() - roundStart);
+            }
+            commitRoundEvent(roundEvent, alivePlayers);
+            printCurrentState();
+            recordRound();
+            if (this.finished) {
+                finishRace();
+            }
         }
+        return this.finished;
+    }
+
+    /**
+     * Completes the race just ended: records it in the metrics, emits its {@link RaceEndEvent}, waits for its rounds to be printed
+     * and announces its result. It is called once per race, wherever the race ends, whether the race is played
+     * by {@link #startGame()} or only through {@link #step()}.
+     */
+    private void finishRace() {
+        if (this.raceMetrics != null) {
+            recordRaceEnd();
+        }
+        commitRaceEndEvent();
         if (this.winner == null) {
-            System.out.println("NO WINNER, ALL PLAYERS CRASHED");
+            closeRenderPipeline();
+            // A race stopped by the round limit may still have players on the track
+            String result = checkAllPlayersCrashed() ? "NO WINNER, ALL PLAYERS CRASHED" : "NO WINNER, ROUND LIMIT REACHED";
+            this.outputSink.writeResult(() -> result);
         } else {
             endGame();
         }
+    }
 
+    /**
+     * Lets the player in the given slot make a move based on its strategy, timing the decision if metrics are kept
+     * or if the {@link StrategyDecisionEvent} is recorded.
+     *
+     * @param slot the slot of the player.
+     */
+    private void applyStrategy(int slot) {
+        GameStrategy strategy = this.playerStates.getStrategy(slot);
+        CpuPlayer player = this.players[slot];
+        // The principal point is saved before the move, since the strategy moves the player
+        int principalRow = this.playerStates.getRow(slot) + this.playerStates.getRowShift(slot);
+        int principalColumn = this.playerStates.getColumn(slot) + this.playerStates.getColumnShift(slot);
+        StrategyDecisionEvent event = new StrategyDecisionEvent();
+        long start = this.raceMetrics == null ? 0 : System.nanoTime();
+        event.begin();
+        strategy.applyStrategy(player);
+        event.end();
+        if (this.raceMetrics != null) {
+            this.raceMetrics.recordDecision(slot, System.nanoTime() - start, this.playerStates.hasCrashed(slot));
+        }
+        if (event.shouldCommit()) {
+            event.track = this.raceTrack.getFingerprint();
+            event.strategy = strategy.toString();
+            event.player = player.getId();
+            event.candidates = StrategyUtils.countAvailableMoves(principalRow, principalColumn, this.raceTrack);
+            event.crashed = this.playerStates.hasCrashed(slot);
+            event.commit();
+        }
     }
 
     /**
-     * Prints the current state of the game using the {@link GameVisualizer} class.
+     * Emits the {@link RoundEvent} of the round just played, if it is recorded.
      *
-     * @param round the round's progressive number.
+     * @param event        the event, begun and ended around the moves of the round.
+     * @param alivePlayers the players that had not crashed at the start of the round.
+     */
+    private void commitRoundEvent(RoundEvent event, int alivePlayers) {
+        if (event.shouldCommit()) {
+            event.track = this.raceTrack.getFingerprint();
+            event.round = this.round;
+            event.alivePlayers = alivePlayers;
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits the {@link RaceStartEvent} of the race being initialized, if it is recorded.
      */
-    private void printCurrentState(int round) {
-        System.out.println("******************** ROUND " + round + " ********************");
-        System.out.println(GameVisualizer.visualizeGame(this.raceTrack, Arrays.stream(this.players).toList()));
+    private void commitRaceStartEvent() {
+        RaceStartEvent event = new RaceStartEvent();
+        if (event.shouldCommit()) {
+            StringJoiner strategies = new StringJoiner(", ");
+            for (CpuPlayer player : this.players) {
+                strategies.add(String.valueOf(player.getStrategy()));
+            }
+            event.track = this.raceTrack.getFingerprint();
+            event.width = this.raceTrack.getWidth();
+            event.height = this.raceTrack.getHeight();
+            event.players = this.players.length;
+            event.strategies = strategies.toString();
+            event.seed = this.seed;
+            event.commit();
+        }
+    }
+
+    /**
+     * Emits the {@link RaceEndEvent} of the race just ended, if it is recorded.
+     */
+    private void commitRaceEndEvent() {
+        RaceEndEvent event = this.raceEndEvent;
+        event.end();
+        if (event.shouldCommit()) {
+            event.track = this.raceTrack.getFingerprint();
+            event.rounds = this.round;
+            event.winner = this.winner == null ? -1 : this.winner.getId();
+            event.winnerStrategy = this.winner == null ? null : String.valueOf(this.winner.getStrategy());
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the end of the race in its metrics, together with its winner.
+     */
+    private void recordRaceEnd() {
+        int winnerSlot = -1;
+        for (int slot = 0; slot < this.players.length; slot++) {
+            if (this.players[slot] == this.winner) {
+                winnerSlot = slot;
+            }
+        }
+        this.raceMetrics.recordEnd(winnerSlot);
+    }
+
+    /**
+     * Checks whether the race is over, either because its end condition is met or because
+     * <code>maxRounds</code> rounds have been played.
+     *
+     * @return <code>true</code> if the race is over, <code>false</code> otherwise.
+     */
+    private boolean isOver() {
+        return checkEndCondition() || this.round >= this.maxRounds;
+    }
+
+    /**
+     * Publishes the current state of the game to the {@link RenderPipeline}, which prints it on its own thread
+     * using the {@link GameVisualizer} class, if the {@link OutputSink} writes the current round.
+     * The last round of the race is always printed, while intermediate rounds may be skipped
+     * if the output is slower than the race.
+     * Nothing is built for the rounds that are not written.
+     */
+    private void printCurrentState() {
+        if (this.renderPipeline != null && this.outputSink.writesRound(this.round, this.finished)) {
+            String title = this.round == 0
+                    ? "*****************GAME INITIALIZED*****************"
+                    : "******************** ROUND " + this.round + " ********************";
+            this.renderPipeline.publish(RoundSnapshot.of(this.round, title, this.players, this.finished));
+        }
+    }
+
+    /**
+     * Records the last round played, if the race is recorded, and writes the race to the replay file once it has ended.
+     *
+     * @throws UncheckedIOException if the race cannot be written.
+     */
+    private void recordRound() {
+        if (this.raceRecorder == null) {
+            return;
+        }
+        this.raceRecorder.recordRound(this.playerStates);
+        if (this.finished) {
+            try {
+                this.replayWriter.write(this.raceRecorder);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                this.raceRecorder = null;
+            }
+        }
+    }
+
+    /**
+     * Waits for the published rounds to be printed and stops the {@link RenderPipeline}, if any,
+     * so that the following output is not mixed with them.
+     */
+    private void closeRenderPipeline() {
+        if (this.renderPipeline != null) {
+            this.renderPipeline.close();
+        }
     }
 
     /**
@@ -160,8 +446,8 @@ public class CpuGameEngine implements GameEngine {
      */
     @Override
     public Player endGame() {
-        System.out.println("*****************THE WINNER IS******************\n");
-        System.out.println(this.winner);
+        closeRenderPipeline();
+        this.outputSink.writeResult(() -> "*****************THE WINNER IS******************\n\n" + this.winner);
         return this.winner;
     }
 
@@ -177,20 +463,24 @@ public class CpuGameEngine implements GameEngine {
     }
 
     /**
-     * Checks if a player has reached the finish line.
+     * Checks if a player has reached the finish line, i.e. if the segment of its last move
+     * crosses a finish cell before any wall.
      *
      * @return <code>true</code> if a player crosses the finish line, <code>false</code> otherwise.
      */
     private boolean checkWinCondition() {
-        boolean winConditionMet = false;
-        for (CpuPlayer player : this.players) {
-            if (this.raceTrack.getFinishCoordinates().contains(player.getPosition())) {
-                winConditionMet = true;
-                this.winner = player;
-                break;
+        for (int slot = 0; slot < this.playerStates.size(); slot++) {
+            int rowShift = this.playerStates.getRowShift(slot);
+            int columnShift = this.playerStates.getColumnShift(slot);
+            // The whole segment of the last move is checked, so that a fast player cannot skip the finish line
+            if (!this.playerStates.hasCrashed(slot) && this.raceTrack.getTrackGrid().sweep(
+                    this.playerStates.getRow(slot) - rowShift, this.playerStates.getColumn(slot) - columnShift,
+                    rowShift, columnShift) == CellType.FINISH) {
+                this.winner = this.players[slot];
+                return true;
             }
         }
-        return winConditionMet;
+        return false;
     }
 
     /**
@@ -199,12 +489,7 @@ public class CpuGameEngine implements GameEngine {
      * @return <code>true</code> if all players crash, <code>false</code> otherwise.
      */
     private boolean checkAllPlayersCrashed() {
-        for (CpuPlayer player : this.players) {
-            if (!player.hasCrashed()) {
-                return false;
-            }
-        }
-        return true;
+        return this.playerStates.allCrashed();
     }
 
     public RaceTrack getRaceTrack() {
@@ -215,7 +500,88 @@ public class CpuGameEngine implements GameEngine {
         return players;
     }
 
+    public PlayerStateTable getPlayerStates() {
+        return playerStates;
+    }
+
     public CpuPlayer getWinner() {
         return winner;
     }
+
+    /**
+     * Sets the maximum number of rounds after which the race is stopped without a winner.
+     *
+     * @param maxRounds the maximum number of rounds.
+     */
+    public void setMaxRounds(int maxRounds) {
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Sets the maximum number of frames printed per second, taking effect from the next race initialized.
+     *
+     * @param framesPerSecond the maximum number of frames per second.
+     */
+    public void setFramesPerSecond(int framesPerSecond) {
+        this.framesPerSecond = framesPerSecond;
+    }
+
+    /**
+     * Sets the seed of the random choices of the next race initialized, so that the race can be played again.
+     *
+     * @param seed the seed.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Sets the file where the next races initialized are recorded once they end.
+     *
+     * @param replayWriter the {@link ReplayWriter} of the file, <code>null</code> to stop recording.
+     */
+    public void setReplayWriter(ReplayWriter replayWriter) {
+        this.replayWriter = replayWriter;
+    }
+
+    /**
+     * Sets the registry where the metrics of the next races initialized are kept.
+     *
+     * @param metricsRegistry the {@link MetricsRegistry}, <code>null</code> to stop keeping metrics.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Returns the latency of the rounds of the current race played so far. The {@link MetricsRegistry}
+     * only holds the latency of the rounds of all the races together.
+     *
+     * @return the {@link HistogramSnapshot} of the rounds, in nanoseconds, <code>null</code> if no metric is kept.
+     */
+    public HistogramSnapshot getRoundLatencies() {
+        return this.raceMetrics == null ? null : this.raceMetrics.getRoundLatency().snapshot();
+    }
+
+    /**
+     * Returns the progressive number of the last round played.
+     *
+     * @return the last round played, <code>0</code> if the race has not started yet.
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Checks whether the race has ended, as of the last round played.
+     *
+     * @return <code>true</code> if the race has ended, <code>false</code> otherwise.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
 }
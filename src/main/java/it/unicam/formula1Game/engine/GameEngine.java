@@ -20,6 +20,14 @@ public interface GameEngine {
      */
     void startGame();
 
+    /**
+     * Advances the game by exactly one round, without blocking until the game ends.
+     * Calling this method once the game has ended has no effect.
+     *
+     * @return {@code true} if the game has ended, {@code false} otherwise.
+     */
+    boolean step();
+
     /**
      * Ends the game and handles any post-game logic, such as declaring the winner.
      * This method is called when the game has been won or all players have crashed.
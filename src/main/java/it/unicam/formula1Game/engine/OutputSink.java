@@ -0,0 +1,174 @@
+package it.unicam.formula1Game.engine;
+
+import java.io.PrintStream;
+import java.util.function.Supplier;
+
+/**
+ * The destination of the output of a race, together with how much of the race is written to it.
+ * <p>
+ * A game engine asks the sink whether a round or the result will be written before building them,
+ * so that a headless race never formats any output.
+ */
+public class OutputSink {
+    /**
+     * How much of a race is written to a sink.
+     */
+    public enum Level {
+        /**
+         * Nothing is written.
+         */
+        NONE,
+        /**
+         * Only the result of the race is written.
+         */
+        SUMMARY,
+        /**
+         * The result and the frames of every <code>n</code>-th round and of the last round are written.
+         */
+        EVERY_NTH_ROUND,
+        /**
+         * The result and the frames of every round are written.
+         */
+        EVERY_ROUND
+    }
+
+    /**
+     * The sink that discards everything.
+     */
+    private static final OutputSink NONE = new OutputSink(Level.NONE, null, 1);
+    /**
+     * The level of the sink.
+     */
+    private final Level level;
+    /**
+     * The stream the output is written to, <code>null</code> if the level is {@link Level#NONE}.
+     */
+    private final PrintStream out;
+    /**
+     * The number of rounds between two written frames.
+     */
+    private final int interval;
+
+    /**
+     * Constructs an {@code OutputSink}.
+     *
+     * @param level    the level of the sink.
+     * @param out      the stream the output is written to.
+     * @param interval the number of rounds between two written frames.
+     */
+    private OutputSink(Level level, PrintStream out, int interval) {
+        this.level = level;
+        this.out = out;
+        this.interval = interval;
+    }
+
+    /**
+     * Returns a sink that discards everything, for headless races.
+     *
+     * @return the {@link OutputSink}.
+     */
+    public static OutputSink none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a sink that only writes the result of the race.
+     *
+     * @param out the stream the output is written to.
+     * @return the {@link OutputSink}.
+     */
+    public static OutputSink summary(PrintStream out) {
+        return new OutputSink(Level.SUMMARY, out, 1);
+    }
+
+    /**
+     * Returns a sink that writes the result of the race and the frames of every <code>n</code>-th round.
+     * The initial frame and the frame of the last round are always written.
+     *
+     * @param out the stream the output is written to.
+     * @param n   the number of rounds between two written frames.
+     * @return the {@link OutputSink}.
+     * @throws IllegalArgumentException if <code>n</code> is not positive.
+     */
+    public static OutputSink everyNthRound(PrintStream out, int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("The number of rounds between two frames must be positive");
+        }
+        return new OutputSink(Level.EVERY_NTH_ROUND, out, n);
+    }
+
+    /**
+     * Returns a sink that writes the result of the race and the frames of every round.
+     *
+     * @param out the stream the output is written to.
+     * @return the {@link OutputSink}.
+     */
+    public static OutputSink everyRound(PrintStream out) {
+        return new OutputSink(Level.EVERY_ROUND, out, 1);
+    }
+
+    /**
+     * Checks whether the sink writes the frames of any round.
+     *
+     * @return <code>true</code> if some frame is written, <code>false</code> otherwise.
+     */
+    public boolean writesFrames() {
+        return this.level == Level.EVERY_NTH_ROUND || this.level == Level.EVERY_ROUND;
+    }
+
+    /**
+     * Checks whether the sink writes the frame of a round.
+     *
+     * @param round     the progressive number of the round, <code>0</code> before the first move.
+     * @param lastRound <code>true</code> if the race ended in this round, <code>false</code> otherwise.
+     * @return <code>true</code> if the frame is written, <code>false</code> otherwise.
+     */
+    public boolean writesRound(int round, boolean lastRound) {
+        return switch (this.level) {
+            case NONE, SUMMARY -> false;
+            case EVERY_NTH_ROUND -> lastRound || round % this.interval == 0;
+            case EVERY_ROUND -> true;
+        };
+    }
+
+    /**
+     * Writes the result of a race, building it only if the sink writes it.
+     *
+     * @param result the supplier of the result.
+     */
+    public void writeResult(Supplier<String> result) {
+        if (this.level != Level.NONE) {
+            this.out.println(result.get());
+        }
+    }
+
+    /**
+     * Writes a message about an error that prevented the race from running normally.
+     * Like the result, it is written unless the sink discards everything.
+     *
+     * @param message the message to write.
+     */
+    public void writeError(String message) {
+        if (this.level != Level.NONE) {
+            this.out.println(message);
+        }
+    }
+
+    /**
+     * Returns how much of a race is written to the sink.
+     *
+     * @return the {@link Level} of the sink.
+     */
+    public Level getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Returns the stream the output is written to.
+     *
+     * @return the {@link PrintStream}, <code>null</code> if the level is {@link Level#NONE}.
+     */
+    public PrintStream getOut() {
+        return this.out;
+    }
+}
@@ -0,0 +1,30 @@
+package it.unicam.formula1Game.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder event emitted when a race of a {@link CpuGameEngine} ends.
+ * Its duration spans the whole race, from its initialization to its last round.
+ */
+@Name("formula1.RaceEnd")
+@Label("Race End")
+@Category({"Formula 1", "Race"})
+@Description("A race has ended")
+@StackTrace(false)
+public class RaceEndEvent extends Event {
+    @Label("Track")
+    @Description("The fingerprint of the track")
+    long track;
+    @Label("Rounds")
+    int rounds;
+    @Label("Winner")
+    @Description("The id of the winner, -1 if every player crashed or the race was stopped")
+    int winner;
+    @Label("Winner Strategy")
+    String winnerStrategy;
+}
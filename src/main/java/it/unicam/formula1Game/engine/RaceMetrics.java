@@ -0,0 +1,84 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.metrics.Histogram;
+import it.unicam.formula1Game.metrics.MetricsRegistry;
+import it.unicam.formula1Game.metrics.StrategyMetrics;
+import it.unicam.formula1Game.player.CpuPlayer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a race of a {@link CpuGameEngine}, looked up in a {@link MetricsRegistry} once, when the race
+ * is initialized, so that recording them during the race costs no map access.
+ * The latency of the rounds is recorded in a histogram of the race, added to the registry when the race ends.
+ */
+class RaceMetrics {
+    private final MetricsRegistry registry;
+    /**
+     * The metrics of the strategy of every player, by slot.
+     */
+    private final StrategyMetrics[] strategies;
+    private final LongAdder rounds;
+    /**
+     * The latency of the rounds of this race.
+     */
+    private final Histogram roundLatency = new Histogram();
+
+    /**
+     * Constructs the {@code RaceMetrics} of a race and counts the race.
+     *
+     * @param registry the {@link MetricsRegistry} of the engine.
+     * @param players  the players of the race, in slot order, with their strategies assigned.
+     */
+    RaceMetrics(MetricsRegistry registry, CpuPlayer[] players) {
+        this.registry = registry;
+        this.strategies = new StrategyMetrics[players.length];
+        for (int slot = 0; slot < players.length; slot++) {
+            this.strategies[slot] = registry.strategy(players[slot].getStrategy().toString());
+        }
+        this.rounds = registry.counter(MetricsRegistry.ROUNDS);
+        registry.counter(MetricsRegistry.RACES).increment();
+    }
+
+    /**
+     * Records a decision of a player.
+     *
+     * @param slot    the slot of the player.
+     * @param nanos   the time taken by the decision, in nanoseconds.
+     * @param crashed whether the player crashed with this move.
+     */
+    void recordDecision(int slot, long nanos, boolean crashed) {
+        StrategyMetrics metrics = this.strategies[slot];
+        metrics.decisions().increment();
+        metrics.decisionLatency().record(nanos);
+        if (crashed) {
+            metrics.crashes().increment();
+        }
+    }
+
+    /**
+     * Records a round.
+     *
+     * @param nanos the time taken by the round, in nanoseconds.
+     */
+    void recordRound(long nanos) {
+        this.rounds.increment();
+        this.roundLatency.record(nanos);
+    }
+
+    /**
+     * Records the end of the race and adds the latency of its rounds to the registry.
+     *
+     * @param winnerSlot the slot of the winner, <code>-1</code> if the race has no winner.
+     */
+    void recordEnd(int winnerSlot) {
+        if (winnerSlot >= 0) {
+            this.strategies[winnerSlot].wins().increment();
+        }
+        this.registry.histogram(MetricsRegistry.ROUND_LATENCY).add(this.roundLatency);
+    }
+
+    Histogram getRoundLatency() {
+        return this.roundLatency;
+    }
+}
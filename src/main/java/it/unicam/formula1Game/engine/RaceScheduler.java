@@ -0,0 +1,239 @@
+package it.unicam.formula1Game.engine;
+
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A cooperative scheduler that interleaves many in-flight races on a small, fixed set of threads.
+ * <p>
+ * Races are advanced through {@link GameEngine#step()}: a worker takes the race at the head of the run queue,
+ * plays at most <code>roundsPerTurn</code> rounds and, if the race has not ended, puts it back at the tail.
+ * This way every in-flight race gets a fair share of the workers and no thread is pinned to a single race.
+ * At most <code>maxInFlight</code> races are interleaved at the same time, the others wait for a free slot
+ * in submission order.
+ * <p>
+ * Submitted engines must already be initialized, i.e. ready to play their next round.
+ */
+public class RaceScheduler implements AutoCloseable {
+    /**
+     * The races waiting for a free in-flight slot.
+     */
+    private final Queue<ScheduledRace<?>> pendingRaces = new ConcurrentLinkedQueue<>();
+    /**
+     * The in-flight races waiting for a worker.
+     */
+    private final BlockingQueue<ScheduledRace<?>> runQueue = new LinkedBlockingQueue<>();
+    /**
+     * The number of races currently in flight.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    /**
+     * The number of submitted races that have not ended yet. Updated while holding the scheduler's lock.
+     */
+    private final AtomicInteger outstanding = new AtomicInteger();
+    /**
+     * The maximum number of races interleaved at the same time.
+     */
+    private final int maxInFlight;
+    /**
+     * The maximum number of rounds a race plays before giving its worker to the next race.
+     */
+    private final int roundsPerTurn;
+    /**
+     * The worker threads.
+     */
+    private final Thread[] workers;
+    /**
+     * Whether the scheduler still accepts new races. Guarded by the scheduler's lock.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a {@code RaceScheduler} that plays one round per turn.
+     *
+     * @param threads     the number of worker threads.
+     * @param maxInFlight the maximum number of races interleaved at the same time.
+     */
+    public RaceScheduler(int threads, int maxInFlight) {
+        this(threads, maxInFlight, 1);
+    }
+
+    /**
+     * Constructs a {@code RaceScheduler} and starts its worker threads.
+     *
+     * @param threads       the number of worker threads.
+     * @param maxInFlight   the maximum number of races interleaved at the same time.
+     * @param roundsPerTurn the maximum number of rounds a race plays before giving its worker to the next race.
+     * @throws IllegalArgumentException if any of the arguments is not positive.
+     */
+    public RaceScheduler(int threads, int maxInFlight, int roundsPerTurn) {
+        if (threads <= 0 || maxInFlight <= 0 || roundsPerTurn <= 0) {
+            throw new IllegalArgumentException("Scheduler parameters must be positive");
+        }
+        this.maxInFlight = maxInFlight;
+        this.roundsPerTurn = roundsPerTurn;
+        this.workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            this.workers[i] = new Thread(this::work, "race-scheduler-" + i);
+            this.workers[i].setDaemon(true);
+            this.workers[i].start();
+        }
+    }
+
+    /**
+     * Submits an initialized race to the scheduler.
+     *
+     * @param gameEngine the {@link GameEngine} running the race.
+     * @param <E>        the type of the game engine.
+     * @return a {@link CompletableFuture} completed with the engine once the race has ended,
+     * or exceptionally if a round could not be played.
+     * @throws RejectedExecutionException if the scheduler has been closed.
+     */
+    public <E extends GameEngine> CompletableFuture<E> submit(E gameEngine) {
+        ScheduledRace<E> race = new ScheduledRace<>(gameEngine);
+        // Checked and counted atomically, so that close() cannot miss a race submitted concurrently
+        synchronized (this) {
+            if (this.closed) {
+                throw new RejectedExecutionException("The scheduler has been closed");
+            }
+            this.outstanding.incrementAndGet();
+        }
+        this.pendingRaces.add(race);
+        admitPendingRaces();
+        return race.result;
+    }
+
+    /**
+     * Moves pending races to the run queue as long as there are free in-flight slots.
+     */
+    private void admitPendingRaces() {
+        while (!this.pendingRaces.isEmpty()) {
+            int current = this.inFlight.get();
+            if (current >= this.maxInFlight) {
+                return;
+            }
+            if (this.inFlight.compareAndSet(current, current + 1)) {
+                ScheduledRace<?> race = this.pendingRaces.poll();
+                if (race == null) {
+                    this.inFlight.decrementAndGet();
+                    return;
+                }
+                this.runQueue.add(race);
+            }
+        }
+    }
+
+    /**
+     * The loop executed by every worker thread.
+     * A race failing with any throwable only ends that race, so the worker goes on with the others.
+     */
+    private void work() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ScheduledRace<?> race = this.runQueue.take();
+                if (race.playTurn(this.roundsPerTurn)) {
+                    raceEnded();
+                } else {
+                    this.runQueue.add(race);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Frees the in-flight slot of a race that has ended and, once the scheduler is closed
+     * and every race has ended, stops the worker threads.
+     */
+    private void raceEnded() {
+        this.inFlight.decrementAndGet();
+        admitPendingRaces();
+        synchronized (this) {
+            if (this.outstanding.decrementAndGet() == 0) {
+                notifyAll();
+                if (this.closed) {
+                    stopWorkers();
+                }
+            }
+        }
+    }
+
+    private void stopWorkers() {
+        for (Thread worker : this.workers) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of submitted races that have not ended yet.
+     *
+     * @return the number of outstanding races.
+     */
+    public int getOutstandingRaces() {
+        return this.outstanding.get();
+    }
+
+    /**
+     * Stops accepting new races, waits for the submitted ones to end and stops the worker threads.
+     * If the current thread is interrupted while waiting, this method returns with the interrupt status set,
+     * and the worker threads stop on their own once the submitted races have ended.
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        if (this.outstanding.get() == 0) {
+            stopWorkers();
+            return;
+        }
+        try {
+            while (this.outstanding.get() > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A race handled by the scheduler, together with the future completed when it ends.
+     *
+     * @param <E> the type of the game engine.
+     */
+    private static class ScheduledRace<E extends GameEngine> {
+        private final E gameEngine;
+        private final CompletableFuture<E> result = new CompletableFuture<>();
+
+        ScheduledRace(E gameEngine) {
+            this.gameEngine = gameEngine;
+        }
+
+        /**
+         * Plays up to the given number of rounds.
+         *
+         * @param rounds the maximum number of rounds to play.
+         * @return <code>true</code> if the race has ended, either normally or because a round could not be played,
+         * <code>false</code> otherwise.
+         */
+        boolean playTurn(int rounds) {
+            try {
+                for (int i = 0; i < rounds; i++) {
+                    if (this.gameEngine.step()) {
+                        this.result.complete(this.gameEngine);
+                        return true;
+                    }
+                }
+                return false;
+            } catch (Throwable e) {
+                // The failure belongs to the race, which ends with it, and not to the worker playing it
+                this.result.completeExceptionally(e);
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package it.unicam.formula1Game.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder event emitted when a {@link CpuGameEngine} initializes a race.
+ */
+@Name("formula1.RaceStart")
+@Label("Race Start")
+@Category({"Formula 1", "Race"})
+@Description("A race has been initialized")
+@StackTrace(false)
+public class RaceStartEvent extends Event {
+    @Label("Track")
+    @Description("The fingerprint of the track")
+    long track;
+    @Label("Width")
+    int width;
+    @Label("Height")
+    int height;
+    @Label("Players")
+    int players;
+    @Label("Strategies")
+    @Description("The strategies of the players, in slot order")
+    String strategies;
+    @Label("Seed")
+    long seed;
+}
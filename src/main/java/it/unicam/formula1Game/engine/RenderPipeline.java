@@ -0,0 +1,221 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.metrics.Histogram;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders the {@link RoundSnapshot}s of a race on a dedicated thread, so that the race does not wait for the output.
+ * <p>
+ * Snapshots are published to a bounded queue and rendered at most <code>framesPerSecond</code> times per second.
+ * When the queue is full, the oldest snapshot is dropped to make room for the new one, so a slow output
+ * skips rounds instead of slowing the race down. A final snapshot discards every snapshot still waiting
+ * and is always rendered.
+ * <p>
+ * Snapshots must be published by one thread at a time, as the rounds of a race are.
+ */
+public class RenderPipeline implements AutoCloseable {
+    /**
+     * The frame rate used when none is given.
+     */
+    public static final int DEFAULT_FRAMES_PER_SECOND = 30;
+    /**
+     * The number of snapshots that can wait to be rendered when no capacity is given.
+     */
+    public static final int DEFAULT_CAPACITY = 4;
+    /**
+     * The snapshot that stops the render thread.
+     */
+    private static final RoundSnapshot END_OF_RACE = new RoundSnapshot(-1, "", List.of(), true);
+    /**
+     * The snapshots waiting to be rendered.
+     */
+    private final BlockingQueue<RoundSnapshot> queue;
+    /**
+     * The renderer that draws the frames.
+     */
+    private final TrackRenderer renderer;
+    /**
+     * The racetrack of the race.
+     */
+    private final RaceTrack raceTrack;
+    /**
+     * The stream the frames are written to.
+     */
+    private final PrintStream out;
+    /**
+     * The minimum time between two frames, in nanoseconds.
+     */
+    private final long frameInterval;
+    /**
+     * The thread rendering the frames.
+     */
+    private final Thread renderThread;
+    /**
+     * The number of snapshots rendered.
+     */
+    private final AtomicLong renderedFrames = new AtomicLong();
+    /**
+     * The number of snapshots dropped without being rendered.
+     */
+    private final AtomicLong droppedFrames = new AtomicLong();
+    /**
+     * The time taken to render every frame, <code>null</code> if it is not measured.
+     */
+    private final Histogram renderLatency;
+    /**
+     * Whether the pipeline has been closed.
+     */
+    private boolean closed;
+
+    /**
+     * Constructs a {@code RenderPipeline} that writes to the standard output with the default frame rate and capacity.
+     *
+     * @param renderer  the {@link TrackRenderer} of the race.
+     * @param raceTrack the {@link RaceTrack} of the race.
+     */
+    public RenderPipeline(TrackRenderer renderer, RaceTrack raceTrack) {
+        this(renderer, raceTrack, System.out, DEFAULT_FRAMES_PER_SECOND, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code RenderPipeline} and starts its render thread.
+     *
+     * @param renderer        the {@link TrackRenderer} of the race.
+     * @param raceTrack       the {@link RaceTrack} of the race.
+     * @param out             the stream the frames are written to.
+     * @param framesPerSecond the maximum number of frames rendered per second.
+     * @param capacity        the maximum number of snapshots waiting to be rendered.
+     * @throws IllegalArgumentException if the frame rate or the capacity is not positive.
+     */
+    public RenderPipeline(TrackRenderer renderer, RaceTrack raceTrack, PrintStream out, int framesPerSecond, int capacity) {
+        this(renderer, raceTrack, out, framesPerSecond, capacity, null);
+    }
+
+    /**
+     * Constructs a {@code RenderPipeline} that measures the time taken by every frame, and starts its render thread.
+     *
+     * @param renderer        the {@link TrackRenderer} of the race.
+     * @param raceTrack       the {@link RaceTrack} of the race.
+     * @param out             the stream the frames are written to.
+     * @param framesPerSecond the maximum number of frames rendered per second.
+     * @param capacity        the maximum number of snapshots waiting to be rendered.
+     * @param renderLatency   the {@link Histogram} receiving the time taken to draw and write every frame,
+     *                        <code>null</code> not to measure it.
+     * @throws IllegalArgumentException if the frame rate or the capacity is not positive.
+     */
+    public RenderPipeline(TrackRenderer renderer, RaceTrack raceTrack, PrintStream out, int framesPerSecond, int capacity,
+                          Histogram renderLatency) {
+        if (framesPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Render pipeline parameters must be positive");
+        }
+        this.renderer = renderer;
+        this.raceTrack = raceTrack;
+        this.out = out;
+        this.renderLatency = renderLatency;
+        this.frameInterval = TimeUnit.SECONDS.toNanos(1) / framesPerSecond;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.renderThread = new Thread(this::render, "render-pipeline");
+        this.renderThread.setDaemon(true);
+        this.renderThread.start();
+    }
+
+    /**
+     * Publishes the snapshot of a round without waiting for it to be rendered.
+     * If the queue is full, the oldest waiting snapshot is dropped; a final snapshot drops every waiting snapshot.
+     *
+     * @param snapshot the {@link RoundSnapshot} to render.
+     * @throws IllegalStateException if the pipeline has been closed.
+     */
+    public void publish(RoundSnapshot snapshot) {
+        if (this.closed) {
+            throw new IllegalStateException("The render pipeline has been closed");
+        }
+        if (snapshot.finalFrame()) {
+            // The waiting snapshots are older than the final one, which must not wait behind them
+            while (this.queue.poll() != null) {
+                this.droppedFrames.incrementAndGet();
+            }
+        }
+        while (!this.queue.offer(snapshot)) {
+            if (this.queue.poll() != null) {
+                this.droppedFrames.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * The loop executed by the render thread.
+     */
+    private void render() {
+        long nextFrame = System.nanoTime();
+        try {
+            while (true) {
+                long wait = nextFrame - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                RoundSnapshot snapshot = this.queue.take();
+                if (snapshot == END_OF_RACE) {
+                    return;
+                }
+                long renderStart = System.nanoTime();
+                this.out.println(GameVisualizer.visualizeGame(this.renderer, this.raceTrack,
+                        snapshot.players(), snapshot.title()));
+                if (this.renderLatency != null) {
+                    this.renderLatency.record(System.nanoTime() - renderStart);
+                }
+                this.renderedFrames.incrementAndGet();
+                nextFrame = System.nanoTime() + this.frameInterval;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of snapshots rendered so far.
+     *
+     * @return the number of rendered frames.
+     */
+    public long getRenderedFrames() {
+        return this.renderedFrames.get();
+    }
+
+    /**
+     * Returns the number of snapshots dropped so far without being rendered.
+     *
+     * @return the number of dropped frames.
+     */
+    public long getDroppedFrames() {
+        return this.droppedFrames.get();
+    }
+
+    /**
+     * Waits for the waiting snapshots to be rendered and stops the render thread.
+     * If the current thread is interrupted while waiting, the render thread is stopped without rendering
+     * the waiting snapshots and the interrupt status is restored.
+     * Closing a closed pipeline has no effect.
+     */
+    @Override
+    public void close() {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            this.queue.put(END_OF_RACE);
+            this.renderThread.join();
+        } catch (InterruptedException e) {
+            this.renderThread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        this.out.flush();
+    }
+}
@@ -0,0 +1,28 @@
+package it.unicam.formula1Game.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The Java Flight Recorder event emitted for every round played by a {@link CpuGameEngine},
+ * spanning the moves of all the players in the round.
+ */
+@Name("formula1.Round")
+@Label("Round")
+@Category({"Formula 1", "Race"})
+@Description("A round of a race")
+@StackTrace(false)
+public class RoundEvent extends Event {
+    @Label("Track")
+    @Description("The fingerprint of the track")
+    long track;
+    @Label("Round")
+    int round;
+    @Label("Alive Players")
+    @Description("The players that have not crashed at the start of the round")
+    int alivePlayers;
+}
@@ -0,0 +1,76 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.player.PlayerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of the state of a race at the end of a round, that can be rendered on another thread
+ * while the race goes on.
+ *
+ * @param round      the progressive number of the round, <code>0</code> before the first move.
+ * @param title      the line written above the track.
+ * @param players    the state of every player at the end of the round.
+ * @param finalFrame <code>true</code> if this is the last round of the race, <code>false</code> otherwise.
+ */
+public record RoundSnapshot(int round, String title, List<PlayerSnapshot> players, boolean finalFrame) {
+
+    /**
+     * Takes a snapshot of the given players.
+     *
+     * @param round      the progressive number of the round.
+     * @param title      the line written above the track.
+     * @param players    the players of the race.
+     * @param finalFrame <code>true</code> if this is the last round of the race, <code>false</code> otherwise.
+     * @return the {@link RoundSnapshot} of the round.
+     */
+    public static RoundSnapshot of(int round, String title, PlayerView[] players, boolean finalFrame) {
+        List<PlayerSnapshot> snapshots = new ArrayList<>(players.length);
+        for (PlayerView player : players) {
+            snapshots.add(new PlayerSnapshot(player.getId(), player.getPosition(), player.getLastMove(),
+                    player.hasCrashed(), player.getStrategyName()));
+        }
+        return new RoundSnapshot(round, title, Collections.unmodifiableList(snapshots), finalFrame);
+    }
+
+    /**
+     * An immutable copy of the state of a player. It can be visualized like the player it was taken from.
+     *
+     * @param id           the player's unique identifier.
+     * @param position     the player's position.
+     * @param lastMove     the player's last move.
+     * @param crashed      whether the player had crashed.
+     * @param strategyName the name of the player's strategy.
+     */
+    public record PlayerSnapshot(int id, Coordinate position, Coordinate lastMove, boolean crashed,
+                                 String strategyName) implements PlayerView {
+
+        @Override
+        public int getId() {
+            return this.id;
+        }
+
+        @Override
+        public Coordinate getPosition() {
+            return this.position;
+        }
+
+        @Override
+        public Coordinate getLastMove() {
+            return this.lastMove;
+        }
+
+        @Override
+        public boolean hasCrashed() {
+            return this.crashed;
+        }
+
+        @Override
+        public String getStrategyName() {
+            return this.strategyName;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package it.unicam.formula1Game.engine;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The Java Flight Recorder event emitted for every move decided by a
+ * {@link it.unicam.formula1Game.strategy.GameStrategy}, spanning its <code>applyStrategy</code> call.
+ * Decisions are many and mostly short, so only those longer than the threshold are recorded by default.
+ */
+@Name("formula1.StrategyDecision")
+@Label("Strategy Decision")
+@Category({"Formula 1", "Strategy"})
+@Description("A move decided by a strategy")
+@Threshold("20 us")
+@StackTrace(false)
+public class StrategyDecisionEvent extends Event {
+    @Label("Track")
+    @Description("The fingerprint of the track")
+    long track;
+    @Label("Strategy")
+    String strategy;
+    @Label("Player")
+    @Description("The id of the player")
+    int player;
+    @Label("Candidates")
+    @Description("The moves available to the player, among which the strategy chose")
+    int candidates;
+    @Label("Crashed")
+    @Description("Whether the player crashed with the move")
+    boolean crashed;
+}
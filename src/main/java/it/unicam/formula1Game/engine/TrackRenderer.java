@@ -0,0 +1,211 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.player.PlayerView;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Renders the frames of a single race incrementally, keeping the track and the players in a <code>char[]</code>
+ * frame buffer that holds one character per cell and a line break at the end of every row.
+ * <p>
+ * Each frame only restores the cells left by the players and draws the cells they occupy now,
+ * so its cost is proportional to the number of players instead of the area of the track.
+ * The first frame is written in full; the following ones only write the rows that changed.
+ * When the output is a terminal, changed rows are redrawn in place through ANSI cursor moves,
+ * otherwise they are written one per line, prefixed by their row number.
+ * A renderer is not thread safe.
+ */
+public class TrackRenderer {
+    /**
+     * The ANSI sequence that clears the screen and moves the cursor to the top left corner.
+     */
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+    /**
+     * The ANSI sequence that clears the screen from the cursor to the end.
+     */
+    private static final String CLEAR_BELOW = "\033[J";
+    /**
+     * The ANSI sequence that clears the line of the cursor.
+     */
+    private static final String CLEAR_LINE = "\033[2K";
+    /**
+     * The width of the track.
+     */
+    private final int width;
+    /**
+     * The height of the track.
+     */
+    private final int height;
+    /**
+     * The track without players, laid out like <code>frame</code>.
+     */
+    private final char[] background;
+    /**
+     * The current frame, row by row, each row followed by a line break.
+     */
+    private final char[] frame;
+    /**
+     * Whether each row has changed since the last rendered frame.
+     */
+    private final boolean[] dirtyRows;
+    /**
+     * The rows that changed since the last rendered frame, in the first <code>dirtyCount</code> entries.
+     */
+    private final int[] changedRows;
+    /**
+     * The number of rows that changed since the last rendered frame.
+     */
+    private int dirtyCount;
+    /**
+     * The indexes in <code>frame</code> of the cells occupied by players.
+     */
+    private int[] occupiedCells = new int[0];
+    /**
+     * The number of valid entries of <code>occupiedCells</code>.
+     */
+    private int occupiedCount;
+    /**
+     * Whether the frame has already been written in full.
+     */
+    private boolean drawn;
+    /**
+     * Whether changed rows are redrawn in place with ANSI cursor moves.
+     */
+    private final boolean ansi;
+
+    /**
+     * Constructs a {@code TrackRenderer} that uses ANSI cursor moves when the standard output is a terminal.
+     *
+     * @param raceTrack the {@link RaceTrack} of the race.
+     */
+    public TrackRenderer(RaceTrack raceTrack) {
+        this(raceTrack, System.console() != null);
+    }
+
+    /**
+     * Constructs a {@code TrackRenderer}.
+     *
+     * @param raceTrack the {@link RaceTrack} of the race.
+     * @param ansi      whether changed rows are redrawn in place with ANSI cursor moves.
+     */
+    public TrackRenderer(RaceTrack raceTrack, boolean ansi) {
+        this.width = raceTrack.getWidth();
+        this.height = raceTrack.getHeight();
+        this.ansi = ansi;
+        this.background = new char[this.height * (this.width + 1)];
+        this.dirtyRows = new boolean[this.height];
+        this.changedRows = new int[this.height];
+        TrackGrid grid = raceTrack.getTrackGrid();
+        for (int row = 0; row < this.height; row++) {
+            for (int column = 0; column < this.width; column++) {
+                this.background[row * (this.width + 1) + column] = grid.typeAt(grid.index(row, column)).getValue();
+            }
+            this.background[row * (this.width + 1) + this.width] = '\n';
+        }
+        this.frame = this.background.clone();
+    }
+
+    /**
+     * Moves the players to their current positions in the frame buffer.
+     * Crashed players and players outside the track are not drawn.
+     * Players are drawn with the last digit of their ID.
+     *
+     * @param players the players of the race.
+     */
+    public void update(List<? extends PlayerView> players) {
+        for (int i = 0; i < this.occupiedCount; i++) {
+            int cell = this.occupiedCells[i];
+            this.frame[cell] = this.background[cell];
+            markChanged(cell / (this.width + 1));
+        }
+        if (this.occupiedCells.length < players.size()) {
+            this.occupiedCells = new int[players.size()];
+        }
+        this.occupiedCount = 0;
+        for (PlayerView player : players) {
+            int row = player.getPosition().getRow();
+            int column = player.getPosition().getColumn();
+            if (!player.hasCrashed() && row >= 0 && row < this.height && column >= 0 && column < this.width) {
+                int cell = row * (this.width + 1) + column;
+                this.frame[cell] = Character.forDigit(Math.abs(player.getId() % 10), 10);
+                markChanged(row);
+                this.occupiedCells[this.occupiedCount++] = cell;
+            }
+        }
+    }
+
+    /**
+     * Records that a row has changed since the last rendered frame.
+     *
+     * @param row the changed row.
+     */
+    private void markChanged(int row) {
+        if (!this.dirtyRows[row]) {
+            this.dirtyRows[row] = true;
+            this.changedRows[this.dirtyCount++] = row;
+        }
+    }
+
+    /**
+     * Appends the current frame in full, regardless of what has already been written.
+     *
+     * @param sb the <code>StringBuilder</code> used to build the output.
+     */
+    public void renderFull(StringBuilder sb) {
+        sb.append(this.frame);
+    }
+
+    /**
+     * Appends a title and the part of the frame that changed since the last call.
+     * The first call writes the whole frame; in ANSI mode it also clears the screen, so that the title
+     * and the track are always drawn at the top of the screen and the following output right below them.
+     *
+     * @param sb    the <code>StringBuilder</code> used to build the output.
+     * @param title the line written above the track.
+     */
+    public void render(StringBuilder sb, String title) {
+        Arrays.sort(this.changedRows, 0, this.dirtyCount);
+        if (!this.drawn) {
+            if (this.ansi) {
+                sb.append(CLEAR_SCREEN);
+            }
+            sb.append(title).append('\n');
+            sb.append(this.frame);
+            this.drawn = true;
+        } else if (this.ansi) {
+            sb.append("\033[1;1H").append(CLEAR_LINE).append(title);
+            for (int i = 0; i < this.dirtyCount; i++) {
+                int row = this.changedRows[i];
+                sb.append("\033[").append(row + 2).append(";1H");
+                sb.append(this.frame, row * (this.width + 1), this.width);
+            }
+            sb.append("\033[").append(this.height + 2).append(";1H").append(CLEAR_BELOW);
+        } else {
+            sb.append(title).append('\n');
+            int digits = String.valueOf(this.height - 1).length();
+            for (int i = 0; i < this.dirtyCount; i++) {
+                int row = this.changedRows[i];
+                String label = String.valueOf(row);
+                sb.append(" ".repeat(digits - label.length())).append(label).append('|');
+                sb.append(this.frame, row * (this.width + 1), this.width + 1);
+            }
+        }
+        for (int i = 0; i < this.dirtyCount; i++) {
+            this.dirtyRows[this.changedRows[i]] = false;
+        }
+        this.dirtyCount = 0;
+    }
+
+    /**
+     * Returns a row of the frame buffer, as drawn by the last update.
+     *
+     * @param row the row to return.
+     * @return the characters of the row.
+     */
+    public String getRow(int row) {
+        return new String(this.frame, row * (this.width + 1), this.width);
+    }
+}
@@ -0,0 +1,359 @@
+package it.unicam.formula1Game.generator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.DefaultIndenter;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static it.unicam.formula1Game.racetrack.RacetrackUtils.MAX_PLAYERS;
+import static it.unicam.formula1Game.racetrack.RacetrackUtils.MIN_PLAYERS;
+
+/**
+ * Generates closed-loop tracks of any size, to be used as benchmark corpora.
+ * <p>
+ * The track is a ring around the centre of the grid: its outer edge is an ellipse inscribed in the grid
+ * and bent by a few random harmonics, and the road keeps the same relative width all around it, so the loop
+ * is always closed and surrounds an island of walls. The finish line crosses the ring on the central column
+ * and the start line lies next to it on the side players leave in, as in the shipped tracks. Since the first move
+ * of every player is one column to the left, players must leave the finish line going left: the finish line
+ * crosses the top of the ring in counter-clockwise races and the bottom of the ring in clockwise ones.
+ * <p>
+ * The generation is deterministic: the same parameters and seed always give the same track.
+ * Every cell only depends on its position, so the rows are generated in parallel, a block at a time,
+ * and written to the JSON configuration files read by {@link it.unicam.formula1Game.parser.JsonParser}
+ * as soon as they are ready, without ever holding the whole track in memory.
+ * <p>
+ * Tracks larger than {@link it.unicam.formula1Game.racetrack.RacetrackUtils#MAX_WIDTH} by
+ * {@link it.unicam.formula1Game.racetrack.RacetrackUtils#MAX_HEIGHT} can be read by the {@code JsonParser},
+ * which does not check the dimensions, but are rejected by the {@code RaceTrackValidator}.
+ */
+public class TrackGenerator {
+    /**
+     * The minimum width and height of a generated track.
+     */
+    public static final int MIN_SIZE = 16;
+    /**
+     * The road width used when none is given.
+     */
+    public static final int DEFAULT_ROAD_WIDTH = 4;
+    /**
+     * The number of harmonics bending the ring when none is given.
+     */
+    public static final int DEFAULT_CORNERS = 3;
+    /**
+     * The largest inward bend of the outer edge, relative to the radius of the ellipse.
+     */
+    private static final double AMPLITUDE = 0.3;
+    /**
+     * The smallest radius of the central island, relative to the radius of the ellipse.
+     */
+    private static final double MIN_ISLAND = 0.15;
+    /**
+     * The number of cells above which a block of rows is generated in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * The number of cells generated before being written.
+     */
+    private static final int BLOCK_CELLS = 1 << 22;
+    /**
+     * The factory of the JSON generators, shared by every instance since it is thread safe.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private final int width;
+    private final int height;
+    private final int numberOfPlayers;
+    private final String direction;
+    private final double centerRow;
+    private final double centerColumn;
+    /**
+     * The vertical radius of the ellipse, in cells.
+     */
+    private final double radiusRows;
+    /**
+     * The horizontal radius of the ellipse, in cells.
+     */
+    private final double radiusColumns;
+    /**
+     * The width of the road, relative to the radius of the ellipse.
+     */
+    private final double thickness;
+    /**
+     * The largest inward bend of the outer edge, relative to the radius of the ellipse.
+     */
+    private final double amplitude;
+    /**
+     * The outer edge of the ring, relative to the radius of the ellipse, sampled at evenly spaced angles
+     * from <code>-pi</code> to <code>pi</code> included, finely enough to be interpolated at the scale of a cell.
+     */
+    private final double[] outerEdge;
+    private final int finishColumn;
+    private final int startColumn;
+    /**
+     * Whether the start and finish lines cross the top of the ring, rather than the bottom.
+     */
+    private final boolean linesOnTop;
+
+    /**
+     * Constructs a {@code TrackGenerator} of counter-clockwise tracks for two players,
+     * with the default road width and number of corners.
+     *
+     * @param width  the width of the track.
+     * @param height the height of the track.
+     * @param seed   the seed of the random bends.
+     * @throws IllegalArgumentException if the track is too small.
+     */
+    public TrackGenerator(int width, int height, long seed) {
+        this(width, height, DEFAULT_ROAD_WIDTH, DEFAULT_CORNERS, MIN_PLAYERS, "ccw", seed);
+    }
+
+    /**
+     * Constructs a {@code TrackGenerator}.
+     *
+     * @param width           the width of the track.
+     * @param height          the height of the track.
+     * @param roadWidth       the smallest radial width of the road, in cells.
+     * @param corners         the number of harmonics bending the ring, <code>0</code> for an elliptic ring.
+     * @param numberOfPlayers the number of players of the track.
+     * @param direction       the direction of the race, either "cw" or "ccw".
+     * @param seed            the seed of the random bends.
+     * @throws IllegalArgumentException if a parameter is out of range or the road is too wide for the track.
+     */
+    public TrackGenerator(int width, int height, int roadWidth, int corners, int numberOfPlayers, String direction, long seed) {
+        if (width < MIN_SIZE || height < MIN_SIZE) {
+            throw new IllegalArgumentException("Generated tracks must be at least " + MIN_SIZE + "x" + MIN_SIZE);
+        }
+        if (roadWidth < 2 || corners < 0) {
+            throw new IllegalArgumentException("The road must be at least 2 cells wide and the corners cannot be negative");
+        }
+        if (numberOfPlayers < MIN_PLAYERS || numberOfPlayers > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Invalid number of players: " + numberOfPlayers);
+        }
+        if (!"cw".equals(direction) && !"ccw".equals(direction)) {
+            throw new IllegalArgumentException("Invalid direction " + direction);
+        }
+        this.width = width;
+        this.height = height;
+        this.numberOfPlayers = numberOfPlayers;
+        this.direction = direction;
+        this.centerRow = (height - 1) / 2.0;
+        this.centerColumn = (width - 1) / 2.0;
+        // Keep a ring of walls around the track
+        this.radiusRows = this.centerRow - 1;
+        this.radiusColumns = this.centerColumn - 1;
+        this.thickness = roadWidth / Math.min(this.radiusRows, this.radiusColumns);
+        double freeRadius = 1 - this.thickness - MIN_ISLAND;
+        if (freeRadius <= 0) {
+            throw new IllegalArgumentException("The road is too wide for a " + width + "x" + height + " track");
+        }
+        this.amplitude = corners == 0 ? 0 : Math.min(AMPLITUDE, freeRadius);
+        this.outerEdge = outerEdge(corners, new SplittableRandom(seed));
+        this.finishColumn = width / 2;
+        // Counter-clockwise races leave the top of the track going left, clockwise races the bottom
+        this.startColumn = this.finishColumn - 1;
+        this.linesOnTop = "ccw".equals(direction);
+    }
+
+    /**
+     * Returns the type of the cell at the given row and column.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the {@link CellType} of the cell.
+     */
+    public CellType cellTypeAt(int row, int column) {
+        double v = (row - this.centerRow) / this.radiusRows;
+        double u = (column - this.centerColumn) / this.radiusColumns;
+        double rho = Math.sqrt(u * u + v * v);
+        // Most cells are far enough from the road to skip the trigonometry
+        if (rho > 1 || rho < 1 - this.amplitude - this.thickness) {
+            return CellType.WALL;
+        }
+        double outer = outerRadius(Math.atan2(v, u));
+        if (rho > outer || rho < outer - this.thickness) {
+            return CellType.WALL;
+        }
+        boolean linesSide = this.linesOnTop ? row < this.centerRow : row > this.centerRow;
+        if (linesSide && column == this.finishColumn) {
+            return CellType.FINISH;
+        }
+        if (linesSide && column == this.startColumn) {
+            return CellType.START;
+        }
+        return CellType.TRACK;
+    }
+
+    /**
+     * Samples the outer edge of the ring, bent by harmonics of random weights and phases.
+     *
+     * @param corners the number of harmonics.
+     * @param random  the source of the weights and phases.
+     * @return the samples of the outer edge.
+     */
+    private double[] outerEdge(int corners, SplittableRandom random) {
+        double[] weights = new double[corners];
+        double[] phases = new double[corners];
+        double total = 0;
+        for (int i = 0; i < corners; i++) {
+            // Higher harmonics bend the ring more sharply, so they get smaller weights
+            weights[i] = random.nextDouble(0.5, 1) / (i + 2);
+            phases[i] = random.nextDouble(2 * Math.PI);
+            total += weights[i];
+        }
+        // At least one sample per cell along the outer edge
+        int samples = (int) Math.max(1024, 2 * Math.PI * Math.max(this.radiusRows, this.radiusColumns));
+        double[] edge = new double[samples + 1];
+        for (int sample = 0; sample <= samples; sample++) {
+            double angle = -Math.PI + 2 * Math.PI * sample / samples;
+            double bend = 0;
+            for (int i = 0; i < corners; i++) {
+                bend += weights[i] * (1 + Math.sin((i + 2) * angle + phases[i])) / 2;
+            }
+            edge[sample] = 1 - this.amplitude * (total == 0 ? 0 : bend / total);
+        }
+        return edge;
+    }
+
+    /**
+     * Interpolates the outer edge of the ring at the given angle.
+     *
+     * @param angle the angle from the centre of the track, from <code>-pi</code> to <code>pi</code>.
+     * @return the radius of the outer edge, relative to the radius of the ellipse.
+     */
+    private double outerRadius(double angle) {
+        double position = (angle + Math.PI) / (2 * Math.PI) * (this.outerEdge.length - 1);
+        int sample = Math.min((int) position, this.outerEdge.length - 2);
+        double fraction = position - sample;
+        return this.outerEdge[sample] + fraction * (this.outerEdge[sample + 1] - this.outerEdge[sample]);
+    }
+
+    /**
+     * Writes the track to a JSON configuration file, replacing the file if it exists
+     * and creating its parent directories if they do not.
+     *
+     * @param output the path of the file.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(output))) {
+            write(stream);
+        }
+    }
+
+    /**
+     * Writes the track as a JSON configuration to a stream, which is left open.
+     *
+     * @param output the stream to write to.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void write(OutputStream output) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(output)) {
+            generator.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            // One row of the track per line, as in the hand-written tracks
+            generator.setPrettyPrinter(new DefaultPrettyPrinter().withArrayIndenter(DefaultIndenter.SYSTEM_LINEFEED_INSTANCE));
+            generator.writeStartObject();
+            generator.writeNumberField("width", this.width);
+            generator.writeNumberField("height", this.height);
+            generator.writeNumberField("numPlayers", this.numberOfPlayers);
+            generator.writeStringField("direction", this.direction);
+            generator.writeArrayFieldStart("track");
+            int blockRows = Math.max(1, BLOCK_CELLS / this.width);
+            char[] block = new char[Math.min(blockRows, this.height) * this.width];
+            for (int firstRow = 0; firstRow < this.height; firstRow += blockRows) {
+                int rows = Math.min(blockRows, this.height - firstRow);
+                fillRows(firstRow, rows, block);
+                for (int row = 0; row < rows; row++) {
+                    generator.writeString(block, row * this.width, this.width);
+                }
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Generates a block of rows as the characters of their cells.
+     *
+     * @param firstRow the first row of the block.
+     * @param rows     the number of rows of the block.
+     * @param block    the buffer receiving the rows, one after the other.
+     */
+    private void fillRows(int firstRow, int rows, char[] block) {
+        IntStream range = IntStream.range(0, rows);
+        if ((long) rows * this.width >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(row -> {
+            int offset = row * this.width;
+            for (int column = 0; column < this.width; column++) {
+                block[offset + column] = cellTypeAt(firstRow + row, column).getValue();
+            }
+        });
+    }
+
+    /**
+     * Generates the track in memory.
+     *
+     * @return the generated {@link RaceTrack}.
+     * @throws InvalidConfigurationException if the track cannot be built.
+     */
+    public RaceTrack generate() throws InvalidConfigurationException {
+        TrackGrid grid = new TrackGrid(this.width, this.height);
+        IntStream rows = IntStream.range(0, this.height);
+        if ((long) this.width * this.height >= PARALLEL_THRESHOLD) {
+            rows = rows.parallel();
+        }
+        // Rows are written to disjoint parts of the grid
+        rows.forEach(row -> {
+            for (int column = 0; column < this.width; column++) {
+                grid.setCellType(row, column, cellTypeAt(row, column));
+            }
+        });
+        return new RaceTrack(this.width, this.height, grid, this.numberOfPlayers, this.direction);
+    }
+
+    /**
+     * Generates a track into a JSON configuration file.
+     *
+     * @param args the output file, the width and the height and, optionally, the road width, the number of corners,
+     *             the seed, the direction and the number of players.
+     */
+    public static void main(String[] args) {
+        if (args.length < 3 || args.length > 8) {
+            System.out.println("Usage: TrackGenerator <track.json> <width> <height> [roadWidth] [corners] [seed] [cw|ccw] [players]");
+            return;
+        }
+        try {
+            TrackGenerator generator = new TrackGenerator(
+                    Integer.parseInt(args[1]),
+                    Integer.parseInt(args[2]),
+                    args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_ROAD_WIDTH,
+                    args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_CORNERS,
+                    args.length > 7 ? Integer.parseInt(args[7]) : MIN_PLAYERS,
+                    args.length > 6 ? args[6] : "ccw",
+                    args.length > 5 ? Long.parseLong(args[5]) : 0);
+            generator.write(Path.of(args[0]));
+            System.out.println("Generated " + args[1] + "x" + args[2] + " track into " + args[0]);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Invalid parameters: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Error writing the track: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package it.unicam.formula1Game.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations, in nanoseconds, that can be recorded by many threads at once.
+ * <p>
+ * Values are counted in logarithmic buckets: every power of two is split into {@link #SUB_BUCKETS} buckets
+ * of the same width, so a value is known within a quarter of its magnitude whatever its size, and
+ * values below {@link #SUB_BUCKETS} are counted exactly. Recording a value only increments the counter
+ * of its bucket and the sum, without any lock or allocation.
+ */
+public class Histogram {
+    /**
+     * The number of buckets every power of two is split into.
+     */
+    static final int SUB_BUCKETS = 4;
+    /**
+     * The number of buckets, enough for any non-negative <code>long</code>.
+     */
+    static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+    /**
+     * The number of values recorded in every bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /**
+     * The sum of the recorded values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a value. Negative values are recorded as <code>0</code>.
+     *
+     * @param value the value, in nanoseconds.
+     */
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        this.counts.incrementAndGet(bucketOf(clamped));
+        this.sum.add(clamped);
+    }
+
+    /**
+     * Adds the values recorded by another histogram to this one.
+     *
+     * @param other the histogram to add.
+     */
+    public void add(Histogram other) {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long count = other.counts.get(bucket);
+            if (count != 0) {
+                this.counts.addAndGet(bucket, count);
+            }
+        }
+        this.sum.add(other.sum.sum());
+    }
+
+    /**
+     * Takes a snapshot of the histogram. Values recorded while the snapshot is taken may be only partly included.
+     *
+     * @return the {@link HistogramSnapshot} of the histogram.
+     */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = this.counts.get(bucket);
+        }
+        return new HistogramSnapshot(counts, this.sum.sum());
+    }
+
+    /**
+     * Returns the bucket of a non-negative value.
+     *
+     * @param value the value.
+     * @return the index of its bucket.
+     */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int mantissa = (int) (value >>> (exponent - 2));
+        return SUB_BUCKETS * (exponent - 1) + mantissa - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the largest value counted in a bucket.
+     *
+     * @param bucket the index of the bucket.
+     * @return the upper bound of the bucket, inclusive.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + 1;
+        long mantissa = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        long upper = (mantissa + 1) << (exponent - 2);
+        // The last bucket ends at Long.MAX_VALUE, whose next value overflows
+        return upper <= 0 ? Long.MAX_VALUE : upper - 1;
+    }
+}
@@ -0,0 +1,51 @@
+package it.unicam.formula1Game.metrics;
+
+/**
+ * The values recorded by a {@link Histogram} at a point in time.
+ *
+ * @param counts the number of values of every bucket.
+ * @param sum    the sum of the values, in nanoseconds.
+ */
+public record HistogramSnapshot(long[] counts, long sum) {
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the count of the histogram.
+     */
+    public long count() {
+        long count = 0;
+        for (long bucket : this.counts) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean, in nanoseconds, <code>0</code> if no value has been recorded.
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) this.sum / count;
+    }
+
+    /**
+     * Estimates a percentile of the recorded values as the upper bound of the bucket it falls in.
+     *
+     * @param fraction the percentile, as a fraction, e.g. <code>0.99</code>.
+     * @return the estimated percentile, in nanoseconds, <code>0</code> if no value has been recorded.
+     */
+    public long percentile(double fraction) {
+        long rank = (long) Math.ceil(fraction * count());
+        long seen = 0;
+        for (int bucket = 0; bucket < this.counts.length; bucket++) {
+            seen += this.counts[bucket];
+            if (seen >= rank && seen > 0) {
+                return Histogram.upperBound(bucket);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,204 @@
+package it.unicam.formula1Game.metrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds the metrics of the races: counters kept in {@link LongAdder}s, which stay cheap when many threads
+ * update them, and latency {@link Histogram}s.
+ * <p>
+ * Metrics are grouped in families, named after the Prometheus conventions, and told apart within a family
+ * by their labels. Looking a metric up costs a map access, so code on a hot path looks its metrics up
+ * once and keeps them. The metrics can be read as a {@link MetricsSnapshot} or written in the Prometheus
+ * text exposition format, e.g. by a {@link MetricsServer}.
+ */
+public class MetricsRegistry {
+    /**
+     * The number of rounds played.
+     */
+    public static final String ROUNDS = "f1_rounds_total";
+    /**
+     * The number of races played.
+     */
+    public static final String RACES = "f1_races_total";
+    /**
+     * The number of moves decided, by strategy.
+     */
+    public static final String DECISIONS = "f1_decisions_total";
+    /**
+     * The number of players crashed, by strategy.
+     */
+    public static final String CRASHES = "f1_crashes_total";
+    /**
+     * The number of races won, by strategy.
+     */
+    public static final String WINS = "f1_wins_total";
+    /**
+     * The time taken by a decision, by strategy.
+     */
+    public static final String DECISION_LATENCY = "f1_decision_latency_seconds";
+    /**
+     * The time taken by a round, aggregated over every race: labelling it by race would add a series per race
+     * without bound. The rounds of a single race are available from
+     * {@link it.unicam.formula1Game.engine.CpuGameEngine#getRoundLatencies()}.
+     */
+    public static final String ROUND_LATENCY = "f1_round_latency_seconds";
+    /**
+     * The time taken to render a frame.
+     */
+    public static final String RENDER_LATENCY = "f1_render_latency_seconds";
+    /**
+     * The exponent of the smallest bucket boundary written in the exposition format: 2^10 ns, about a microsecond.
+     */
+    static final int MIN_BOUNDARY_EXPONENT = 10;
+    /**
+     * The exponent of the largest bucket boundary written in the exposition format: 2^36 ns, about a minute.
+     */
+    static final int MAX_BOUNDARY_EXPONENT = 36;
+    /**
+     * The counters, by family and labels.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, LongAdder>> counters = new ConcurrentHashMap<>();
+    /**
+     * The histograms, by family and labels.
+     */
+    private final ConcurrentMap<String, ConcurrentMap<String, Histogram>> histograms = new ConcurrentHashMap<>();
+    /**
+     * The metrics of the strategies, by name.
+     */
+    private final ConcurrentMap<String, StrategyMetrics> strategies = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a counter, creating it on first use.
+     *
+     * @param family the name of the family of the counter.
+     * @param labels the names and values of the labels of the counter, alternated.
+     * @return the counter.
+     * @throws IllegalArgumentException if a label has no value.
+     */
+    public LongAdder counter(String family, String... labels) {
+        return this.counters.computeIfAbsent(family, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels(labels), key -> new LongAdder());
+    }
+
+    /**
+     * Returns a histogram, creating it on first use.
+     *
+     * @param family the name of the family of the histogram.
+     * @param labels the names and values of the labels of the histogram, alternated.
+     * @return the histogram.
+     * @throws IllegalArgumentException if a label has no value.
+     */
+    public Histogram histogram(String family, String... labels) {
+        return this.histograms.computeIfAbsent(family, name -> new ConcurrentHashMap<>())
+                .computeIfAbsent(labels(labels), key -> new Histogram());
+    }
+
+    /**
+     * Returns the metrics of a strategy, creating them on first use.
+     *
+     * @param strategy the name of the strategy.
+     * @return the {@link StrategyMetrics} of the strategy.
+     */
+    public StrategyMetrics strategy(String strategy) {
+        return this.strategies.computeIfAbsent(strategy, name -> new StrategyMetrics(
+                counter(DECISIONS, "strategy", name),
+                counter(CRASHES, "strategy", name),
+                counter(WINS, "strategy", name),
+                histogram(DECISION_LATENCY, "strategy", name)));
+    }
+
+    /**
+     * Formats labels as in the exposition format, e.g. <code>strategy="WeightedRandomStrategy"</code>.
+     */
+    private static String labels(String... labels) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Every label must have a value");
+        }
+        StringBuilder formatted = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                formatted.append(',');
+            }
+            formatted.append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return formatted.toString();
+    }
+
+    /**
+     * Takes a snapshot of every metric, named by family and labels as in the exposition format.
+     *
+     * @return the {@link MetricsSnapshot} of the registry.
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        this.counters.forEach((family, metrics) -> metrics.forEach(
+                (labels, counter) -> counterValues.put(name(family, labels), counter.sum())));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        this.histograms.forEach((family, metrics) -> metrics.forEach(
+                (labels, histogram) -> histogramValues.put(name(family, labels), histogram.snapshot())));
+        return new MetricsSnapshot(counterValues, histogramValues);
+    }
+
+    private static String name(String family, String labels) {
+        return labels.isEmpty() ? family : family + "{" + labels + "}";
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format. Histograms are converted to seconds
+     * and written with the same fixed ladder of buckets, ending right before every power of two nanoseconds
+     * from 2^{@value #MIN_BOUNDARY_EXPONENT} to 2^{@value #MAX_BOUNDARY_EXPONENT}, whatever values they hold,
+     * so that every scrape has the same series.
+     *
+     * @param out where the metrics are written.
+     * @throws IOException if the metrics cannot be written.
+     */
+    public void writeText(Appendable out) throws IOException {
+        for (Map.Entry<String, ConcurrentMap<String, LongAdder>> family : new TreeMap<>(this.counters).entrySet()) {
+            out.append("# TYPE ").append(family.getKey()).append(" counter\n");
+            for (Map.Entry<String, LongAdder> counter : new TreeMap<>(family.getValue()).entrySet()) {
+                out.append(name(family.getKey(), counter.getKey())).append(' ')
+                        .append(Long.toString(counter.getValue().sum())).append('\n');
+            }
+        }
+        for (Map.Entry<String, ConcurrentMap<String, Histogram>> family : new TreeMap<>(this.histograms).entrySet()) {
+            out.append("# TYPE ").append(family.getKey()).append(" histogram\n");
+            for (Map.Entry<String, Histogram> histogram : new TreeMap<>(family.getValue()).entrySet()) {
+                writeHistogram(out, family.getKey(), histogram.getKey(), histogram.getValue().snapshot());
+            }
+        }
+    }
+
+    private static void writeHistogram(Appendable out, String family, String labels, HistogramSnapshot snapshot)
+            throws IOException {
+        long[] counts = snapshot.counts();
+        String separator = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        int bucket = 0;
+        for (int exponent = MIN_BOUNDARY_EXPONENT; exponent <= MAX_BOUNDARY_EXPONENT; exponent++) {
+            // The buckets before the one of 2^exponent hold the values up to 2^exponent - 1
+            for (int end = Histogram.bucketOf(1L << exponent); bucket < end; bucket++) {
+                cumulative += counts[bucket];
+            }
+            out.append(family).append("_bucket{").append(separator).append("le=\"")
+                    .append(Double.toString(((1L << exponent) - 1) / 1e9)).append("\"} ")
+                    .append(Long.toString(cumulative)).append('\n');
+        }
+        for (; bucket < counts.length; bucket++) {
+            cumulative += counts[bucket];
+        }
+        out.append(family).append("_bucket{").append(separator).append("le=\"+Inf\"} ")
+                .append(Long.toString(cumulative)).append('\n');
+        String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+        out.append(family).append("_sum").append(suffix).append(' ')
+                .append(Double.toString(snapshot.sum() / 1e9)).append('\n');
+        out.append(family).append("_count").append(suffix).append(' ')
+                .append(Long.toString(cumulative)).append('\n');
+    }
+}
@@ -0,0 +1,69 @@
+package it.unicam.formula1Game.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the metrics of a {@link MetricsRegistry} in the Prometheus text exposition format
+ * at <code>/metrics</code>, on the loopback interface only.
+ */
+public class MetricsServer implements AutoCloseable {
+    /**
+     * The path the metrics are served at.
+     */
+    public static final String PATH = "/metrics";
+    private final HttpServer server;
+
+    /**
+     * Starts a {@code MetricsServer} on a background thread.
+     *
+     * @param registry the {@link MetricsRegistry} to serve.
+     * @param port     the port to listen to, <code>0</code> for any free port.
+     * @throws IOException if the server cannot be started.
+     */
+    public MetricsServer(MetricsRegistry registry, int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext(PATH, exchange -> serve(exchange, registry));
+        this.server.start();
+    }
+
+    private static void serve(HttpExchange exchange, MetricsRegistry registry) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            StringBuilder text = new StringBuilder();
+            registry.writeText(text);
+            byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Returns the port the server listens to.
+     *
+     * @return the port of the server.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+}
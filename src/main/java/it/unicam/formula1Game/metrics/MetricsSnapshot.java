@@ -0,0 +1,23 @@
+package it.unicam.formula1Game.metrics;
+
+import java.util.Map;
+
+/**
+ * The values of the metrics of a {@link MetricsRegistry} at a point in time, named by family and labels,
+ * e.g. <code>f1_decisions_total{strategy="WeightedRandomStrategy"}</code>.
+ *
+ * @param counters   the values of the counters.
+ * @param histograms the snapshots of the histograms, in nanoseconds.
+ */
+public record MetricsSnapshot(Map<String, Long> counters, Map<String, HistogramSnapshot> histograms) {
+
+    /**
+     * Returns the value of a counter.
+     *
+     * @param name the name of the counter, with its labels.
+     * @return the value of the counter, <code>0</code> if it does not exist.
+     */
+    public long counter(String name) {
+        return this.counters.getOrDefault(name, 0L);
+    }
+}
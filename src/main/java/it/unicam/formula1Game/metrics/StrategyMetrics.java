@@ -0,0 +1,15 @@
+package it.unicam.formula1Game.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The metrics of a {@link it.unicam.formula1Game.strategy.GameStrategy}, shared by every race of a
+ * {@link MetricsRegistry} so that the engine looks them up once per race instead of once per decision.
+ *
+ * @param decisions       the number of moves decided.
+ * @param crashes         the number of players crashed.
+ * @param wins            the number of races won.
+ * @param decisionLatency the time taken by every decision, in nanoseconds.
+ */
+public record StrategyMetrics(LongAdder decisions, LongAdder crashes, LongAdder wins, Histogram decisionLatency) {
+}
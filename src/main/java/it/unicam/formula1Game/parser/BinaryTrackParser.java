@@ -0,0 +1,235 @@
+package it.unicam.formula1Game.parser;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+import it.unicam.formula1Game.validator.ITrackValidator;
+import it.unicam.formula1Game.validator.RaceTrackValidator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code BinaryTrackParser} class implements the {@link ConfigurationFileParser} interface
+ * to load compiled track files, as written by {@link TrackCompiler}.
+ * <p>
+ * A compiled track file starts with a header of {@link #HEADER_SIZE} bytes, holding, in order,
+ * {@link #MAGIC}, {@link #VERSION}, the direction of the race, a reserved byte, the width, the height,
+ * the number of players, the thickness of the sentinel ring and the CRC-32 of the cells, followed by
+ * four reserved bytes. The header is followed by the cells, laid out exactly like the buffer of a {@link TrackGrid}.
+ * All the values are big-endian.
+ * <p>
+ * The file is memory-mapped and its cells are used by the {@link TrackGrid} of the track without being copied,
+ * so loading a track does not depend on parsing any text. The header fields are checked by an {@link ITrackValidator},
+ * like the ones of a JSON track. By default the cells are checked too: their checksum must match, every cell must hold
+ * the code of a {@link CellType} and the track must have start and finish cells. A parser that trusts its files
+ * skips every check of the cells, so it loads a track in a time that does not depend on its size.
+ */
+public class BinaryTrackParser implements ConfigurationFileParser {
+    /**
+     * The first bytes of a compiled track file.
+     */
+    public static final int MAGIC = 0x4631544B;
+    /**
+     * The version of the format.
+     */
+    public static final short VERSION = 1;
+    /**
+     * The size of the header.
+     */
+    public static final int HEADER_SIZE = 32;
+    /**
+     * The code of the clockwise direction.
+     */
+    static final byte CLOCKWISE = 0;
+    /**
+     * The code of the counter-clockwise direction.
+     */
+    static final byte COUNTER_CLOCKWISE = 1;
+    /**
+     * The number of cell types, above the code of every valid cell.
+     */
+    private static final int CELL_TYPES = CellType.values().length;
+    /**
+     * The validator applied to the header fields.
+     */
+    private final ITrackValidator trackValidator;
+    /**
+     * Whether the checksum of the cells is verified.
+     */
+    private final boolean verifyChecksum;
+
+    /**
+     * Constructs a {@code BinaryTrackParser} that verifies the checksum of the cells
+     * and validates the header fields with a {@link RaceTrackValidator}.
+     */
+    public BinaryTrackParser() {
+        this(true);
+    }
+
+    /**
+     * Constructs a {@code BinaryTrackParser} that validates the header fields with a {@link RaceTrackValidator}.
+     *
+     * @param verifyChecksum <code>true</code> to verify the checksum and the contents of the cells,
+     *                       <code>false</code> to trust the file and skip reading the cells while loading.
+     */
+    public BinaryTrackParser(boolean verifyChecksum) {
+        this(new RaceTrackValidator(), verifyChecksum);
+    }
+
+    /**
+     * Constructs a {@code BinaryTrackParser}.
+     *
+     * @param trackValidator the {@link ITrackValidator} applied to the header fields.
+     * @param verifyChecksum <code>true</code> to verify the checksum and the contents of the cells,
+     *                       <code>false</code> to trust the file and skip reading the cells while loading.
+     */
+    public BinaryTrackParser(ITrackValidator trackValidator, boolean verifyChecksum) {
+        this.trackValidator = trackValidator;
+        this.verifyChecksum = verifyChecksum;
+    }
+
+    /**
+     * Loads the given compiled track file to create a {@link RaceTrack} object.
+     *
+     * @param configurationFile the compiled track file to be loaded
+     * @return a {@link RaceTrack} object whose grid is backed by the mapped file
+     * @throws InvalidConfigurationException if the file cannot be read, is not a compiled track file, is corrupted
+     *                                       or describes an invalid track
+     */
+    @Override
+    public RaceTrack parse(File configurationFile) throws InvalidConfigurationException {
+        ByteBuffer file = map(configurationFile);
+        if (file.limit() < HEADER_SIZE || file.getInt(0) != MAGIC) {
+            throw new InvalidConfigurationException("Not a compiled track file");
+        }
+        if (file.getShort(4) != VERSION) {
+            throw new InvalidConfigurationException("Unsupported compiled track version " + file.getShort(4));
+        }
+        String direction = directionName(file.get(6));
+        int width = file.getInt(8);
+        int height = file.getInt(12);
+        int numPlayers = file.getInt(16);
+        if (file.getInt(20) != TrackGrid.PADDING) {
+            throw new InvalidConfigurationException("The track was compiled with a different sentinel ring");
+        }
+        validateHeader(width, height, numPlayers, direction);
+        if (width <= 0 || height <= 0 || file.limit() != HEADER_SIZE + (long) TrackGrid.paddedSize(width, height)) {
+            throw new InvalidConfigurationException("Track dimensions do not match the size of the file");
+        }
+        ByteBuffer cells = file.slice(HEADER_SIZE, file.limit() - HEADER_SIZE);
+        RaceTrack raceTrack = new RaceTrack(width, height, new TrackGrid(width, height, cells), numPlayers, direction);
+        if (this.verifyChecksum) {
+            if ((int) checksum(cells) != file.getInt(24)) {
+                throw new InvalidConfigurationException("The compiled track file is corrupted");
+            }
+            validateCells(cells, width, height);
+            if (raceTrack.getFinishCoordinates().isEmpty()) {
+                throw new InvalidConfigurationException("No finish cells found for this track");
+            }
+            // Throws if the track has no start cells
+            raceTrack.getStartCoordinates();
+        }
+        return raceTrack;
+    }
+
+    /**
+     * Checks the header fields of a compiled track with the {@link ITrackValidator} of the parser.
+     *
+     * @param width      the width of the track
+     * @param height     the height of the track
+     * @param numPlayers the number of players
+     * @param direction  the direction of the race
+     * @throws InvalidConfigurationException if a field is not valid
+     */
+    private void validateHeader(int width, int height, int numPlayers, String direction) throws InvalidConfigurationException {
+        if (!this.trackValidator.validateWidth(width)) {
+            throw new InvalidConfigurationException("Invalid track width: " + width);
+        }
+        if (!this.trackValidator.validateHeight(height)) {
+            throw new InvalidConfigurationException("Invalid track height: " + height);
+        }
+        if (!this.trackValidator.validateNumberOfPlayers(numPlayers)) {
+            throw new InvalidConfigurationException("Invalid number of players: " + numPlayers);
+        }
+        if (!this.trackValidator.validateDirection(direction)) {
+            throw new InvalidConfigurationException("Invalid direction: " + direction);
+        }
+    }
+
+    /**
+     * Checks that every cell of a compiled track holds the code of a {@link CellType}
+     * and that the sentinel ring is made of walls only.
+     *
+     * @param cells  the buffer of the cells
+     * @param width  the width of the track
+     * @param height the height of the track
+     * @throws InvalidConfigurationException if a cell holds an invalid code
+     */
+    private static void validateCells(ByteBuffer cells, int width, int height) throws InvalidConfigurationException {
+        byte wall = (byte) CellType.WALL.ordinal();
+        int index = 0;
+        for (int row = -TrackGrid.PADDING; row < height + TrackGrid.PADDING; row++) {
+            boolean sentinelRow = row < 0 || row >= height;
+            for (int column = -TrackGrid.PADDING; column < width + TrackGrid.PADDING; column++, index++) {
+                byte code = cells.get(index);
+                boolean sentinel = sentinelRow || column < 0 || column >= width;
+                if (sentinel ? code != wall : code < 0 || code >= CELL_TYPES) {
+                    throw new InvalidConfigurationException("The compiled track file contains an invalid cell type "
+                            + code + " at (" + row + ", " + column + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps a file in memory, read only.
+     *
+     * @param configurationFile the file to map
+     * @return the mapped file
+     * @throws InvalidConfigurationException if the file cannot be read
+     */
+    private MappedByteBuffer map(File configurationFile) throws InvalidConfigurationException {
+        try (FileChannel channel = FileChannel.open(configurationFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new InvalidConfigurationException("The compiled track file is too large");
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new InvalidConfigurationException("Error reading the configuration file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the CRC-32 of the cells of a track.
+     *
+     * @param cells the buffer of the cells
+     * @return the checksum
+     */
+    static long checksum(ByteBuffer cells) {
+        CRC32 crc = new CRC32();
+        crc.update(cells.duplicate().clear());
+        return crc.getValue();
+    }
+
+    /**
+     * Converts the code of a direction into its name.
+     *
+     * @param code the code of the direction
+     * @return "cw" or "ccw"
+     * @throws InvalidConfigurationException if the code is not a direction
+     */
+    private static String directionName(byte code) throws InvalidConfigurationException {
+        return switch (code) {
+            case CLOCKWISE -> "cw";
+            case COUNTER_CLOCKWISE -> "ccw";
+            default -> throw new InvalidConfigurationException("Invalid direction code " + code);
+        };
+    }
+}
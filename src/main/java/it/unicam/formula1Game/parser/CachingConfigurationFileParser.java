@@ -0,0 +1,368 @@
+package it.unicam.formula1Game.parser;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code CachingConfigurationFileParser} class implements the {@link ConfigurationFileParser} interface
+ * as a decorator that keeps the tracks parsed by another parser, so that a file is only parsed again when it changes.
+ * <p>
+ * Files are identified either by their path, last modification time and size, which only needs the file's
+ * attributes, or by a hash of their content, which also shares a track between copies of the same file.
+ * The returned tracks are shared by every caller, so their grid is made read-only before being cached.
+ * <p>
+ * The cache is bounded by the estimated memory of its tracks and evicts the least recently used ones first.
+ * Concurrent requests for the same file are coalesced, so that the file is parsed only once.
+ */
+public class CachingConfigurationFileParser implements ConfigurationFileParser {
+    /**
+     * How the files are identified in the cache.
+     */
+    public enum KeyStrategy {
+        /**
+         * Files are identified by their path, last modification time and size.
+         */
+        FILE_ATTRIBUTES,
+        /**
+         * Files are identified by the SHA-256 hash of their content and their size.
+         */
+        CONTENT_HASH
+    }
+
+    /**
+     * The memory limit used when none is given: 64 MiB.
+     */
+    public static final long DEFAULT_MAX_WEIGHT = 64L << 20;
+    /**
+     * The parser that actually reads the files.
+     */
+    private final ConfigurationFileParser parser;
+    /**
+     * How the files are identified in the cache.
+     */
+    private final KeyStrategy keyStrategy;
+    /**
+     * The maximum estimated memory of the cached tracks, in bytes.
+     */
+    private final long maxWeight;
+    /**
+     * The cached tracks, from the least to the most recently used. Guarded by itself.
+     */
+    private final LinkedHashMap<String, CachedTrack> cache = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The loads in progress, by key.
+     */
+    private final Map<String, CompletableFuture<RaceTrack>> loads = new ConcurrentHashMap<>();
+    /**
+     * The estimated memory of the cached tracks. Guarded by <code>cache</code>.
+     */
+    private long weight;
+    /**
+     * The number of requests answered from the cache.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * The number of requests that parsed the file.
+     */
+    private final LongAdder misses = new LongAdder();
+    /**
+     * The number of requests that waited for the load of another thread.
+     */
+    private final LongAdder coalescedLoads = new LongAdder();
+    /**
+     * The number of tracks removed from the cache to stay within its limit.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a {@code CachingConfigurationFileParser} that identifies files by their attributes
+     * and holds up to {@link #DEFAULT_MAX_WEIGHT} bytes of tracks.
+     *
+     * @param parser the {@link ConfigurationFileParser} that reads the files.
+     */
+    public CachingConfigurationFileParser(ConfigurationFileParser parser) {
+        this(parser, KeyStrategy.FILE_ATTRIBUTES, DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Constructs a {@code CachingConfigurationFileParser}.
+     *
+     * @param parser      the {@link ConfigurationFileParser} that reads the files.
+     * @param keyStrategy how the files are identified in the cache.
+     * @param maxWeight   the maximum estimated memory of the cached tracks, in bytes.
+     * @throws IllegalArgumentException if the maximum weight is not positive.
+     */
+    public CachingConfigurationFileParser(ConfigurationFileParser parser, KeyStrategy keyStrategy, long maxWeight) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("The maximum weight of the cache must be positive");
+        }
+        this.parser = parser;
+        this.keyStrategy = keyStrategy;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the track of the given file, parsing the file only if it is not cached.
+     *
+     * @param configurationFile the configuration file to be parsed
+     * @return a shared {@link RaceTrack} object, whose grid cannot be modified
+     * @throws InvalidConfigurationException if the file cannot be read or its configuration is invalid
+     */
+    @Override
+    public RaceTrack parse(File configurationFile) throws InvalidConfigurationException {
+        String key = key(configurationFile.toPath());
+        RaceTrack cached = lookup(key);
+        if (cached != null) {
+            this.hits.increment();
+            return cached;
+        }
+        CompletableFuture<RaceTrack> load = new CompletableFuture<>();
+        CompletableFuture<RaceTrack> running = this.loads.putIfAbsent(key, load);
+        if (running != null) {
+            this.coalescedLoads.increment();
+            return await(running);
+        }
+        this.misses.increment();
+        try {
+            // Another load of the same file may have ended after the lookup
+            RaceTrack raceTrack = lookup(key);
+            if (raceTrack == null) {
+                raceTrack = freeze(this.parser.parse(configurationFile));
+                store(key, raceTrack);
+            }
+            load.complete(raceTrack);
+            return raceTrack;
+        } catch (InvalidConfigurationException | RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loads.remove(key, load);
+        }
+    }
+
+    /**
+     * Waits for the load of another thread, failing like that load if it failed.
+     *
+     * @param load the load of the other thread.
+     * @return the loaded {@link RaceTrack}.
+     * @throws InvalidConfigurationException if the other load failed because the file is not valid.
+     */
+    private static RaceTrack await(CompletableFuture<RaceTrack> load) throws InvalidConfigurationException {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof InvalidConfigurationException) {
+                throw new InvalidConfigurationException(cause.getMessage());
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the key of a file.
+     *
+     * @param file the path of the file.
+     * @return the key.
+     * @throws InvalidConfigurationException if the file cannot be read.
+     */
+    private String key(Path file) throws InvalidConfigurationException {
+        try {
+            if (this.keyStrategy == KeyStrategy.FILE_ATTRIBUTES) {
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                return file.toAbsolutePath().normalize() + "|" + attributes.lastModifiedTime().toMillis() + "|" + attributes.size();
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream input = new DigestInputStream(Files.newInputStream(file), digest)) {
+                size = input.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest()) + "|" + size;
+        } catch (IOException e) {
+            throw new InvalidConfigurationException("Error reading the configuration file: " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns a cached track, marking it as the most recently used.
+     *
+     * @param key the key of the file.
+     * @return the cached {@link RaceTrack}, <code>null</code> if the file is not cached.
+     */
+    private RaceTrack lookup(String key) {
+        synchronized (this.cache) {
+            CachedTrack cached = this.cache.get(key);
+            return cached == null ? null : cached.raceTrack();
+        }
+    }
+
+    /**
+     * Caches a track, evicting the least recently used tracks until the cache is within its limit.
+     * Tracks heavier than the limit are not cached.
+     *
+     * @param key       the key of the file.
+     * @param raceTrack the track of the file.
+     */
+    private void store(String key, RaceTrack raceTrack) {
+        long trackWeight = weigh(raceTrack);
+        if (trackWeight > this.maxWeight) {
+            return;
+        }
+        synchronized (this.cache) {
+            CachedTrack previous = this.cache.put(key, new CachedTrack(raceTrack, trackWeight));
+            this.weight += trackWeight - (previous == null ? 0 : previous.weight());
+            Iterator<CachedTrack> eldest = this.cache.values().iterator();
+            while (this.weight > this.maxWeight) {
+                this.weight -= eldest.next().weight();
+                eldest.remove();
+                this.evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of a track whose grid is a read-only view of the original one, so that the track
+     * can be shared safely. Tracks whose grid is already read-only are returned as they are.
+     *
+     * @param raceTrack the track.
+     * @return a {@link RaceTrack} whose grid cannot be modified.
+     * @throws InvalidConfigurationException if the copy of the track is not valid.
+     */
+    private static RaceTrack freeze(RaceTrack raceTrack) throws InvalidConfigurationException {
+        TrackGrid grid = raceTrack.getTrackGrid();
+        if (grid.isReadOnly()) {
+            return raceTrack;
+        }
+        return new RaceTrack(raceTrack.getWidth(), raceTrack.getHeight(),
+                new TrackGrid(grid.getWidth(), grid.getHeight(), grid.getCells()),
+                raceTrack.getNumberOfPlayers(), raceTrack.getDirection());
+    }
+
+    /**
+     * Estimates the memory used by a track once its lazily computed fields have been built:
+     * one byte per cell for the grid, three ints per cell for the distance fields,
+     * and a reference and a {@link it.unicam.formula1Game.cell.Coordinate} per cell for the canonical coordinates.
+     *
+     * @param raceTrack the track.
+     * @return the estimated memory, in bytes.
+     */
+    static long weigh(RaceTrack raceTrack) {
+        long padded = TrackGrid.paddedSize(raceTrack.getWidth(), raceTrack.getHeight());
+        long cells = (long) raceTrack.getWidth() * raceTrack.getHeight();
+        return padded * (1 + 3 * Integer.BYTES) + cells * (8 + 24);
+    }
+
+    /**
+     * Returns the number of requests answered from the cache.
+     *
+     * @return the number of hits.
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Returns the number of requests that parsed the file, because it was not cached.
+     *
+     * @return the number of misses.
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the number of requests that waited for the load of another thread instead of parsing the file.
+     *
+     * @return the number of coalesced loads.
+     */
+    public long getCoalescedLoads() {
+        return this.coalescedLoads.sum();
+    }
+
+    /**
+     * Returns the number of tracks removed from the cache to keep it within its memory limit.
+     * Tracks removed by {@link #invalidateAll()} are not counted.
+     *
+     * @return the number of evictions.
+     */
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * Returns the fraction of requests answered without parsing the file.
+     *
+     * @return the hit rate, <code>0</code> if no request has been made.
+     */
+    public double getHitRate() {
+        long served = this.hits.sum() + this.coalescedLoads.sum();
+        long requests = served + this.misses.sum();
+        return requests == 0 ? 0 : (double) served / requests;
+    }
+
+    /**
+     * Returns the estimated memory of the cached tracks.
+     *
+     * @return the weight of the cache, in bytes.
+     */
+    public long getWeight() {
+        synchronized (this.cache) {
+            return this.weight;
+        }
+    }
+
+    /**
+     * Returns the number of cached tracks.
+     *
+     * @return the size of the cache.
+     */
+    public int size() {
+        synchronized (this.cache) {
+            return this.cache.size();
+        }
+    }
+
+    /**
+     * Removes every cached track.
+     */
+    public void invalidateAll() {
+        synchronized (this.cache) {
+            this.cache.clear();
+            this.weight = 0;
+        }
+    }
+
+    /**
+     * A cached track and its estimated memory.
+     */
+    private record CachedTrack(RaceTrack raceTrack, long weight) {
+    }
+}
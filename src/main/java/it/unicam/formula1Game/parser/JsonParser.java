@@ -2,11 +2,10 @@ package it.unicam.formula1Game.parser;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import it.unicam.formula1Game.cell.Cell;
 import it.unicam.formula1Game.cell.CellType;
-import it.unicam.formula1Game.cell.Coordinate;
 import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
 import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
 
 import java.io.File;
 import java.io.IOException;
@@ -16,6 +15,11 @@ import java.io.IOException;
  * to provide functionality for parsing JSON configuration files and creating {@link RaceTrack} objects.
  */
 public class JsonParser implements ConfigurationFileParser {
+    /**
+     * The mapper reading the JSON files, shared by every instance since it is thread safe once configured.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
     /**
      * Parses the given JSON configuration file to create a {@link RaceTrack} object.
      *
@@ -32,7 +36,7 @@ public class JsonParser implements ConfigurationFileParser {
         int numPlayers = jsonNode.get("numPlayers").asInt();
         String direction = jsonNode.get("direction").asText();
         // Parse the track grid
-        Cell[][] grid = parseGrid(jsonNode, width, height);
+        TrackGrid grid = parseGrid(jsonNode, width, height);
         return new RaceTrack(width, height, grid, numPlayers, direction);
     }
 
@@ -44,25 +48,24 @@ public class JsonParser implements ConfigurationFileParser {
      * @throws InvalidConfigurationException if there was an error reading the file
      */
     private JsonNode readJson(File configurationFile) throws InvalidConfigurationException {
-        ObjectMapper mapper = new ObjectMapper();
         try {
             // Parse the JSON file into a tree structure
-            return mapper.readTree(configurationFile);
+            return MAPPER.readTree(configurationFile);
         } catch (IOException e) {
             throw new InvalidConfigurationException("Error reading the configuration file: " + e.getMessage());
         }
     }
 
     /**
-     * Parses the track grid from the JSON object and converts it into a 2D array of {@link Cell}.
+     * Parses the track grid from the JSON object and converts it into a compact {@link TrackGrid}.
      *
      * @param jsonNode the root JSON node containing the configuration
      * @param width    the width of the track
      * @param height   the height of the track
-     * @return a 2D array of {@link Cell} representing the parsed track grid
+     * @return a {@link TrackGrid} representing the parsed track grid
      * @throws InvalidConfigurationException if the grid is missing, improperly formatted, or contains invalid characters
      */
-    private Cell[][] parseGrid(JsonNode jsonNode, int width, int height) throws InvalidConfigurationException {
+    private TrackGrid parseGrid(JsonNode jsonNode, int width, int height) throws InvalidConfigurationException {
         // Get the track array from the JSON
         JsonNode trackArray = jsonNode.get("track");
         if (trackArray == null || !trackArray.isArray()) {
@@ -77,16 +80,19 @@ public class JsonParser implements ConfigurationFileParser {
     }
 
     /**
-     * Creates the grid of {@link Cell} objects based on the track array.
+     * Creates the compact grid of cell types based on the track array.
      *
      * @param trackArray the track array node
      * @param width      the width of the track
      * @param height     the height of the track
-     * @return a 2D array of {@link Cell} objects
+     * @return a {@link TrackGrid} holding the cell types
      * @throws InvalidConfigurationException if invalid characters are encountered
      */
-    private Cell[][] createGrid(JsonNode trackArray, int width, int height) throws InvalidConfigurationException {
-        Cell[][] grid = new Cell[height][width];
+    private TrackGrid createGrid(JsonNode trackArray, int width, int height) throws InvalidConfigurationException {
+        if (width <= 0 || height <= 0) {
+            throw new InvalidConfigurationException("Track dimensions must be positive");
+        }
+        TrackGrid grid = new TrackGrid(width, height);
 
         for (int i = 0; i < height; i++) {
             String row = trackArray.get(i).asText();
@@ -95,26 +101,27 @@ public class JsonParser implements ConfigurationFileParser {
             }
             for (int j = 0; j < width; j++) {
                 char cellChar = row.charAt(j);
-                grid[i][j] = createCell(cellChar, i, j);
+                grid.setCellType(i, j, parseCellType(cellChar, i, j));
             }
         }
         return grid;
     }
 
     /**
-     * Creates a {@link Cell} object based on the given character.
+     * Converts the given character into the {@link CellType} it represents.
      *
      * @param cellChar the character representing the cell
      * @param row      the row index of the cell
      * @param column   the column index of the cell
-     * @return a {@link Cell} object
+     * @return the {@link CellType} of the cell
+     * @throws InvalidConfigurationException if the character does not represent any cell type
      */
-    private Cell createCell(char cellChar, int row, int column) throws InvalidConfigurationException {
-        CellType cellType = CellType.fromChar(cellChar);
-        if (cellType == null) {
+    private CellType parseCellType(char cellChar, int row, int column) throws InvalidConfigurationException {
+        try {
+            return CellType.fromChar(cellChar);
+        } catch (IllegalArgumentException e) {
             throw new InvalidConfigurationException("Invalid cell character '" + cellChar + "' at (" + row + ", " + column + ")");
         }
-        return new Cell(cellType, new Coordinate(row, column));
     }
 
 
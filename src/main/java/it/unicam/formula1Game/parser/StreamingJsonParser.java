@@ -0,0 +1,229 @@
+package it.unicam.formula1Game.parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+import it.unicam.formula1Game.validator.ITrackValidator;
+import it.unicam.formula1Game.validator.RaceTrackValidator;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code StreamingJsonParser} class implements the {@link ConfigurationFileParser} interface
+ * to parse the same JSON configuration files as {@link JsonParser}, reading them as a stream of tokens.
+ * <p>
+ * No tree of the document is built: the rows of the track are written straight into a {@link TrackGrid}
+ * as they are read. The header fields are checked by an {@link ITrackValidator} as soon as they are read,
+ * and reading stops at the first invalid field or row, so an invalid file is rejected without being read in full.
+ * If the track comes before the dimensions in the file, its rows are kept until the dimensions are read.
+ */
+public class StreamingJsonParser implements ConfigurationFileParser {
+    /**
+     * The factory of the token parsers, shared by every instance since it is thread safe.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    /**
+     * The validator applied to the header fields.
+     */
+    private final ITrackValidator trackValidator;
+
+    /**
+     * Constructs a {@code StreamingJsonParser} that validates the header fields with a {@link RaceTrackValidator}.
+     */
+    public StreamingJsonParser() {
+        this(new RaceTrackValidator());
+    }
+
+    /**
+     * Constructs a {@code StreamingJsonParser}.
+     *
+     * @param trackValidator the {@link ITrackValidator} applied to the header fields.
+     */
+    public StreamingJsonParser(ITrackValidator trackValidator) {
+        this.trackValidator = trackValidator;
+    }
+
+    /**
+     * Parses the given JSON configuration file to create a {@link RaceTrack} object.
+     *
+     * @param configurationFile the JSON configuration file to be parsed
+     * @return a {@link RaceTrack} object representing the parsed configuration
+     * @throws InvalidConfigurationException if the configuration file cannot be read, is not valid JSON,
+     *                                       or contains an invalid field or row
+     */
+    @Override
+    public RaceTrack parse(File configurationFile) throws InvalidConfigurationException {
+        try (com.fasterxml.jackson.core.JsonParser parser = JSON_FACTORY.createParser(configurationFile)) {
+            return new TrackReader(parser).read();
+        } catch (IOException e) {
+            throw new InvalidConfigurationException("Error reading the configuration file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * The state of the parsing of a single file.
+     */
+    private class TrackReader {
+        private final com.fasterxml.jackson.core.JsonParser parser;
+        private int width = -1;
+        private int height = -1;
+        private int numPlayers = -1;
+        private String direction;
+        /**
+         * The grid of the track, <code>null</code> until the dimensions and the track have been read.
+         */
+        private TrackGrid grid;
+        /**
+         * The rows read before the dimensions, <code>null</code> if the dimensions came first.
+         */
+        private List<String> pendingRows;
+
+        TrackReader(com.fasterxml.jackson.core.JsonParser parser) {
+            this.parser = parser;
+        }
+
+        /**
+         * Reads the whole configuration.
+         *
+         * @return the {@link RaceTrack} read.
+         * @throws InvalidConfigurationException if the configuration is invalid.
+         * @throws IOException                   if the file cannot be read or is not valid JSON.
+         */
+        RaceTrack read() throws InvalidConfigurationException, IOException {
+            if (this.parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidConfigurationException("The configuration must be a JSON object");
+            }
+            while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = this.parser.currentName();
+                JsonToken value = this.parser.nextToken();
+                switch (field) {
+                    case "width" -> this.width = readDimension(value, "width");
+                    case "height" -> this.height = readDimension(value, "height");
+                    case "numPlayers" -> readNumberOfPlayers(value);
+                    case "direction" -> readDirection(value);
+                    case "track" -> readTrack(value);
+                    default -> this.parser.skipChildren();
+                }
+            }
+            if (this.width < 0 || this.height < 0 || this.numPlayers < 0 || this.direction == null) {
+                throw new InvalidConfigurationException("The configuration is missing some track properties");
+            }
+            if (this.pendingRows != null) {
+                createGrid();
+                for (int row = 0; row < this.pendingRows.size(); row++) {
+                    String text = this.pendingRows.get(row);
+                    parseRow(text.toCharArray(), 0, text.length(), row);
+                }
+            }
+            if (this.grid == null) {
+                throw new InvalidConfigurationException("Track layout is missing or not properly formatted.");
+            }
+            return new RaceTrack(this.width, this.height, this.grid, this.numPlayers, this.direction);
+        }
+
+        private int readDimension(JsonToken value, String name) throws InvalidConfigurationException, IOException {
+            if (value != JsonToken.VALUE_NUMBER_INT) {
+                throw new InvalidConfigurationException("Track " + name + " must be an integer");
+            }
+            int dimension = this.parser.getIntValue();
+            boolean valid = name.equals("width")
+                    ? trackValidator.validateWidth(dimension)
+                    : trackValidator.validateHeight(dimension);
+            if (!valid) {
+                throw new InvalidConfigurationException("Invalid track " + name + ": " + dimension);
+            }
+            return dimension;
+        }
+
+        private void readNumberOfPlayers(JsonToken value) throws InvalidConfigurationException, IOException {
+            if (value != JsonToken.VALUE_NUMBER_INT) {
+                throw new InvalidConfigurationException("Number of players must be an integer");
+            }
+            this.numPlayers = this.parser.getIntValue();
+            if (!trackValidator.validateNumberOfPlayers(this.numPlayers)) {
+                throw new InvalidConfigurationException("Invalid number of players: " + this.numPlayers);
+            }
+        }
+
+        private void readDirection(JsonToken value) throws InvalidConfigurationException, IOException {
+            if (value != JsonToken.VALUE_STRING) {
+                throw new InvalidConfigurationException("Track direction must be a string");
+            }
+            this.direction = this.parser.getText();
+            if (!trackValidator.validateDirection(this.direction)) {
+                throw new InvalidConfigurationException("Invalid track direction: " + this.direction);
+            }
+        }
+
+        /**
+         * Reads the rows of the track, straight into the grid if the dimensions are already known.
+         */
+        private void readTrack(JsonToken value) throws InvalidConfigurationException, IOException {
+            if (value != JsonToken.START_ARRAY || this.grid != null || this.pendingRows != null) {
+                throw new InvalidConfigurationException("Track layout is missing or not properly formatted.");
+            }
+            boolean dimensionsKnown = this.width >= 0 && this.height >= 0;
+            if (dimensionsKnown) {
+                createGrid();
+            } else {
+                this.pendingRows = new ArrayList<>();
+            }
+            int row = 0;
+            for (JsonToken token = this.parser.nextToken(); token != JsonToken.END_ARRAY; token = this.parser.nextToken()) {
+                if (token != JsonToken.VALUE_STRING) {
+                    throw new InvalidConfigurationException("Track row " + row + " must be a string");
+                }
+                if (dimensionsKnown) {
+                    if (row >= this.height) {
+                        throw new InvalidConfigurationException("Track height does not match the specified height.");
+                    }
+                    parseRow(this.parser.getTextCharacters(), this.parser.getTextOffset(), this.parser.getTextLength(), row);
+                } else {
+                    this.pendingRows.add(this.parser.getText());
+                }
+                row++;
+            }
+            if (dimensionsKnown && row != this.height) {
+                throw new InvalidConfigurationException("Track height does not match the specified height.");
+            }
+        }
+
+        private void createGrid() throws InvalidConfigurationException {
+            if (this.pendingRows != null && this.pendingRows.size() != this.height) {
+                throw new InvalidConfigurationException("Track height does not match the specified height.");
+            }
+            this.grid = new TrackGrid(this.width, this.height);
+        }
+
+        /**
+         * Writes a row of the track into the grid.
+         *
+         * @param characters the buffer holding the row.
+         * @param offset     the index of the first character of the row in the buffer.
+         * @param length     the length of the row.
+         * @param row        the index of the row.
+         * @throws InvalidConfigurationException if the row has the wrong length or contains an invalid character.
+         */
+        private void parseRow(char[] characters, int offset, int length, int row) throws InvalidConfigurationException {
+            if (length != this.width) {
+                throw new InvalidConfigurationException("Track width does not match the specified width");
+            }
+            for (int column = 0; column < length; column++) {
+                char cellChar = characters[offset + column];
+                CellType cellType;
+                try {
+                    cellType = CellType.fromChar(cellChar);
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidConfigurationException("Invalid cell character '" + cellChar + "' at (" + row + ", " + column + ")");
+                }
+                this.grid.setCellType(row, column, cellType);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package it.unicam.formula1Game.parser;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Compiles tracks into the binary format loaded by {@link BinaryTrackParser}.
+ * It can be run from the command line to convert a JSON configuration file into a compiled track file.
+ */
+public class TrackCompiler {
+    /**
+     * The extension of compiled track files.
+     */
+    public static final String EXTENSION = ".f1t";
+
+    /**
+     * Writes a track to a compiled track file, replacing the file if it exists.
+     *
+     * @param raceTrack the {@link RaceTrack} to compile.
+     * @param output    the path of the compiled track file.
+     * @throws InvalidConfigurationException if the direction of the track is neither "cw" nor "ccw".
+     * @throws IOException                   if the file cannot be written.
+     */
+    public static void compile(RaceTrack raceTrack, Path output) throws InvalidConfigurationException, IOException {
+        ByteBuffer cells = raceTrack.getTrackGrid().getCells().clear();
+        ByteBuffer header = ByteBuffer.allocate(BinaryTrackParser.HEADER_SIZE)
+                .putInt(BinaryTrackParser.MAGIC)
+                .putShort(BinaryTrackParser.VERSION)
+                .put(directionCode(raceTrack.getDirection()))
+                .put((byte) 0)
+                .putInt(raceTrack.getWidth())
+                .putInt(raceTrack.getHeight())
+                .putInt(raceTrack.getNumberOfPlayers())
+                .putInt(TrackGrid.PADDING)
+                .putInt((int) BinaryTrackParser.checksum(cells))
+                .putInt(0)
+                .flip();
+        try (FileChannel channel = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (cells.hasRemaining()) {
+                channel.write(cells);
+            }
+        }
+    }
+
+    /**
+     * Converts the name of a direction into its code.
+     *
+     * @param direction the name of the direction.
+     * @return the code of the direction.
+     * @throws InvalidConfigurationException if the direction is neither "cw" nor "ccw".
+     */
+    private static byte directionCode(String direction) throws InvalidConfigurationException {
+        return switch (direction) {
+            case "cw" -> BinaryTrackParser.CLOCKWISE;
+            case "ccw" -> BinaryTrackParser.COUNTER_CLOCKWISE;
+            default -> throw new InvalidConfigurationException("Invalid direction " + direction);
+        };
+    }
+
+    /**
+     * Converts a JSON configuration file into a compiled track file.
+     *
+     * @param args the JSON configuration file and, optionally, the compiled track file;
+     *             by default the compiled file is written next to the JSON file, with the {@value #EXTENSION} extension.
+     */
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.out.println("Usage: TrackCompiler <track.json> [track" + EXTENSION + "]");
+            return;
+        }
+        File input = new File(args[0]);
+        Path output = args.length == 2
+                ? Path.of(args[1])
+                : Path.of(args[0].replaceFirst("\\.json$", "") + EXTENSION);
+        try {
+            compile(new JsonParser().parse(input), output);
+            System.out.println("Compiled " + input + " into " + output);
+        } catch (InvalidConfigurationException e) {
+            System.out.println("Invalid configuration: " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Error writing the compiled track: " + e.getMessage());
+        }
+    }
+}
@@ -7,32 +7,17 @@ import it.unicam.formula1Game.strategy.GameStrategy;
  * Represents a CPU-controlled player in a Formula 1 game.
  * A {@code CpuPlayer} has a unique identifier, a position on the track, and a specific strategy it follows during the game.
  * The class handles the player's movement, strategy application, and crash state.
+ * The player's state is stored in a slot of a {@link PlayerStateTable}, of which this class is a lightweight view.
  */
 public class CpuPlayer implements Player {
     /**
-     * Unique number that identifies the player during a game.
+     * The table that stores the player's state.
      */
-    private final int id;
+    private final PlayerStateTable states;
     /**
-     * The player's position on the track.
+     * The player's slot in the <code>states</code> table.
      */
-    private Coordinate position;
-    /**
-     * Indicates whether the player has crashed.
-     */
-    private boolean hasCrashed;
-    /**
-     * The player's last move as a coordinate difference.
-     */
-    private final Coordinate lastMove;
-    /**
-     * The player's current velocity, calculated based on the last move.
-     */
-    private double velocity;
-    /**
-     * The strategy that the player follows during the game.
-     */
-    private GameStrategy strategy;
+    private final int slot;
 
     /**
      * Constructs a new {@code CpuPlayer} with a specified ID and initial position.
@@ -42,28 +27,30 @@ public class CpuPlayer implements Player {
      * @param position the initial position of the player on the track.
      */
     public CpuPlayer(int id, Coordinate position) {
-        this.id = id;
-        this.position = position;
-        this.hasCrashed = false;
-        this.lastMove = new Coordinate(0, 0);
-        this.velocity = 0.0;
+        this.states = new PlayerStateTable(1);
+        this.slot = this.states.add(id, position.getRow(), position.getColumn());
+    }
+
+    /**
+     * Constructs a {@code CpuPlayer} as a view over a slot of an existing {@link PlayerStateTable}.
+     *
+     * @param states the table that stores the player's state.
+     * @param slot   the player's slot in the table.
+     */
+    public CpuPlayer(PlayerStateTable states, int slot) {
+        this.states = states;
+        this.slot = slot;
     }
 
     /**
      * Moves the player by updating its position and last move.
-     * Also recalculates the player's velocity based on the movement.
+     * The player's velocity follows from the new last move.
      *
      * @param move the target position for the player's move.
      */
     @Override
     public void makeMove(Coordinate move) {
-        // Update last move
-        this.lastMove.setRow(move.getRow() - position.getRow());
-        this.lastMove.setColumn(move.getColumn() - position.getColumn());
-        // Update position
-        this.setPosition(move);
-        // Update velocity
-        this.calculateVelocity();
+        this.states.move(this.slot, move.getRow(), move.getColumn());
     }
 
     /**
@@ -74,8 +61,8 @@ public class CpuPlayer implements Player {
      */
     @Override
     public Coordinate calculatePrincipalPoint() {
-        return new Coordinate(this.position.getRow() + this.lastMove.getRow(),
-                this.position.getColumn() + this.lastMove.getColumn());
+        return this.states.coordinateAt(this.states.getRow(this.slot) + this.states.getRowShift(this.slot),
+                this.states.getColumn(this.slot) + this.states.getColumnShift(this.slot));
     }
 
     /**
@@ -85,7 +72,7 @@ public class CpuPlayer implements Player {
      */
     @Override
     public boolean hasCrashed() {
-        return hasCrashed;
+        return this.states.hasCrashed(this.slot);
     }
 
     /**
@@ -94,7 +81,7 @@ public class CpuPlayer implements Player {
      * @param hasCrashed {@code true} if the player has crashed, {@code false} otherwise.
      */
     public void setHasCrashed(boolean hasCrashed) {
-        this.hasCrashed = hasCrashed;
+        this.states.setCrashed(this.slot, hasCrashed);
     }
 
     /**
@@ -104,7 +91,7 @@ public class CpuPlayer implements Player {
      */
     @Override
     public Coordinate getPosition() {
-        return this.position;
+        return this.states.coordinateAt(this.states.getRow(this.slot), this.states.getColumn(this.slot));
     }
 
     /**
@@ -114,7 +101,7 @@ public class CpuPlayer implements Player {
      */
     @Override
     public int getId() {
-        return this.id;
+        return this.states.getId(this.slot);
     }
 
     /**
@@ -123,15 +110,7 @@ public class CpuPlayer implements Player {
      * @param position a {@link Coordinate} representing the new position.
      */
     public void setPosition(Coordinate position) {
-        this.position = position;
-    }
-
-    /**
-     * Calculates and updates the player's velocity based on the last move.
-     * Velocity is computed as the Euclidean distance of the last move.
-     */
-    private void calculateVelocity() {
-        this.velocity = Math.sqrt(Math.pow(this.lastMove.getRow(), 2) + Math.pow(this.lastMove.getColumn(), 2));
+        this.states.setPosition(this.slot, position.getRow(), position.getColumn());
     }
 
     /**
@@ -140,7 +119,7 @@ public class CpuPlayer implements Player {
      * @param strategy the {@link GameStrategy} to be applied by the player.
      */
     public void setStrategy(GameStrategy strategy) {
-        this.strategy = strategy;
+        this.states.setStrategy(this.slot, strategy);
     }
 
     /**
@@ -149,7 +128,7 @@ public class CpuPlayer implements Player {
      * @return the {@link GameStrategy} currently assigned to the player.
      */
     public GameStrategy getStrategy() {
-        return strategy;
+        return this.states.getStrategy(this.slot);
     }
 
     /**
@@ -158,15 +137,57 @@ public class CpuPlayer implements Player {
      */
 
     public void applyStrategy() {
-        this.strategy.applyStrategy(this);
+        getStrategy().applyStrategy(this);
+    }
+
+    /**
+     * Returns the player's progress along the plan of its strategy.
+     * Strategies keep their per-player state here, so that a single strategy instance can be shared by many players.
+     *
+     * @return the progress, <code>0</code> at the start of the race.
+     */
+    public int getStrategyProgress() {
+        return this.states.getStrategyProgress(this.slot);
+    }
+
+    /**
+     * Sets the player's progress along the plan of its strategy.
+     *
+     * @param progress the new progress.
+     */
+    public void setStrategyProgress(int progress) {
+        this.states.setStrategyProgress(this.slot, progress);
     }
 
+    /**
+     * Returns the player's last move as a coordinate difference.
+     *
+     * @return a {@link Coordinate} object representing the last move.
+     */
+    @Override
     public Coordinate getLastMove() {
-        return lastMove;
+        return new Coordinate(this.states.getRowShift(this.slot), this.states.getColumnShift(this.slot));
+    }
+
+    /**
+     * Returns the name of the player's game strategy.
+     *
+     * @return the <code>toString</code> representation of the {@link GameStrategy} assigned to the player.
+     */
+    @Override
+    public String getStrategyName() {
+        return String.valueOf(getStrategy());
     }
 
+    /**
+     * Returns the player's current velocity, computed as the Euclidean length of the last move.
+     *
+     * @return the player's velocity.
+     */
     public double getVelocity() {
-        return velocity;
+        int rowShift = this.states.getRowShift(this.slot);
+        int columnShift = this.states.getColumnShift(this.slot);
+        return Math.sqrt(rowShift * rowShift + columnShift * columnShift);
     }
 
     /**
@@ -177,10 +198,7 @@ public class CpuPlayer implements Player {
      */
     @Override
     public String toString() {
-        return "CpuPlayer n.: " + id +
-                "\n at position: " + position +
-                "\n with velocity: " + velocity +
-                "\n using strategy: " + strategy;
+        return describe();
     }
 
 }
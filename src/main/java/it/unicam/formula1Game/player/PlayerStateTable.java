@@ -0,0 +1,238 @@
+package it.unicam.formula1Game.player;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.cell.CoordinateTable;
+import it.unicam.formula1Game.strategy.GameStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the state of a group of players in parallel primitive arrays, one slot per player.
+ * <p>
+ * Positions, last moves, strategy progress and crash flags of all the players of a race are kept next to each other,
+ * so that a round can be played without chasing a chain of objects for every player.
+ * Strategies are stored once in a palette and every player only keeps the index of its own strategy.
+ * {@link CpuPlayer} objects are lightweight views over a single slot of the table.
+ */
+public class PlayerStateTable {
+    /**
+     * The players' unique identifiers.
+     */
+    private final int[] ids;
+    /**
+     * The rows of the players' positions.
+     */
+    private final int[] rows;
+    /**
+     * The columns of the players' positions.
+     */
+    private final int[] columns;
+    /**
+     * The row components of the players' last moves.
+     */
+    private final int[] rowShifts;
+    /**
+     * The column components of the players' last moves.
+     */
+    private final int[] columnShifts;
+    /**
+     * The indexes of the players' strategies in the <code>strategies</code> palette, <code>-1</code> if none.
+     */
+    private final int[] strategyIndexes;
+    /**
+     * The progress of each player along its strategy's plan, e.g. the index of the next landing region to reach.
+     */
+    private final int[] strategyProgress;
+    /**
+     * Indicates whether each player has crashed.
+     */
+    private final boolean[] crashed;
+    /**
+     * The palette of the strategies used by the players.
+     */
+    private final List<GameStrategy> strategies = new ArrayList<>();
+    /**
+     * The canonical coordinates of the track where the players race, <code>null</code> if not known.
+     */
+    private final CoordinateTable coordinates;
+    /**
+     * The number of slots in use.
+     */
+    private int size;
+
+    /**
+     * Constructs an empty {@code PlayerStateTable}.
+     *
+     * @param capacity the maximum number of players stored in the table.
+     */
+    public PlayerStateTable(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * Constructs an empty {@code PlayerStateTable} whose positions are returned as canonical coordinates.
+     *
+     * @param capacity    the maximum number of players stored in the table.
+     * @param coordinates the {@link CoordinateTable} of the track where the players race.
+     */
+    public PlayerStateTable(int capacity, CoordinateTable coordinates) {
+        this.coordinates = coordinates;
+        this.ids = new int[capacity];
+        this.rows = new int[capacity];
+        this.columns = new int[capacity];
+        this.rowShifts = new int[capacity];
+        this.columnShifts = new int[capacity];
+        this.strategyIndexes = new int[capacity];
+        this.strategyProgress = new int[capacity];
+        this.crashed = new boolean[capacity];
+    }
+
+    /**
+     * Adds a new player that has not crashed, has no previous moves and no strategy.
+     *
+     * @param id     the unique identifier of the player.
+     * @param row    the row of the player's initial position.
+     * @param column the column of the player's initial position.
+     * @return the slot assigned to the player.
+     * @throws IllegalStateException if the table is full.
+     */
+    public int add(int id, int row, int column) {
+        if (this.size == this.ids.length) {
+            throw new IllegalStateException("Player state table is full");
+        }
+        int slot = this.size++;
+        this.ids[slot] = id;
+        this.rows[slot] = row;
+        this.columns[slot] = column;
+        this.strategyIndexes[slot] = -1;
+        this.strategyProgress[slot] = 0;
+        return slot;
+    }
+
+    /**
+     * Moves a player to the given position, updating its last move.
+     *
+     * @param slot   the player's slot.
+     * @param row    the row of the new position.
+     * @param column the column of the new position.
+     */
+    public void move(int slot, int row, int column) {
+        this.rowShifts[slot] = row - this.rows[slot];
+        this.columnShifts[slot] = column - this.columns[slot];
+        this.rows[slot] = row;
+        this.columns[slot] = column;
+    }
+
+    /**
+     * Places a player at the given position without changing its last move.
+     *
+     * @param slot   the player's slot.
+     * @param row    the row of the new position.
+     * @param column the column of the new position.
+     */
+    public void setPosition(int slot, int row, int column) {
+        this.rows[slot] = row;
+        this.columns[slot] = column;
+    }
+
+    /**
+     * Checks whether every player in the table has crashed.
+     *
+     * @return <code>true</code> if all the players have crashed, <code>false</code> otherwise.
+     */
+    public boolean allCrashed() {
+        for (int slot = 0; slot < this.size; slot++) {
+            if (!this.crashed[slot]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Assigns a strategy to a player, adding it to the palette if needed.
+     *
+     * @param slot     the player's slot.
+     * @param strategy the {@link GameStrategy} to assign.
+     */
+    public void setStrategy(int slot, GameStrategy strategy) {
+        int index = -1;
+        for (int i = 0; i < this.strategies.size() && index < 0; i++) {
+            if (this.strategies.get(i) == strategy) {
+                index = i;
+            }
+        }
+        if (index < 0) {
+            index = this.strategies.size();
+            this.strategies.add(strategy);
+        }
+        this.strategyIndexes[slot] = index;
+    }
+
+    /**
+     * Returns the strategy assigned to a player.
+     *
+     * @param slot the player's slot.
+     * @return the player's {@link GameStrategy}, <code>null</code> if none has been assigned.
+     */
+    public GameStrategy getStrategy(int slot) {
+        int index = this.strategyIndexes[slot];
+        return index < 0 ? null : this.strategies.get(index);
+    }
+
+    /**
+     * Returns the {@link Coordinate} of the given cell, interned if the track's coordinates are known.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the {@link Coordinate} of the cell.
+     */
+    public Coordinate coordinateAt(int row, int column) {
+        return this.coordinates == null ? new Coordinate(row, column) : this.coordinates.get(row, column);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getId(int slot) {
+        return this.ids[slot];
+    }
+
+    public int getRow(int slot) {
+        return this.rows[slot];
+    }
+
+    public int getColumn(int slot) {
+        return this.columns[slot];
+    }
+
+    public int getRowShift(int slot) {
+        return this.rowShifts[slot];
+    }
+
+    public int getColumnShift(int slot) {
+        return this.columnShifts[slot];
+    }
+
+    public int getStrategyIndex(int slot) {
+        return this.strategyIndexes[slot];
+    }
+
+    public int getStrategyProgress(int slot) {
+        return this.strategyProgress[slot];
+    }
+
+    public void setStrategyProgress(int slot, int progress) {
+        this.strategyProgress[slot] = progress;
+    }
+
+    public boolean hasCrashed(int slot) {
+        return this.crashed[slot];
+    }
+
+    public void setCrashed(int slot, boolean crashed) {
+        this.crashed[slot] = crashed;
+    }
+}
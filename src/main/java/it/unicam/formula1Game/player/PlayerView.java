@@ -0,0 +1,58 @@
+package it.unicam.formula1Game.player;
+
+import it.unicam.formula1Game.cell.Coordinate;
+
+/**
+ * The {@code PlayerView} interface represents the read-only state of a player, as needed to visualize it.
+ */
+public interface PlayerView {
+    /**
+     * Gets the player's unique identifier.
+     *
+     * @return the <code>Integer</code> value representing the player.
+     */
+    int getId();
+
+    /**
+     * Gets the player's position on the {@link it.unicam.formula1Game.racetrack.RaceTrack}.
+     *
+     * @return a {@link Coordinate} object representing the player's position.
+     */
+    Coordinate getPosition();
+
+    /**
+     * Gets the player's last move as a coordinate difference.
+     *
+     * @return a {@link Coordinate} object representing the last move.
+     */
+    Coordinate getLastMove();
+
+    /**
+     * Checks whether the player has crashed or not.
+     *
+     * @return <code>true</code> if the player has crashed, <code>false</code> otherwise.
+     */
+    boolean hasCrashed();
+
+    /**
+     * Gets the name of the strategy followed by the player.
+     *
+     * @return the <code>toString</code> representation of the player's strategy.
+     */
+    String getStrategyName();
+
+    /**
+     * Describes the player's state: its ID, position, velocity and strategy.
+     * The velocity is the Euclidean length of the last move.
+     *
+     * @return a string representing the player's state.
+     */
+    default String describe() {
+        Coordinate lastMove = getLastMove();
+        return "CpuPlayer n.: " + getId() +
+                "\n at position: " + getPosition() +
+                "\n with velocity: " + Math.sqrt(lastMove.getRow() * lastMove.getRow()
+                + lastMove.getColumn() * lastMove.getColumn()) +
+                "\n using strategy: " + getStrategyName();
+    }
+}
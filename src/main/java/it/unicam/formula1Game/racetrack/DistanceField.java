@@ -0,0 +1,158 @@
+package it.unicam.formula1Game.racetrack;
+
+import java.util.Arrays;
+
+/**
+ * The distance from every cell of a {@link TrackGrid} to the closest wall, computed once per track.
+ * <p>
+ * Two distances are stored for each cell, indexed like the cells of the {@link TrackGrid}:
+ * <ul>
+ *     <li>the ray distance, i.e. the number of steps to the first wall along the closest of the
+ *     four axis directions (up, right, down, left);</li>
+ *     <li>the Chebyshev distance, i.e. the number of king moves to the closest wall in any direction.</li>
+ * </ul>
+ * Walls and sentinel cells are at distance <code>0</code>.
+ * Both fields are built with two linear sweeps over the grid, relying on the sentinel ring to avoid bounds checks.
+ */
+public class DistanceField {
+    /**
+     * The {@link TrackGrid} the distances refer to.
+     */
+    private final TrackGrid grid;
+    /**
+     * The ray distance of every cell.
+     */
+    private final int[] rayDistances;
+    /**
+     * The Chebyshev distance of every cell.
+     */
+    private final int[] chebyshevDistances;
+
+    /**
+     * Builds the distance field of the given grid.
+     *
+     * @param grid the {@link TrackGrid} to analyze.
+     */
+    public DistanceField(TrackGrid grid) {
+        this.grid = grid;
+        int size = TrackGrid.paddedSize(grid.getWidth(), grid.getHeight());
+        this.rayDistances = new int[size];
+        this.chebyshevDistances = new int[size];
+        computeRayDistances();
+        computeChebyshevDistances();
+    }
+
+    /**
+     * Computes the ray distances with a forward sweep, for the up and left rays,
+     * and a backward sweep, for the down and right rays.
+     */
+    private void computeRayDistances() {
+        int width = this.grid.getWidth();
+        int height = this.grid.getHeight();
+        int[] verticalRun = new int[width];
+        for (int row = 0; row < height; row++) {
+            int horizontalRun = 0;
+            for (int column = 0; column < width; column++) {
+                int index = this.grid.index(row, column);
+                if (this.grid.isWall(index)) {
+                    verticalRun[column] = 0;
+                    horizontalRun = 0;
+                } else {
+                    verticalRun[column]++;
+                    horizontalRun++;
+                    this.rayDistances[index] = Math.min(verticalRun[column], horizontalRun);
+                }
+            }
+        }
+        Arrays.fill(verticalRun, 0);
+        for (int row = height - 1; row >= 0; row--) {
+            int horizontalRun = 0;
+            for (int column = width - 1; column >= 0; column--) {
+                int index = this.grid.index(row, column);
+                if (this.grid.isWall(index)) {
+                    verticalRun[column] = 0;
+                    horizontalRun = 0;
+                } else {
+                    verticalRun[column]++;
+                    horizontalRun++;
+                    int closest = Math.min(verticalRun[column], horizontalRun);
+                    this.rayDistances[index] = Math.min(this.rayDistances[index], closest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the exact Chebyshev distance transform with a forward and a backward chamfer sweep
+     * over the eight neighbours of each cell.
+     */
+    private void computeChebyshevDistances() {
+        int width = this.grid.getWidth();
+        int height = this.grid.getHeight();
+        int stride = this.grid.getStride();
+        int[] distances = this.chebyshevDistances;
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                int index = this.grid.index(row, column);
+                if (!this.grid.isWall(index)) {
+                    int above = index - stride;
+                    distances[index] = 1 + Math.min(Math.min(distances[index - 1], distances[above - 1]),
+                            Math.min(distances[above], distances[above + 1]));
+                }
+            }
+        }
+        for (int row = height - 1; row >= 0; row--) {
+            for (int column = width - 1; column >= 0; column--) {
+                int index = this.grid.index(row, column);
+                if (!this.grid.isWall(index)) {
+                    int below = index + stride;
+                    int closest = 1 + Math.min(Math.min(distances[index + 1], distances[below - 1]),
+                            Math.min(distances[below], distances[below + 1]));
+                    distances[index] = Math.min(distances[index], closest);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ray distance of the cell at the given index.
+     *
+     * @param index the index of the cell, as computed by {@link TrackGrid#index(int, int)}.
+     * @return the number of steps to the first wall along the closest axis direction.
+     */
+    public int rayDistance(int index) {
+        return this.rayDistances[index];
+    }
+
+    /**
+     * Returns the ray distance of the cell at the given row and column.
+     *
+     * @param row    the row of the cell, inside the track.
+     * @param column the column of the cell, inside the track.
+     * @return the number of steps to the first wall along the closest axis direction.
+     */
+    public int rayDistanceAt(int row, int column) {
+        return this.rayDistances[this.grid.index(row, column)];
+    }
+
+    /**
+     * Returns the Chebyshev distance of the cell at the given index.
+     *
+     * @param index the index of the cell, as computed by {@link TrackGrid#index(int, int)}.
+     * @return the number of king moves to the closest wall.
+     */
+    public int chebyshevDistance(int index) {
+        return this.chebyshevDistances[index];
+    }
+
+    /**
+     * Returns the Chebyshev distance of the cell at the given row and column.
+     *
+     * @param row    the row of the cell, inside the track.
+     * @param column the column of the cell, inside the track.
+     * @return the number of king moves to the closest wall.
+     */
+    public int chebyshevDistanceAt(int row, int column) {
+        return this.chebyshevDistances[this.grid.index(row, column)];
+    }
+}
@@ -0,0 +1,277 @@
+package it.unicam.formula1Game.racetrack;
+
+import it.unicam.formula1Game.cell.CellType;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * The path distance from every cell of a {@link TrackGrid} to the finish line, computed once per track.
+ * <p>
+ * Distances are computed with a multi-source breadth-first search that starts from every
+ * {@link CellType#FINISH} cell and moves to the eight neighbours of a cell, never entering a wall.
+ * The search leaves the finish line only on the side players come from, i.e. opposite to the
+ * departure direction implied by the race direction, so that a cell just past the start does not look
+ * close to the finish: its distance is the length of the whole lap.
+ * <p>
+ * On large tracks the search is run in parallel, one frontier at a time.
+ * Distances are indexed like the cells of the {@link TrackGrid}; walls, sentinels and cells that cannot
+ * reach the finish line are at distance {@link #UNREACHABLE}.
+ */
+public class FinishDistanceField {
+    /**
+     * The distance of the cells that cannot reach the finish line.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    /**
+     * The number of cells above which the search is run in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * The {@link TrackGrid} the distances refer to.
+     */
+    private final TrackGrid grid;
+    /**
+     * The row component of the direction players leave the finish line in.
+     */
+    private final int departureRow;
+    /**
+     * The column component of the direction players leave the finish line in.
+     */
+    private final int departureColumn;
+    /**
+     * The distance of every cell from the finish line.
+     */
+    private final int[] distances;
+
+    /**
+     * Builds the distance field of the given grid, choosing sequential or parallel search by the track's size.
+     *
+     * @param grid      the {@link TrackGrid} to analyze.
+     * @param direction the direction of the race, either "cw" or "ccw".
+     */
+    public FinishDistanceField(TrackGrid grid, String direction) {
+        this(grid, direction, grid.getWidth() * grid.getHeight() >= PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Builds the distance field of the given grid.
+     *
+     * @param grid      the {@link TrackGrid} to analyze.
+     * @param direction the direction of the race, either "cw" or "ccw".
+     * @param parallel  whether the search expands each frontier in parallel.
+     */
+    public FinishDistanceField(TrackGrid grid, String direction, boolean parallel) {
+        this.grid = grid;
+        int[] departure = departureDirection(grid, direction);
+        this.departureRow = departure[0];
+        this.departureColumn = departure[1];
+        this.distances = parallel ? searchInParallel(finishCells()) : search(finishCells());
+    }
+
+    /**
+     * Infers the direction players leave the finish line in, from the race direction and the position of
+     * the finish line with respect to the centre of the track.
+     * A finish line spanning more rows than columns is crossed horizontally, otherwise it is crossed vertically.
+     *
+     * @param grid      the {@link TrackGrid} to analyze.
+     * @param direction the direction of the race, either "cw" or "ccw".
+     * @return the <code>(row, column)</code> components of the departure direction,
+     * <code>(0, 0)</code> if the track has no finish line.
+     */
+    public static int[] departureDirection(TrackGrid grid, String direction) {
+        int minRow = Integer.MAX_VALUE, maxRow = -1, minColumn = Integer.MAX_VALUE, maxColumn = -1;
+        long rowSum = 0, columnSum = 0, count = 0;
+        for (int row = 0; row < grid.getHeight(); row++) {
+            for (int column = 0; column < grid.getWidth(); column++) {
+                if (grid.typeAt(grid.index(row, column)) == CellType.FINISH) {
+                    minRow = Math.min(minRow, row);
+                    maxRow = Math.max(maxRow, row);
+                    minColumn = Math.min(minColumn, column);
+                    maxColumn = Math.max(maxColumn, column);
+                    rowSum += row;
+                    columnSum += column;
+                    count++;
+                }
+            }
+        }
+        if (count == 0) {
+            return new int[]{0, 0};
+        }
+        int sign = "cw".equals(direction) ? -1 : 1;
+        if (maxRow - minRow >= maxColumn - minColumn) {
+            // Counter-clockwise races go left along the top of the track and right along the bottom
+            boolean top = 2 * rowSum < count * (grid.getHeight() - 1);
+            return new int[]{0, top ? -sign : sign};
+        }
+        // Counter-clockwise races go down along the left of the track and up along the right
+        boolean left = 2 * columnSum < count * (grid.getWidth() - 1);
+        return new int[]{left ? sign : -sign, 0};
+    }
+
+    /**
+     * Collects the indexes of the finish cells.
+     *
+     * @return the indexes of the {@link CellType#FINISH} cells.
+     */
+    private int[] finishCells() {
+        int[] cells = new int[this.grid.getWidth() * this.grid.getHeight()];
+        int count = 0;
+        for (int row = 0; row < this.grid.getHeight(); row++) {
+            for (int column = 0; column < this.grid.getWidth(); column++) {
+                int index = this.grid.index(row, column);
+                if (this.grid.typeAt(index) == CellType.FINISH) {
+                    cells[count++] = index;
+                }
+            }
+        }
+        return Arrays.copyOf(cells, count);
+    }
+
+    /**
+     * Computes the index offsets of the eight neighbours of a cell.
+     *
+     * @return the offsets, followed by their row and column components.
+     */
+    private int[][] neighbours() {
+        int stride = this.grid.getStride();
+        int[][] neighbours = new int[3][8];
+        int n = 0;
+        for (int dRow = -1; dRow <= 1; dRow++) {
+            for (int dColumn = -1; dColumn <= 1; dColumn++) {
+                if (dRow != 0 || dColumn != 0) {
+                    neighbours[0][n] = dRow * stride + dColumn;
+                    neighbours[1][n] = dRow;
+                    neighbours[2][n] = dColumn;
+                    n++;
+                }
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * Checks whether the search may move from a cell to one of its neighbours.
+     * Walls are never entered, and finish cells are only left against the departure direction.
+     *
+     * @param from    the index of the current cell.
+     * @param to      the index of the neighbour.
+     * @param dRow    the row component of the step.
+     * @param dColumn the column component of the step.
+     * @return <code>true</code> if the step is allowed, <code>false</code> otherwise.
+     */
+    private boolean canStep(int from, int to, int dRow, int dColumn) {
+        if (this.grid.isWall(to)) {
+            return false;
+        }
+        return this.grid.typeAt(from) != CellType.FINISH
+                || dRow * this.departureRow + dColumn * this.departureColumn <= 0;
+    }
+
+    /**
+     * Runs the breadth-first search on the current thread.
+     *
+     * @param sources the indexes of the finish cells.
+     * @return the distances of the cells.
+     */
+    private int[] search(int[] sources) {
+        int[][] neighbours = neighbours();
+        int[] result = new int[TrackGrid.paddedSize(this.grid.getWidth(), this.grid.getHeight())];
+        Arrays.fill(result, UNREACHABLE);
+        int[] queue = new int[this.grid.getWidth() * this.grid.getHeight()];
+        int head = 0, tail = 0;
+        for (int source : sources) {
+            result[source] = 0;
+            queue[tail++] = source;
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int n = 0; n < 8; n++) {
+                int next = cell + neighbours[0][n];
+                if (result[next] == UNREACHABLE && canStep(cell, next, neighbours[1][n], neighbours[2][n])) {
+                    result[next] = result[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the breadth-first search expanding every frontier in parallel.
+     * Cells are claimed with a compare-and-set, so each of them joins exactly one frontier.
+     *
+     * @param sources the indexes of the finish cells.
+     * @return the distances of the cells.
+     */
+    private int[] searchInParallel(int[] sources) {
+        int[][] neighbours = neighbours();
+        int size = TrackGrid.paddedSize(this.grid.getWidth(), this.grid.getHeight());
+        AtomicIntegerArray result = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            result.set(i, UNREACHABLE);
+        }
+        for (int source : sources) {
+            result.set(source, 0);
+        }
+        int[] frontier = sources;
+        int[] nextFrontier = new int[this.grid.getWidth() * this.grid.getHeight()];
+        int distance = 0;
+        while (frontier.length > 0) {
+            int[] current = frontier;
+            int nextDistance = ++distance;
+            AtomicInteger nextSize = new AtomicInteger();
+            IntStream.range(0, current.length).parallel().forEach(i -> {
+                int cell = current[i];
+                for (int n = 0; n < 8; n++) {
+                    int next = cell + neighbours[0][n];
+                    if (result.get(next) == UNREACHABLE && canStep(cell, next, neighbours[1][n], neighbours[2][n])
+                            && result.compareAndSet(next, UNREACHABLE, nextDistance)) {
+                        nextFrontier[nextSize.getAndIncrement()] = next;
+                    }
+                }
+            });
+            frontier = Arrays.copyOf(nextFrontier, nextSize.get());
+        }
+        int[] distances = new int[size];
+        for (int i = 0; i < size; i++) {
+            distances[i] = result.get(i);
+        }
+        return distances;
+    }
+
+    /**
+     * Returns the distance from the finish line of the cell at the given index.
+     *
+     * @param index the index of the cell, as computed by {@link TrackGrid#index(int, int)}.
+     * @return the number of steps to the finish line, {@link #UNREACHABLE} if it cannot be reached.
+     */
+    public int distance(int index) {
+        return this.distances[index];
+    }
+
+    /**
+     * Returns the distance from the finish line of the cell at the given row and column.
+     * Every position outside the track is unreachable.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the number of steps to the finish line, {@link #UNREACHABLE} if it cannot be reached.
+     */
+    public int distanceAt(int row, int column) {
+        if (row < 0 || row >= this.grid.getHeight() || column < 0 || column >= this.grid.getWidth()) {
+            return UNREACHABLE;
+        }
+        return this.distances[this.grid.index(row, column)];
+    }
+
+    public int getDepartureRow() {
+        return departureRow;
+    }
+
+    public int getDepartureColumn() {
+        return departureColumn;
+    }
+}
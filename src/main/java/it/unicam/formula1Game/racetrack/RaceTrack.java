@@ -3,9 +3,12 @@ package it.unicam.formula1Game.racetrack;
 import it.unicam.formula1Game.cell.Cell;
 import it.unicam.formula1Game.cell.CellType;
 import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.cell.CoordinateTable;
 import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -22,9 +25,14 @@ public class RaceTrack {
      */
     private final int height;
     /**
-     * Represents the track as a 2D grid of {@link Cell} objects.
+     * Represents the track as a 2D grid of {@link Cell} objects, built on first access
+     * if the track has been created from a {@link TrackGrid}.
      */
-    private final Cell[][] grid;
+    private volatile Cell[][] grid;
+    /**
+     * Represents the track as a compact grid of one byte per cell.
+     */
+    private final TrackGrid trackGrid;
     /**
      * The number of players taking part in the race
      */
@@ -34,9 +42,33 @@ public class RaceTrack {
      */
     private final String direction;
     /**
-     * The track's visual representation
+     * The track's visual representation, built on first access.
+     */
+    private volatile String[][] visualGridRepresentation;
+    /**
+     * The canonical {@link Coordinate} instances of the track's cells.
+     */
+    private final CoordinateTable coordinates;
+    /**
+     * The positions of the <code>START</code> cells, found on first access.
+     */
+    private volatile List<Coordinate> startCoordinates;
+    /**
+     * The positions of the <code>FINISH</code> cells, found on first access.
+     */
+    private volatile List<Coordinate> finishCoordinates;
+    /**
+     * The distance from every cell to the closest wall, built on first access.
+     */
+    private volatile DistanceField distanceField;
+    /**
+     * The path distance from every cell to the finish line, built on first access.
      */
-    private final String[][] visualGridRepresentation;
+    private volatile FinishDistanceField finishDistanceField;
+    /**
+     * A 64-bit hash of the track's layout and direction, <code>0</code> until first computed.
+     */
+    private volatile long fingerprint;
 
     /**
      * Creates a new racetrack with the specified dimensions, grid, number of players, and race direction.
@@ -49,12 +81,52 @@ public class RaceTrack {
      * @throws InvalidConfigurationException if the track's configuration is invalid.
      */
     public RaceTrack(int width, int height, Cell[][] grid, int numberOfPlayers, String direction) throws InvalidConfigurationException {
+        this(width, height, TrackGrid.fromCells(grid, width, height), numberOfPlayers, direction);
+        this.grid = grid;
+    }
+
+    /**
+     * Creates a new racetrack with the specified dimensions, compact grid, number of players, and race direction.
+     * The 2D grid of {@link Cell} objects is only built if requested through {@link #getGrid()}.
+     *
+     * @param width           The width of the racetrack.
+     * @param height          The height of the racetrack.
+     * @param trackGrid       The compact grid representing the track.
+     * @param numberOfPlayers The number of players participating in the race.
+     * @param direction       The direction of the race ("cw" for clockwise or "ccw" for counter-clockwise).
+     * @throws InvalidConfigurationException if the track's configuration is invalid.
+     */
+    public RaceTrack(int width, int height, TrackGrid trackGrid, int numberOfPlayers, String direction) throws InvalidConfigurationException {
+        if (trackGrid.getWidth() != width || trackGrid.getHeight() != height) {
+            throw new InvalidConfigurationException("Track grid size does not match the track dimensions");
+        }
         this.width = width;
         this.height = height;
-        this.grid = grid;
+        this.trackGrid = trackGrid;
         this.numberOfPlayers = numberOfPlayers;
         this.direction = direction;
-        this.visualGridRepresentation = buildTrackRepresentation();
+        this.coordinates = new CoordinateTable(width, height);
+    }
+
+    /**
+     * Returns the canonical {@link Coordinate} of the cell at the given row and column.
+     * Positions outside the track are not interned and a new instance is returned for them.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the {@link Coordinate} of the cell.
+     */
+    public Coordinate getCoordinate(int row, int column) {
+        return this.coordinates.get(row, column);
+    }
+
+    /**
+     * Returns the table of the canonical {@link Coordinate} instances of the track's cells.
+     *
+     * @return the track's {@link CoordinateTable}.
+     */
+    public CoordinateTable getCoordinates() {
+        return this.coordinates;
     }
 
     /**
@@ -70,45 +142,58 @@ public class RaceTrack {
         if (row < 0 || row >= this.height || column < 0 || column >= this.width) {
             throw new IllegalArgumentException("Position out of track boundaries");
         }
-        return grid[row][column];
+        return getGrid()[row][column];
     }
 
     /**
      * Gets all the <code>START</code> cell positions in the track.
      *
-     * @return A {@link List} of {@link Coordinate} objects representing the start cells.
+     * @return An unmodifiable {@link List} of {@link Coordinate} objects representing the start cells.
      * @throws InvalidConfigurationException If no start cells are found on the track.
      */
     public List<Coordinate> getStartCoordinates() throws InvalidConfigurationException {
-        List<Coordinate> startCoordinates = new ArrayList<>();
-        for (int i = 0; i < this.height; i++) {
-            for (int j = 0; j < this.width; j++) {
-                if (grid[i][j].cellType() == CellType.START) {
-                    startCoordinates.add(new Coordinate(i, j));
-                }
-            }
+        List<Coordinate> start = this.startCoordinates;
+        if (start == null) {
+            // Racing threads find equal lists, so the scan needs no lock
+            start = findCoordinates(CellType.START);
+            this.startCoordinates = start;
         }
-        if (startCoordinates.isEmpty()) {
+        if (start.isEmpty()) {
             throw new InvalidConfigurationException("No start cells found for this track");
         }
-        return startCoordinates;
+        return start;
     }
 
     /**
      * Gets all the <code>FINISH</code> cell positions in the track.
      *
-     * @return A {@link List} of {@link Coordinate} objects representing the finish cells.
+     * @return An unmodifiable {@link List} of {@link Coordinate} objects representing the finish cells.
      */
     public List<Coordinate> getFinishCoordinates() {
-        List<Coordinate> finishCoordinates = new ArrayList<>();
+        List<Coordinate> finish = this.finishCoordinates;
+        if (finish == null) {
+            finish = findCoordinates(CellType.FINISH);
+            this.finishCoordinates = finish;
+        }
+        return finish;
+    }
+
+    /**
+     * Collects the canonical positions of all the cells of the given type, in row-major order.
+     *
+     * @param cellType the {@link CellType} to look for.
+     * @return An unmodifiable {@link List} of {@link Coordinate} objects.
+     */
+    private List<Coordinate> findCoordinates(CellType cellType) {
+        List<Coordinate> found = new ArrayList<>();
         for (int i = 0; i < this.height; i++) {
             for (int j = 0; j < this.width; j++) {
-                if (grid[i][j].cellType() == CellType.FINISH) {
-                    finishCoordinates.add(new Coordinate(i, j));
+                if (this.trackGrid.typeAt(this.trackGrid.index(i, j)) == cellType) {
+                    found.add(getCoordinate(i, j));
                 }
             }
         }
-        return finishCoordinates;
+        return Collections.unmodifiableList(found);
     }
 
     /**
@@ -146,7 +231,109 @@ public class RaceTrack {
      * @return The 2D array of {@link Cell} objects representing the grid.
      */
     public Cell[][] getGrid() {
-        return this.grid;
+        Cell[][] cells = this.grid;
+        if (cells == null) {
+            synchronized (this) {
+                cells = this.grid;
+                if (cells == null) {
+                    cells = buildGrid();
+                    this.grid = cells;
+                }
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Builds the 2D grid of {@link Cell} objects from the compact grid.
+     *
+     * @return The 2D array of {@link Cell} objects representing the grid.
+     */
+    private Cell[][] buildGrid() {
+        Cell[][] cells = new Cell[this.height][this.width];
+        for (int row = 0; row < this.height; row++) {
+            for (int column = 0; column < this.width; column++) {
+                cells[row][column] = new Cell(this.trackGrid.typeAt(this.trackGrid.index(row, column)),
+                        getCoordinate(row, column));
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Gets the compact grid representation of the track, with one byte per cell and a ring of wall sentinels.
+     *
+     * @return The {@link TrackGrid} of the track.
+     */
+    public TrackGrid getTrackGrid() {
+        return this.trackGrid;
+    }
+
+    /**
+     * Gets the distance from every cell of the track to the closest wall.
+     * The field is computed once, on first access, and shared by every caller.
+     *
+     * @return The {@link DistanceField} of the track.
+     */
+    public DistanceField getDistanceField() {
+        DistanceField field = this.distanceField;
+        if (field == null) {
+            synchronized (this) {
+                field = this.distanceField;
+                if (field == null) {
+                    field = new DistanceField(this.trackGrid);
+                    this.distanceField = field;
+                }
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Gets the path distance from every cell of the track to the finish line, following the race direction.
+     * The field is computed once, on first access, and shared by every caller.
+     *
+     * @return The {@link FinishDistanceField} of the track.
+     */
+    public FinishDistanceField getFinishDistanceField() {
+        FinishDistanceField field = this.finishDistanceField;
+        if (field == null) {
+            synchronized (this) {
+                field = this.finishDistanceField;
+                if (field == null) {
+                    field = new FinishDistanceField(this.trackGrid, this.direction);
+                    this.finishDistanceField = field;
+                }
+            }
+        }
+        return field;
+    }
+
+    /**
+     * Gets a 64-bit fingerprint of the track, computed with FNV-1a over its size, direction and cells.
+     * Tracks with the same layout and direction have the same fingerprint, so it can be used to share
+     * data computed for a track across {@code RaceTrack} instances.
+     * The fingerprint is computed on first access and is never <code>0</code>.
+     *
+     * @return The track's fingerprint.
+     */
+    public long getFingerprint() {
+        long hash = this.fingerprint;
+        if (hash == 0) {
+            hash = 0xcbf29ce484222325L;
+            hash = (hash ^ this.width) * 0x100000001b3L;
+            hash = (hash ^ this.height) * 0x100000001b3L;
+            hash = (hash ^ this.direction.hashCode()) * 0x100000001b3L;
+            ByteBuffer cells = this.trackGrid.getCells();
+            for (int i = 0; i < cells.capacity(); i++) {
+                hash = (hash ^ cells.get(i)) * 0x100000001b3L;
+            }
+            if (hash == 0) {
+                hash = 1;
+            }
+            this.fingerprint = hash;
+        }
+        return hash;
     }
 
     /**
@@ -173,7 +360,17 @@ public class RaceTrack {
      * @return The 2D array of strings representing the visual grid of the racetrack.
      */
     public String[][] getVisualGridRepresentation() {
-        return this.visualGridRepresentation;
+        String[][] representation = this.visualGridRepresentation;
+        if (representation == null) {
+            synchronized (this) {
+                representation = this.visualGridRepresentation;
+                if (representation == null) {
+                    representation = buildTrackRepresentation();
+                    this.visualGridRepresentation = representation;
+                }
+            }
+        }
+        return representation;
     }
 
     /**
@@ -186,7 +383,7 @@ public class RaceTrack {
         String[][] trackRepresentation = new String[height][width];
         for (int row = 0; row < height; row++) {
             for (int column = 0; column < width; column++) {
-                CellType cell = grid[row][column].cellType();
+                CellType cell = this.trackGrid.typeAt(this.trackGrid.index(row, column));
                 switch (cell) {
                     case WALL:
                         trackRepresentation[row][column] = "*"; // Outer Wall
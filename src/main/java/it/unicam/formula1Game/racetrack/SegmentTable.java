@@ -0,0 +1,104 @@
+package it.unicam.formula1Game.racetrack;
+
+import it.unicam.formula1Game.cell.Coordinate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A table of the cells crossed by a move, computed with Bresenham's line algorithm.
+ * <p>
+ * For a move of <code>(dRow, dColumn)</code> the table holds the offsets, relative to the starting cell,
+ * of every cell on the segment from the starting cell to the landing cell, both included.
+ * Offsets are stored as interleaved <code>(row, column)</code> pairs. Since velocities are bounded,
+ * the offsets of the moves up to {@link #PRECOMPUTED_VELOCITY} on each axis are computed once,
+ * while the offsets of faster moves are memoized on first use.
+ */
+public class SegmentTable {
+    /**
+     * The maximum absolute value, on each axis, of the precomputed moves.
+     */
+    public static final int PRECOMPUTED_VELOCITY = 16;
+    /**
+     * The side of the precomputed table.
+     */
+    private static final int SIDE = 2 * PRECOMPUTED_VELOCITY + 1;
+    /**
+     * The offsets of the precomputed moves, indexed by {@link #slot(int, int)}.
+     */
+    private static final int[][] PRECOMPUTED = new int[SIDE * SIDE][];
+    /**
+     * The offsets of the moves faster than {@link #PRECOMPUTED_VELOCITY}, keyed by the packed move.
+     */
+    private static final Map<Long, int[]> MEMOIZED = new ConcurrentHashMap<>();
+
+    static {
+        for (int dRow = -PRECOMPUTED_VELOCITY; dRow <= PRECOMPUTED_VELOCITY; dRow++) {
+            for (int dColumn = -PRECOMPUTED_VELOCITY; dColumn <= PRECOMPUTED_VELOCITY; dColumn++) {
+                PRECOMPUTED[slot(dRow, dColumn)] = computeOffsets(dRow, dColumn);
+            }
+        }
+    }
+
+    private SegmentTable() {
+    }
+
+    /**
+     * Returns the offsets of the cells crossed by the given move, starting cell and landing cell included.
+     * The returned array must not be modified.
+     *
+     * @param dRow    the row component of the move.
+     * @param dColumn the column component of the move.
+     * @return the interleaved <code>(row, column)</code> offsets of the crossed cells.
+     */
+    public static int[] offsets(int dRow, int dColumn) {
+        if (Math.abs(dRow) <= PRECOMPUTED_VELOCITY && Math.abs(dColumn) <= PRECOMPUTED_VELOCITY) {
+            return PRECOMPUTED[slot(dRow, dColumn)];
+        }
+        return MEMOIZED.computeIfAbsent(Coordinate.pack(dRow, dColumn), key -> computeOffsets(dRow, dColumn));
+    }
+
+    /**
+     * Computes the index of a precomputed move in the table.
+     *
+     * @param dRow    the row component of the move.
+     * @param dColumn the column component of the move.
+     * @return the index of the move.
+     */
+    private static int slot(int dRow, int dColumn) {
+        return (dRow + PRECOMPUTED_VELOCITY) * SIDE + dColumn + PRECOMPUTED_VELOCITY;
+    }
+
+    /**
+     * Computes the cells crossed by a move with Bresenham's line algorithm.
+     *
+     * @param dRow    the row component of the move.
+     * @param dColumn the column component of the move.
+     * @return the interleaved <code>(row, column)</code> offsets of the crossed cells.
+     */
+    private static int[] computeOffsets(int dRow, int dColumn) {
+        int rowDistance = Math.abs(dRow);
+        int columnDistance = Math.abs(dColumn);
+        int rowStep = Integer.signum(dRow);
+        int columnStep = Integer.signum(dColumn);
+        int cells = Math.max(rowDistance, columnDistance) + 1;
+        int[] offsets = new int[2 * cells];
+        int row = 0;
+        int column = 0;
+        int error = columnDistance - rowDistance;
+        for (int i = 0; i < cells; i++) {
+            offsets[2 * i] = row;
+            offsets[2 * i + 1] = column;
+            int doubledError = 2 * error;
+            if (doubledError >= -rowDistance) {
+                error -= rowDistance;
+                column += columnStep;
+            }
+            if (doubledError <= columnDistance) {
+                error += columnDistance;
+                row += rowStep;
+            }
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,237 @@
+package it.unicam.formula1Game.racetrack;
+
+import it.unicam.formula1Game.cell.Cell;
+import it.unicam.formula1Game.cell.CellType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A compact representation of the track's grid that stores one byte per cell, holding the
+ * ordinal of the cell's {@link CellType}.
+ * <p>
+ * Cells are stored row by row in a flat buffer, surrounded by a ring of {@link CellType#WALL} sentinels
+ * that is <code>PADDING</code> cells thick. Thanks to the ring, the neighbours of any cell of the track can be
+ * read through {@link #index(int, int)} and the <code>stride</code> without checking the track's boundaries,
+ * and a walk in any direction always ends on a wall.
+ */
+public class TrackGrid {
+    /**
+     * The thickness of the ring of wall sentinels around the track.
+     */
+    public static final int PADDING = 1;
+    /**
+     * The cell types indexed by their ordinal.
+     */
+    private static final CellType[] CELL_TYPES = CellType.values();
+    /**
+     * The ordinal of {@link CellType#WALL}, stored in the sentinel cells.
+     */
+    private static final byte WALL = (byte) CellType.WALL.ordinal();
+    /**
+     * The width of the track, without the sentinel ring.
+     */
+    private final int width;
+    /**
+     * The height of the track, without the sentinel ring.
+     */
+    private final int height;
+    /**
+     * The distance between two vertically adjacent cells in the buffer.
+     */
+    private final int stride;
+    /**
+     * The cell types' ordinals, row by row, including the sentinel ring.
+     */
+    private final ByteBuffer cells;
+
+    /**
+     * Constructs a {@code TrackGrid} of the given size, made of walls only.
+     *
+     * @param width  the width of the track.
+     * @param height the height of the track.
+     */
+    public TrackGrid(int width, int height) {
+        this(width, height, ByteBuffer.wrap(new byte[paddedSize(width, height)]));
+        if (WALL != 0) {
+            for (int i = 0; i < this.cells.capacity(); i++) {
+                this.cells.put(i, WALL);
+            }
+        }
+    }
+
+    /**
+     * Constructs a {@code TrackGrid} over an existing buffer, without copying it.
+     * The buffer must hold {@link #paddedSize(int, int)} bytes, laid out row by row and
+     * already surrounded by the sentinel ring.
+     *
+     * @param width  the width of the track.
+     * @param height the height of the track.
+     * @param cells  the buffer holding the cell types' ordinals.
+     * @throws IllegalArgumentException if the buffer does not have the expected size.
+     */
+    public TrackGrid(int width, int height, ByteBuffer cells) {
+        if (width <= 0 || height <= 0 || cells.capacity() != paddedSize(width, height)) {
+            throw new IllegalArgumentException("Track grid size does not match the track dimensions");
+        }
+        this.width = width;
+        this.height = height;
+        this.stride = width + 2 * PADDING;
+        this.cells = cells;
+    }
+
+    /**
+     * Builds a {@code TrackGrid} from a 2D grid of {@link Cell} objects.
+     *
+     * @param grid   the 2D grid of cells, indexed by row and column.
+     * @param width  the width of the track.
+     * @param height the height of the track.
+     * @return the compact representation of the grid.
+     */
+    public static TrackGrid fromCells(Cell[][] grid, int width, int height) {
+        TrackGrid trackGrid = new TrackGrid(width, height);
+        for (int row = 0; row < height; row++) {
+            for (int column = 0; column < width; column++) {
+                trackGrid.setCellType(row, column, grid[row][column].cellType());
+            }
+        }
+        return trackGrid;
+    }
+
+    /**
+     * Computes the number of bytes needed by a track of the given size, including the sentinel ring.
+     *
+     * @param width  the width of the track.
+     * @param height the height of the track.
+     * @return the size of the buffer.
+     */
+    public static int paddedSize(int width, int height) {
+        return (width + 2 * PADDING) * (height + 2 * PADDING);
+    }
+
+    /**
+     * Computes the index in the buffer of the cell at the given row and column.
+     * Rows and columns up to <code>PADDING</code> cells outside the track map to sentinel cells.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the index of the cell.
+     */
+    public int index(int row, int column) {
+        return (row + PADDING) * this.stride + column + PADDING;
+    }
+
+    /**
+     * Returns the {@link CellType} stored at the given index.
+     *
+     * @param index the index of the cell, as computed by {@link #index(int, int)}.
+     * @return the {@link CellType} of the cell.
+     */
+    public CellType typeAt(int index) {
+        return CELL_TYPES[this.cells.get(index)];
+    }
+
+    /**
+     * Checks whether the cell at the given index is a wall or a sentinel.
+     *
+     * @param index the index of the cell, as computed by {@link #index(int, int)}.
+     * @return <code>true</code> if the cell is a wall, <code>false</code> otherwise.
+     */
+    public boolean isWall(int index) {
+        return this.cells.get(index) == WALL;
+    }
+
+    /**
+     * Returns the {@link CellType} of the cell at the given row and column.
+     * Every position outside the track is considered a wall.
+     *
+     * @param row    the row of the cell.
+     * @param column the column of the cell.
+     * @return the {@link CellType} of the cell.
+     */
+    public CellType cellTypeAt(int row, int column) {
+        if (row < 0 || row >= this.height || column < 0 || column >= this.width) {
+            return CellType.WALL;
+        }
+        return typeAt(index(row, column));
+    }
+
+    /**
+     * Follows a move cell by cell along the segment from its starting cell to its landing cell,
+     * using the offsets of the {@link SegmentTable}, and tells what the move runs into.
+     * <ul>
+     *     <li>{@link CellType#WALL} if the segment starts outside the track, or reaches a wall
+     *     before any finish cell.</li>
+     *     <li>{@link CellType#FINISH} if the segment reaches a finish cell before any wall.</li>
+     *     <li>The type of the landing cell otherwise.</li>
+     * </ul>
+     *
+     * @param fromRow    the row of the starting cell.
+     * @param fromColumn the column of the starting cell.
+     * @param dRow       the row component of the move.
+     * @param dColumn    the column component of the move.
+     * @return the {@link CellType} the move runs into.
+     */
+    public CellType sweep(int fromRow, int fromColumn, int dRow, int dColumn) {
+        if (fromRow < 0 || fromRow >= this.height || fromColumn < 0 || fromColumn >= this.width) {
+            return CellType.WALL;
+        }
+        int[] offsets = SegmentTable.offsets(dRow, dColumn);
+        // Starting inside the track, the walk meets the sentinel ring before it can leave the buffer
+        int origin = index(fromRow, fromColumn);
+        byte finish = (byte) CellType.FINISH.ordinal();
+        byte cell = 0;
+        for (int i = 0; i < offsets.length; i += 2) {
+            cell = this.cells.get(origin + offsets[i] * this.stride + offsets[i + 1]);
+            if (cell == WALL || cell == finish) {
+                break;
+            }
+        }
+        return CELL_TYPES[cell];
+    }
+
+    /**
+     * Sets the {@link CellType} of the cell at the given row and column.
+     *
+     * @param row      the row of the cell.
+     * @param column   the column of the cell.
+     * @param cellType the new {@link CellType}.
+     * @throws IllegalArgumentException       if the position is out of the track boundaries.
+     * @throws java.nio.ReadOnlyBufferException if the grid is read-only.
+     */
+    public void setCellType(int row, int column, CellType cellType) {
+        if (row < 0 || row >= this.height || column < 0 || column >= this.width) {
+            throw new IllegalArgumentException("Position out of track boundaries");
+        }
+        this.cells.put(index(row, column), (byte) cellType.ordinal());
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    /**
+     * Tells whether the cells of the grid cannot be modified, as for grids over a read-only buffer.
+     *
+     * @return <code>true</code> if the grid is read-only, <code>false</code> otherwise.
+     */
+    public boolean isReadOnly() {
+        return this.cells.isReadOnly();
+    }
+
+    /**
+     * Returns a read-only view of the buffer holding the cell types' ordinals, including the sentinel ring.
+     *
+     * @return a read-only {@link ByteBuffer}.
+     */
+    public ByteBuffer getCells() {
+        return this.cells.asReadOnlyBuffer();
+    }
+}
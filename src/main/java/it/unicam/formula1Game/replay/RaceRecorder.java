@@ -0,0 +1,215 @@
+package it.unicam.formula1Game.replay;
+
+import it.unicam.formula1Game.player.PlayerStateTable;
+import it.unicam.formula1Game.strategy.GameStrategy;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static it.unicam.formula1Game.replay.ReplayFormat.*;
+
+/**
+ * Records the rounds of a single race in the replay format, see {@link ReplayFormat}.
+ * <p>
+ * Every round, the move of each player is stored as its acceleration, the difference from its previous move,
+ * which is one of 9 choices and takes 4 bits. Every <code>keyframeInterval</code> rounds the full state of the
+ * players is stored as a keyframe, so that any round can be rebuilt from the closest keyframe.
+ * A recorder is not thread safe.
+ */
+public class RaceRecorder {
+    /**
+     * The keyframe interval used when none is given.
+     */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 32;
+    /**
+     * The fingerprint of the track of the race.
+     */
+    private final long trackFingerprint;
+    /**
+     * The seed of the race.
+     */
+    private final long seed;
+    /**
+     * The number of rounds between two keyframes.
+     */
+    private final int keyframeInterval;
+    /**
+     * The ID of each player.
+     */
+    private final int[] playerIds;
+    /**
+     * The identifier of the strategy of each player, <code>0</code> if it has none.
+     */
+    private final int[] strategyIds;
+    /**
+     * The round in which each player crashed, {@link ReplayFormat#NOT_CRASHED} if it has not crashed.
+     */
+    private final int[] crashRounds;
+    /**
+     * The state of the players as of the last recorded round.
+     */
+    private final int[] rows, columns, rowShifts, columnShifts;
+    /**
+     * The chunks recorded so far.
+     */
+    private byte[] chunks;
+    /**
+     * The number of rounds recorded so far.
+     */
+    private int rounds;
+
+    /**
+     * Constructs a {@code RaceRecorder} with the default keyframe interval.
+     *
+     * @param trackFingerprint the fingerprint of the track of the race.
+     * @param seed             the seed of the race.
+     * @param states           the state of the players at the start of the race.
+     */
+    public RaceRecorder(long trackFingerprint, long seed, PlayerStateTable states) {
+        this(trackFingerprint, seed, states, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Constructs a {@code RaceRecorder} and records the state of the players at the start of the race.
+     *
+     * @param trackFingerprint the fingerprint of the track of the race.
+     * @param seed             the seed of the race.
+     * @param states           the state of the players at the start of the race.
+     * @param keyframeInterval the number of rounds between two keyframes.
+     * @throws IllegalArgumentException if the keyframe interval is not positive or too large,
+     *                                  or if there are too many players.
+     */
+    public RaceRecorder(long trackFingerprint, long seed, PlayerStateTable states, int keyframeInterval) {
+        if (keyframeInterval <= 0 || keyframeInterval > Short.MAX_VALUE || states.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid replay parameters");
+        }
+        int players = states.size();
+        this.trackFingerprint = trackFingerprint;
+        this.seed = seed;
+        this.keyframeInterval = keyframeInterval;
+        this.playerIds = new int[players];
+        this.strategyIds = new int[players];
+        this.crashRounds = new int[players];
+        this.rows = new int[players];
+        this.columns = new int[players];
+        this.rowShifts = new int[players];
+        this.columnShifts = new int[players];
+        for (int slot = 0; slot < players; slot++) {
+            GameStrategy strategy = states.getStrategy(slot);
+            this.playerIds[slot] = states.getId(slot);
+            this.strategyIds[slot] = strategy == null ? 0 : strategy.getStrategyId();
+            this.crashRounds[slot] = states.hasCrashed(slot) ? 0 : NOT_CRASHED;
+            this.rows[slot] = states.getRow(slot);
+            this.columns[slot] = states.getColumn(slot);
+            this.rowShifts[slot] = states.getRowShift(slot);
+            this.columnShifts[slot] = states.getColumnShift(slot);
+        }
+        this.chunks = new byte[chunkSize(players, keyframeInterval) * 4];
+        writeKeyframe(0);
+    }
+
+    /**
+     * Records a round, comparing the state of the players with the state of the previous round.
+     *
+     * @param states the state of the players at the end of the round.
+     * @throws IllegalArgumentException if a player has not moved according to the rules of the game.
+     */
+    public void recordRound(PlayerStateTable states) {
+        int round = ++this.rounds;
+        int chunk = (round - 1) / this.keyframeInterval;
+        int chunkSize = chunkSize(this.playerIds.length, this.keyframeInterval);
+        if (round > 1 && (round - 1) % this.keyframeInterval == 0) {
+            if (this.chunks.length < (chunk + 1) * chunkSize) {
+                this.chunks = Arrays.copyOf(this.chunks, Math.max(this.chunks.length * 2, (chunk + 1) * chunkSize));
+            }
+            writeKeyframe(chunk);
+        }
+        for (int slot = 0; slot < this.playerIds.length; slot++) {
+            int code = NO_MOVE;
+            if (this.crashRounds[slot] == NOT_CRASHED) {
+                code = recordMove(slot, states);
+                if (states.hasCrashed(slot)) {
+                    this.crashRounds[slot] = round;
+                }
+            }
+            int nibble = ((round - 1) % this.keyframeInterval) * this.playerIds.length + slot;
+            int offset = chunk * chunkSize + this.playerIds.length * KEYFRAME_PLAYER_SIZE + nibble / 2;
+            this.chunks[offset] |= (byte) (nibble % 2 == 0 ? code : code << 4);
+        }
+    }
+
+    /**
+     * Updates the state of a player and encodes its move.
+     *
+     * @return the code of the move.
+     */
+    private int recordMove(int slot, PlayerStateTable states) {
+        int row = states.getRow(slot);
+        int column = states.getColumn(slot);
+        if (row == this.rows[slot] && column == this.columns[slot]
+                && states.getRowShift(slot) == this.rowShifts[slot] && states.getColumnShift(slot) == this.columnShifts[slot]) {
+            // A player that crashes without moving keeps its state
+            return this.rowShifts[slot] == 0 && this.columnShifts[slot] == 0 ? encode(0, 0) : NO_MOVE;
+        }
+        int rowAcceleration = states.getRowShift(slot) - this.rowShifts[slot];
+        int columnAcceleration = states.getColumnShift(slot) - this.columnShifts[slot];
+        if (Math.abs(rowAcceleration) > 1 || Math.abs(columnAcceleration) > 1
+                || row != this.rows[slot] + states.getRowShift(slot)
+                || column != this.columns[slot] + states.getColumnShift(slot)) {
+            throw new IllegalArgumentException("The move of player " + this.playerIds[slot] + " is not an acceleration");
+        }
+        this.rows[slot] = row;
+        this.columns[slot] = column;
+        this.rowShifts[slot] = states.getRowShift(slot);
+        this.columnShifts[slot] = states.getColumnShift(slot);
+        return encode(rowAcceleration, columnAcceleration);
+    }
+
+    /**
+     * Writes the current state of the players as the keyframe of a chunk.
+     */
+    private void writeKeyframe(int chunk) {
+        ByteBuffer buffer = ByteBuffer.wrap(this.chunks, chunk * chunkSize(this.playerIds.length, this.keyframeInterval),
+                this.playerIds.length * KEYFRAME_PLAYER_SIZE);
+        for (int slot = 0; slot < this.playerIds.length; slot++) {
+            buffer.putShort((short) this.rows[slot]);
+            buffer.putShort((short) this.columns[slot]);
+            buffer.putShort((short) this.rowShifts[slot]);
+            buffer.putShort((short) this.columnShifts[slot]);
+        }
+    }
+
+    /**
+     * Returns the number of rounds recorded so far.
+     *
+     * @return the number of rounds.
+     */
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * Encodes the race recorded so far as a race record.
+     *
+     * @return the bytes of the record.
+     */
+    public byte[] toByteArray() {
+        int players = this.playerIds.length;
+        int chunksSize = chunks(this.rounds, this.keyframeInterval) * chunkSize(players, this.keyframeInterval);
+        int length = RACE_HEADER_SIZE + players * PLAYER_HEADER_SIZE + chunksSize;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(length);
+        buffer.putLong(this.trackFingerprint);
+        buffer.putLong(this.seed);
+        buffer.putInt(this.rounds);
+        buffer.putShort((short) this.keyframeInterval);
+        buffer.put((byte) players);
+        for (int slot = 0; slot < players; slot++) {
+            buffer.put((byte) this.playerIds[slot]);
+            buffer.putInt(this.strategyIds[slot]);
+            buffer.putInt(this.crashRounds[slot]);
+        }
+        buffer.put(this.chunks, 0, chunksSize);
+        return buffer.array();
+    }
+}
@@ -0,0 +1,156 @@
+package it.unicam.formula1Game.replay;
+
+import java.nio.ByteBuffer;
+
+import static it.unicam.formula1Game.replay.ReplayFormat.*;
+
+/**
+ * A race stored in a replay file, read directly from the mapped file.
+ * Any round is rebuilt from the closest keyframe before it, applying at most <code>keyframeInterval</code>
+ * accelerations per player, without replaying the race from the start.
+ */
+public class RaceReplay {
+    /**
+     * The bytes of the race record.
+     */
+    private final ByteBuffer record;
+    /**
+     * The number of players of the race.
+     */
+    private final int players;
+    /**
+     * The number of rounds played in the race.
+     */
+    private final int rounds;
+    /**
+     * The number of rounds covered by a chunk.
+     */
+    private final int keyframeInterval;
+    /**
+     * The offset of the first chunk in the record.
+     */
+    private final int chunksOffset;
+
+    /**
+     * Constructs a {@code RaceReplay} over a race record.
+     *
+     * @param record the bytes of the record, starting at index <code>0</code>.
+     */
+    RaceReplay(ByteBuffer record) {
+        this.record = record;
+        this.rounds = record.getInt(20);
+        this.keyframeInterval = record.getShort(24);
+        this.players = record.get(26);
+        this.chunksOffset = RACE_HEADER_SIZE + this.players * PLAYER_HEADER_SIZE;
+    }
+
+    /**
+     * Returns the fingerprint of the track on which the race was played.
+     *
+     * @return the fingerprint of the track.
+     */
+    public long getTrackFingerprint() {
+        return this.record.getLong(4);
+    }
+
+    /**
+     * Returns the seed of the race.
+     *
+     * @return the seed.
+     */
+    public long getSeed() {
+        return this.record.getLong(12);
+    }
+
+    /**
+     * Returns the number of rounds played in the race.
+     *
+     * @return the number of rounds.
+     */
+    public int getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * Returns the number of players of the race.
+     *
+     * @return the number of players.
+     */
+    public int getNumberOfPlayers() {
+        return this.players;
+    }
+
+    /**
+     * Returns the ID of a player.
+     *
+     * @param player the index of the player.
+     * @return the ID of the player.
+     */
+    public int getPlayerId(int player) {
+        return this.record.get(RACE_HEADER_SIZE + player * PLAYER_HEADER_SIZE) & 0xFF;
+    }
+
+    /**
+     * Returns the identifier of the strategy of a player.
+     *
+     * @param player the index of the player.
+     * @return the identifier, see {@link it.unicam.formula1Game.strategy.GameStrategy#getStrategyId()}.
+     */
+    public int getStrategyId(int player) {
+        return this.record.getInt(RACE_HEADER_SIZE + player * PLAYER_HEADER_SIZE + 1);
+    }
+
+    /**
+     * Returns the round in which a player crashed.
+     *
+     * @param player the index of the player.
+     * @return the round of the crash, <code>-1</code> if the player did not crash.
+     */
+    public int getCrashRound(int player) {
+        return this.record.getInt(RACE_HEADER_SIZE + player * PLAYER_HEADER_SIZE + 5);
+    }
+
+    /**
+     * Rebuilds the state of the players at the end of a round.
+     *
+     * @param round the round, <code>0</code> for the start of the race.
+     * @return the {@link ReplayFrame} of the round.
+     * @throws IndexOutOfBoundsException if the race has no such round.
+     */
+    public ReplayFrame frameAt(int round) {
+        if (round < 0 || round > this.rounds) {
+            throw new IndexOutOfBoundsException("No round " + round + " in the race");
+        }
+        int chunk = round == 0 ? 0 : (round - 1) / this.keyframeInterval;
+        int chunkOffset = this.chunksOffset + chunk * chunkSize(this.players, this.keyframeInterval);
+        int[] rows = new int[this.players];
+        int[] columns = new int[this.players];
+        int[] rowShifts = new int[this.players];
+        int[] columnShifts = new int[this.players];
+        boolean[] crashed = new boolean[this.players];
+        for (int player = 0; player < this.players; player++) {
+            int offset = chunkOffset + player * KEYFRAME_PLAYER_SIZE;
+            rows[player] = this.record.getShort(offset);
+            columns[player] = this.record.getShort(offset + 2);
+            rowShifts[player] = this.record.getShort(offset + 4);
+            columnShifts[player] = this.record.getShort(offset + 6);
+            int crashRound = getCrashRound(player);
+            crashed[player] = crashRound != NOT_CRASHED && crashRound <= round;
+        }
+        int accelerationsOffset = chunkOffset + this.players * KEYFRAME_PLAYER_SIZE;
+        int nibble = 0;
+        for (int r = chunk * this.keyframeInterval + 1; r <= round; r++) {
+            for (int player = 0; player < this.players; player++, nibble++) {
+                int packed = this.record.get(accelerationsOffset + nibble / 2);
+                int code = (nibble % 2 == 0 ? packed : packed >> 4) & 0xF;
+                if (code != NO_MOVE) {
+                    rowShifts[player] += rowAcceleration(code);
+                    columnShifts[player] += columnAcceleration(code);
+                    rows[player] += rowShifts[player];
+                    columns[player] += columnShifts[player];
+                }
+            }
+        }
+        return new ReplayFrame(round, rows, columns, rowShifts, columnShifts, crashed);
+    }
+}
@@ -0,0 +1,106 @@
+package it.unicam.formula1Game.replay;
+
+/**
+ * The layout of a replay file, shared by {@link ReplayWriter} and {@link ReplayReader}.
+ * <p>
+ * A replay file starts with a header made of {@link #MAGIC} and {@link #VERSION}, followed by any number of race records.
+ * Every record starts with a header holding, in order, the length of the whole record, the fingerprint of the track,
+ * the seed of the race, the number of rounds, the keyframe interval, the number of players and, for every player,
+ * its ID, the identifier of its strategy and the round in which it crashed.
+ * <p>
+ * The header is followed by the chunks of the race, each covering <code>keyframeInterval</code> rounds.
+ * A chunk starts with a keyframe, holding the position and the last move of every player before its first round,
+ * followed by the acceleration of every player in every round of the chunk, packed in 4 bits.
+ * All the values are big-endian.
+ */
+final class ReplayFormat {
+    /**
+     * The first bytes of a replay file.
+     */
+    static final int MAGIC = 0x46315250;
+    /**
+     * The version of the format.
+     */
+    static final short VERSION = 1;
+    /**
+     * The size of the file header.
+     */
+    static final int FILE_HEADER_SIZE = 6;
+    /**
+     * The size of the fixed part of a race header.
+     */
+    static final int RACE_HEADER_SIZE = 27;
+    /**
+     * The size of the data of a player in a race header.
+     */
+    static final int PLAYER_HEADER_SIZE = 9;
+    /**
+     * The size of the state of a player in a keyframe: row, column and last move, as shorts.
+     */
+    static final int KEYFRAME_PLAYER_SIZE = 8;
+    /**
+     * The code of a player that does not move in a round, because it has crashed.
+     * Codes from <code>0</code> to <code>8</code> are accelerations, see {@link #encode(int, int)}.
+     */
+    static final int NO_MOVE = 0xF;
+    /**
+     * The crash round of a player that has not crashed.
+     */
+    static final int NOT_CRASHED = -1;
+
+    private ReplayFormat() {
+    }
+
+    /**
+     * Encodes an acceleration, i.e. the difference between two consecutive moves, in 4 bits.
+     *
+     * @param rowAcceleration    the row component, between <code>-1</code> and <code>1</code>.
+     * @param columnAcceleration the column component, between <code>-1</code> and <code>1</code>.
+     * @return the code of the acceleration, between <code>0</code> and <code>8</code>.
+     */
+    static int encode(int rowAcceleration, int columnAcceleration) {
+        return (rowAcceleration + 1) * 3 + columnAcceleration + 1;
+    }
+
+    /**
+     * Decodes the row component of an acceleration.
+     *
+     * @param code the code of the acceleration, see {@link #encode(int, int)}.
+     * @return the row component, between <code>-1</code> and <code>1</code>.
+     */
+    static int rowAcceleration(int code) {
+        return code / 3 - 1;
+    }
+
+    /**
+     * Decodes the column component of an acceleration.
+     *
+     * @param code the code of the acceleration, see {@link #encode(int, int)}.
+     * @return the column component, between <code>-1</code> and <code>1</code>.
+     */
+    static int columnAcceleration(int code) {
+        return code % 3 - 1;
+    }
+
+    /**
+     * Computes the size of a chunk.
+     *
+     * @param players          the number of players of the race.
+     * @param keyframeInterval the number of rounds of a chunk.
+     * @return the size of a chunk in bytes.
+     */
+    static int chunkSize(int players, int keyframeInterval) {
+        return players * KEYFRAME_PLAYER_SIZE + (players * keyframeInterval + 1) / 2;
+    }
+
+    /**
+     * Computes the number of chunks of a race, at least one even if no round has been played.
+     *
+     * @param rounds           the number of rounds of the race.
+     * @param keyframeInterval the number of rounds of a chunk.
+     * @return the number of chunks.
+     */
+    static int chunks(int rounds, int keyframeInterval) {
+        return Math.max(1, (rounds + keyframeInterval - 1) / keyframeInterval);
+    }
+}
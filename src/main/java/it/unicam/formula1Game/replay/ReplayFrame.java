@@ -0,0 +1,14 @@
+package it.unicam.formula1Game.replay;
+
+/**
+ * The state of the players of a replayed race at the end of a round, indexed by player.
+ *
+ * @param round        the round, <code>0</code> for the start of the race.
+ * @param rows         the rows of the players' positions.
+ * @param columns      the columns of the players' positions.
+ * @param rowShifts    the row components of the players' last moves.
+ * @param columnShifts the column components of the players' last moves.
+ * @param crashed      whether each player has crashed.
+ */
+public record ReplayFrame(int round, int[] rows, int[] columns, int[] rowShifts, int[] columnShifts, boolean[] crashed) {
+}
@@ -0,0 +1,151 @@
+package it.unicam.formula1Game.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static it.unicam.formula1Game.replay.ReplayFormat.*;
+
+/**
+ * Reads a replay file through memory mapping, giving access to any of its races without reading the others.
+ * <p>
+ * The file is mapped in segments of at most {@link Integer#MAX_VALUE} bytes, each holding whole races,
+ * so files of any size can be read. Opening a file only visits the length of every race to index them.
+ */
+public class ReplayReader implements AutoCloseable {
+    /**
+     * The channel of the replay file.
+     */
+    private final FileChannel channel;
+    /**
+     * The mapped segments of the file.
+     */
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    /**
+     * The segment of every race.
+     */
+    private int[] raceSegments = new int[16];
+    /**
+     * The offset of every race in its segment.
+     */
+    private int[] raceOffsets = new int[16];
+    /**
+     * The number of races of the file.
+     */
+    private int races;
+
+    /**
+     * Constructs a {@code ReplayReader}, mapping and indexing the given file.
+     *
+     * @param file the path of the replay file.
+     * @throws IOException if the file cannot be read or is not a valid replay file.
+     */
+    public ReplayReader(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            checkHeader(this.channel);
+            index(this.channel.size());
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks that a file starts with the header of a replay file of a supported version.
+     *
+     * @param channel the channel of the file.
+     * @throws IOException if the header cannot be read or is not valid.
+     */
+    static void checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Not a replay file");
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getShort() != VERSION) {
+            throw new IOException("Not a replay file of version " + VERSION);
+        }
+    }
+
+    /**
+     * Maps the file and finds the offset of every race.
+     */
+    private void index(long size) throws IOException {
+        long position = FILE_HEADER_SIZE;
+        while (position < size) {
+            MappedByteBuffer segment = this.channel.map(FileChannel.MapMode.READ_ONLY, position,
+                    Math.min(size - position, Integer.MAX_VALUE));
+            int offset = 0;
+            while (offset + Integer.BYTES <= segment.limit()) {
+                int length = segment.getInt(offset);
+                if (length < RACE_HEADER_SIZE) {
+                    throw new IOException("Corrupted replay file at offset " + (position + offset));
+                }
+                if (offset + (long) length > segment.limit()) {
+                    break;
+                }
+                addRace(this.segments.size(), offset);
+                offset += length;
+            }
+            if (offset == 0) {
+                throw new IOException("Truncated replay file at offset " + position);
+            }
+            this.segments.add(segment);
+            position += offset;
+        }
+    }
+
+    private void addRace(int segment, int offset) {
+        if (this.races == this.raceOffsets.length) {
+            this.raceSegments = Arrays.copyOf(this.raceSegments, this.races * 2);
+            this.raceOffsets = Arrays.copyOf(this.raceOffsets, this.races * 2);
+        }
+        this.raceSegments[this.races] = segment;
+        this.raceOffsets[this.races] = offset;
+        this.races++;
+    }
+
+    /**
+     * Returns the number of races of the file.
+     *
+     * @return the number of races.
+     */
+    public int getRaceCount() {
+        return this.races;
+    }
+
+    /**
+     * Returns a race of the file.
+     *
+     * @param race the index of the race, in the order the races were written.
+     * @return the {@link RaceReplay} of the race.
+     * @throws IndexOutOfBoundsException if there is no such race.
+     */
+    public RaceReplay getRace(int race) {
+        if (race < 0 || race >= this.races) {
+            throw new IndexOutOfBoundsException("No race " + race + " in the replay file");
+        }
+        MappedByteBuffer segment = this.segments.get(this.raceSegments[race]);
+        int offset = this.raceOffsets[race];
+        return new RaceReplay(segment.slice(offset, segment.getInt(offset)));
+    }
+
+    /**
+     * Closes the replay file. The races already returned stay readable.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
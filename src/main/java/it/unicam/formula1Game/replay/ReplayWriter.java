@@ -0,0 +1,73 @@
+package it.unicam.formula1Game.replay;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static it.unicam.formula1Game.replay.ReplayFormat.*;
+
+/**
+ * Appends recorded races to a replay file, creating it if it does not exist.
+ * Races can be written concurrently by many threads; each race is written as a whole.
+ */
+public class ReplayWriter implements AutoCloseable {
+    /**
+     * The channel of the replay file.
+     */
+    private final FileChannel channel;
+    /**
+     * The position where the next race is written.
+     */
+    private long position;
+
+    /**
+     * Constructs a {@code ReplayWriter} that appends races to the given file.
+     *
+     * @param file the path of the replay file.
+     * @throws IOException if the file cannot be opened or is not a replay file.
+     */
+    public ReplayWriter(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            if (this.channel.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).putInt(MAGIC).putShort(VERSION).flip();
+                writeFully(header);
+            } else {
+                ReplayReader.checkHeader(this.channel);
+                this.position = this.channel.size();
+            }
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a race to the file.
+     *
+     * @param race the {@link RaceRecorder} of the race.
+     * @throws IOException if the race cannot be written.
+     */
+    public synchronized void write(RaceRecorder race) throws IOException {
+        writeFully(ByteBuffer.wrap(race.toByteArray()));
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            this.position += this.channel.write(buffer, this.position);
+        }
+    }
+
+    /**
+     * Closes the replay file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -31,4 +31,12 @@ public interface GameStrategy {
      * @param player The {@link CpuPlayer} to check.
      */
     void checkHasCrashed(CpuPlayer player);
+
+    /**
+     * Returns the identifier of the strategy, used to tell strategies apart in stored data,
+     * e.g. in a {@link TranspositionTable} or in a replay.
+     *
+     * @return the identifier of the strategy.
+     */
+    int getStrategyId();
 }
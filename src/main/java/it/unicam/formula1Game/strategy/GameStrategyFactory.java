@@ -0,0 +1,19 @@
+package it.unicam.formula1Game.strategy;
+
+import it.unicam.formula1Game.racetrack.RaceTrack;
+
+/**
+ * The {@code GameStrategyFactory} interface defines the contract for creating new {@link GameStrategy}
+ * instances bound to a {@link RaceTrack}.
+ * A factory is used whenever a fresh strategy is needed for each race, e.g. when many races run concurrently.
+ */
+@FunctionalInterface
+public interface GameStrategyFactory {
+    /**
+     * Creates a new {@link GameStrategy} for the given {@link RaceTrack}.
+     *
+     * @param raceTrack the {@link RaceTrack} where the strategy will be applied.
+     * @return a new {@link GameStrategy} instance.
+     */
+    GameStrategy create(RaceTrack raceTrack);
+}
@@ -1,7 +1,10 @@
 package it.unicam.formula1Game.strategy;
 
+import it.unicam.formula1Game.cell.CellType;
 import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.player.CpuPlayer;
 import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -47,13 +50,56 @@ public class StrategyUtils {
         Set<Coordinate> moves = new HashSet<>();
         for (int rowShift = -1; rowShift <= 1; rowShift++) {
             for (int colShift = -1; colShift <= 1; colShift++) {
-                Coordinate move = new Coordinate(principalPoint.getRow() + rowShift, principalPoint.getColumn() + colShift);
-                if (raceTrack.isWithinBoundaries(move)) {
-                    moves.add(move);
+                int row = principalPoint.getRow() + rowShift;
+                int column = principalPoint.getColumn() + colShift;
+                if (row >= 0 && row < raceTrack.getHeight() && column >= 0 && column < raceTrack.getWidth()) {
+                    moves.add(raceTrack.getCoordinate(row, column));
                 }
             }
         }
         return moves;
     }
 
+    /**
+     * Counts the moves that {@link #getAvailableMoves(Coordinate, RaceTrack)} returns for the given principal point,
+     * without building them.
+     *
+     * @param row       the row of the player's principal point.
+     * @param column    the column of the player's principal point.
+     * @param raceTrack The {@link RaceTrack} where the game is being played.
+     * @return the number of valid moves from the principal point.
+     */
+    public static int countAvailableMoves(int row, int column, RaceTrack raceTrack) {
+        int rows = Math.min(row + 1, raceTrack.getHeight() - 1) - Math.max(row - 1, 0) + 1;
+        int columns = Math.min(column + 1, raceTrack.getWidth() - 1) - Math.max(column - 1, 0) + 1;
+        return Math.max(rows, 0) * Math.max(columns, 0);
+    }
+
+    /**
+     * Tells what a move runs into along the whole segment from the player's position to the target,
+     * so that fast moves cannot jump over walls or skip past the finish line.
+     *
+     * @param position  The player's current position.
+     * @param move      The target of the move.
+     * @param raceTrack The {@link RaceTrack} where the game is being played.
+     * @return the {@link CellType} the move runs into, as computed by {@link TrackGrid#sweep(int, int, int, int)}.
+     */
+    public static CellType sweepMove(Coordinate position, Coordinate move, RaceTrack raceTrack) {
+        return raceTrack.getTrackGrid().sweep(position.getRow(), position.getColumn(),
+                move.getRow() - position.getRow(), move.getColumn() - position.getColumn());
+    }
+
+    /**
+     * Tells what the player's last move ran into along the whole segment from its previous position.
+     *
+     * @param player    The {@link CpuPlayer} whose last move is checked.
+     * @param raceTrack The {@link RaceTrack} where the game is being played.
+     * @return the {@link CellType} the last move ran into, as computed by {@link TrackGrid#sweep(int, int, int, int)}.
+     */
+    public static CellType sweepLastMove(CpuPlayer player, RaceTrack raceTrack) {
+        Coordinate position = player.getPosition();
+        Coordinate lastMove = player.getLastMove();
+        return raceTrack.getTrackGrid().sweep(position.getRow() - lastMove.getRow(), position.getColumn() - lastMove.getColumn(),
+                lastMove.getRow(), lastMove.getColumn());
+    }
 }
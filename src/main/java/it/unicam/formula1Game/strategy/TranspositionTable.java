@@ -0,0 +1,194 @@
+package it.unicam.formula1Game.strategy;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size, lock-free table of the moves chosen by strategies, shared by every strategy instance
+ * and every thread, so that a state decided once does not need to be evaluated again in later races.
+ * <p>
+ * An entry is looked up by a 64-bit key built from the track's fingerprint, the strategy and the state of the
+ * player, i.e. its position and last move. Entries are stored in buckets of two slots: a new entry goes
+ * in the first slot and moves the previous one to the second slot, evicting the oldest entry of the bucket.
+ * <p>
+ * Keys and data are written without locks. Every slot stores the key XOR-ed with the data, so an entry
+ * whose key and data come from different writers does not match any key and is read as a miss.
+ * The table never returns a move stored for another key, but concurrent writes may lose entries.
+ */
+public class TranspositionTable {
+    /**
+     * The number of slots of a bucket.
+     */
+    private static final int BUCKET_SIZE = 2;
+    /**
+     * The keys XOR-ed with the data of every slot.
+     */
+    private final AtomicLongArray keys;
+    /**
+     * The data of every slot: the score in the upper half and the move in the lower half.
+     */
+    private final AtomicLongArray data;
+    /**
+     * The mask selecting the bucket of a key.
+     */
+    private final int bucketMask;
+    /**
+     * The number of lookups that found an entry.
+     */
+    private final LongAdder hits = new LongAdder();
+    /**
+     * The number of lookups that did not find an entry.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs an empty {@code TranspositionTable}.
+     *
+     * @param capacity the number of entries, rounded up to a power of two.
+     * @throws IllegalArgumentException if the capacity is not positive or too large.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Invalid transposition table capacity");
+        }
+        int slots = Math.max(BUCKET_SIZE, Integer.highestOneBit(capacity - 1) << 1);
+        this.keys = new AtomicLongArray(slots);
+        this.data = new AtomicLongArray(slots);
+        this.bucketMask = slots / BUCKET_SIZE - 1;
+    }
+
+    /**
+     * Builds the key of a decision.
+     *
+     * @param trackFingerprint the fingerprint of the track, see {@link it.unicam.formula1Game.racetrack.RaceTrack#getFingerprint()}.
+     * @param strategyId       an identifier of the strategy and of its parameters.
+     * @param row              the row of the player's position.
+     * @param column           the column of the player's position.
+     * @param dRow             the row component of the player's last move.
+     * @param dColumn          the column component of the player's last move.
+     * @return the key, never <code>0</code>.
+     */
+    public static long key(long trackFingerprint, int strategyId, int row, int column, int dRow, int dColumn) {
+        long state = ((long) (row & 0xFFFF) << 48) | ((long) (column & 0xFFFF) << 32)
+                | ((long) (dRow & 0xFFFF) << 16) | (dColumn & 0xFFFF);
+        long key = mix(trackFingerprint ^ mix(state + strategyId * 0x9E3779B97F4A7C15L));
+        return key == 0 ? 1 : key;
+    }
+
+    /**
+     * Scrambles the bits of a value with the finalizer of MurmurHash3.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Packs a move and its score into the data of an entry.
+     *
+     * @param row    the row of the move's target.
+     * @param column the column of the move's target.
+     * @param score  the score of the move.
+     * @return the packed data.
+     */
+    public static long packEntry(int row, int column, float score) {
+        return ((long) Float.floatToRawIntBits(score) << 32) | ((row & 0xFFFFL) << 16) | (column & 0xFFFFL);
+    }
+
+    public static int entryRow(long entry) {
+        return (short) (entry >>> 16);
+    }
+
+    public static int entryColumn(long entry) {
+        return (short) entry;
+    }
+
+    public static float entryScore(long entry) {
+        return Float.intBitsToFloat((int) (entry >>> 32));
+    }
+
+    /**
+     * Looks up the entry stored for a key.
+     *
+     * @param key         the key, as built by {@link #key(long, int, int, int, int, int)}.
+     * @param absentValue the value returned if no entry is found.
+     * @return the packed data of the entry, or <code>absentValue</code> if not found.
+     */
+    public long probe(long key, long absentValue) {
+        int first = bucket(key);
+        for (int slot = first; slot < first + BUCKET_SIZE; slot++) {
+            long entry = this.data.get(slot);
+            if ((this.keys.get(slot) ^ entry) == key) {
+                this.hits.increment();
+                return entry;
+            }
+        }
+        this.misses.increment();
+        return absentValue;
+    }
+
+    /**
+     * Stores the entry of a key, replacing the previous entry of the same key if present,
+     * otherwise evicting the oldest entry of the bucket.
+     *
+     * @param key   the key, as built by {@link #key(long, int, int, int, int, int)}.
+     * @param entry the packed data, as built by {@link #packEntry(int, int, float)}.
+     */
+    public void store(long key, long entry) {
+        int first = bucket(key);
+        int second = first + 1;
+        long secondData = this.data.get(second);
+        if ((this.keys.get(second) ^ secondData) != key) {
+            long firstData = this.data.get(first);
+            long firstKey = this.keys.get(first) ^ firstData;
+            if (firstKey != key) {
+                // Demote the newest entry of the bucket to the second slot
+                this.data.set(second, firstData);
+                this.keys.set(second, firstKey ^ firstData);
+            }
+            second = first;
+        }
+        this.data.set(second, entry);
+        this.keys.set(second, key ^ entry);
+    }
+
+    private int bucket(long key) {
+        return ((int) (key ^ (key >>> 32)) & this.bucketMask) * BUCKET_SIZE;
+    }
+
+    /**
+     * Removes every entry and resets the statistics.
+     */
+    public void clear() {
+        for (int slot = 0; slot < this.keys.length(); slot++) {
+            this.keys.set(slot, 0);
+            this.data.set(slot, 0);
+        }
+        this.hits.reset();
+        this.misses.reset();
+    }
+
+    public int getCapacity() {
+        return this.keys.length();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups that found an entry.
+     *
+     * @return the hit rate, <code>0</code> if no lookup has been made.
+     */
+    public double getHitRate() {
+        long hits = this.hits.sum();
+        long lookups = hits + this.misses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+}
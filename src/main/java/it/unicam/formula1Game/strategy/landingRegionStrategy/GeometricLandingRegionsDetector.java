@@ -0,0 +1,263 @@
+package it.unicam.formula1Game.strategy.landingRegionStrategy;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.racetrack.DistanceField;
+import it.unicam.formula1Game.racetrack.FinishDistanceField;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code GeometricLandingRegionsDetector} class implements the {@link ILandingRegionsDetector} interface
+ * and finds the corners of any track from its geometry.
+ * <p>
+ * The track is cut into bands of cells at similar path distance from the finish line, as given by the
+ * {@link FinishDistanceField}. Since the distance follows the direction of the race, consecutive bands
+ * follow the track from the start to the finish line, and the centroids of the bands trace its centre line.
+ * A corner is a run of bands where the centre line turns by more than {@link #CORNER_ANGLE}, measured
+ * over {@link #TURN_SPAN} bands on each side; the band
+ * with the sharpest turn of each run becomes a landing region. Regions are ordered along the direction
+ * of travel and the finish line is added as the last region.
+ * <p>
+ * Detection takes three passes over the rows of the track, run in parallel on large tracks: one measures
+ * the lap and the width of the track, one the bands, and one collects the cells of the corner bands.
+ * Its result is memoized by track fingerprint for the
+ * {@link #MAX_MEMOIZED_TRACKS} most recently used tracks, so every race on the same track shares the same regions.
+ * The shared regions are immutable.
+ */
+public class GeometricLandingRegionsDetector implements ILandingRegionsDetector {
+    /**
+     * The minimum turn of the centre line, in radians, for a band to be part of a corner.
+     */
+    private static final double CORNER_ANGLE = Math.toRadians(30);
+    /**
+     * The number of bands before and after a band used to measure the turn of the centre line,
+     * smoothing the noise of the centroids.
+     */
+    private static final int TURN_SPAN = 2;
+    /**
+     * The number of cells above which the rows of the track are scanned in parallel.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    /**
+     * The number of tracks whose landing regions are memoized.
+     */
+    public static final int MAX_MEMOIZED_TRACKS = 16;
+    /**
+     * The landing regions already detected, by track fingerprint, from the least to the most recently used.
+     * Guarded by itself.
+     */
+    private static final Map<Long, List<LandingRegion>> DETECTED = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<LandingRegion>> eldest) {
+            return size() > MAX_MEMOIZED_TRACKS;
+        }
+    };
+
+    /**
+     * Detects the landing regions of the given {@link RaceTrack}, or returns the ones already
+     * detected for a track with the same fingerprint.
+     *
+     * @param raceTrack The {@link RaceTrack} to analyze for landing regions.
+     * @return An unmodifiable {@link List} of immutable {@link LandingRegion} objects, ordered along the direction of travel.
+     */
+    @Override
+    public List<LandingRegion> detectLandingRegions(RaceTrack raceTrack) {
+        long fingerprint = raceTrack.getFingerprint();
+        synchronized (DETECTED) {
+            List<LandingRegion> detected = DETECTED.get(fingerprint);
+            if (detected != null) {
+                return detected;
+            }
+        }
+        // The detection runs outside the lock, so concurrent first races on a track may both run it
+        List<LandingRegion> detected = detect(raceTrack);
+        synchronized (DETECTED) {
+            List<LandingRegion> previous = DETECTED.putIfAbsent(fingerprint, detected);
+            return previous == null ? detected : previous;
+        }
+    }
+
+    /**
+     * Runs the detection on a track, without looking up or filling the memo of detected regions.
+     *
+     * @param raceTrack The {@link RaceTrack} to analyze.
+     * @return An unmodifiable {@link List} of the detected immutable {@link LandingRegion} objects.
+     */
+    public List<LandingRegion> detect(RaceTrack raceTrack) {
+        TrackGrid grid = raceTrack.getTrackGrid();
+        FinishDistanceField finishDistances = raceTrack.getFinishDistanceField();
+        long[] track = measureTrack(grid, finishDistances, raceTrack.getDistanceField());
+        int lapLength = (int) track[0];
+        // Half the average width of the track, estimated as the average distance of the track cells from the closest wall
+        int bandWidth = track[2] == 0 ? 1 : (int) Math.max(2, track[1] / track[2]);
+        int bands = lapLength / bandWidth + 1;
+        long[] sums = measureBands(grid, finishDistances, lapLength, bandWidth, bands);
+        List<LandingRegion> landingRegions = new ArrayList<>();
+        for (List<Coordinate> cells : collectBands(raceTrack, findCornerBands(sums, bands), lapLength, bandWidth, bands)) {
+            landingRegions.add(LandingRegion.immutable(cells));
+        }
+        landingRegions.add(LandingRegion.immutable(raceTrack.getFinishCoordinates()));
+        return Collections.unmodifiableList(landingRegions);
+    }
+
+    /**
+     * Returns the rows of a track, to be scanned in parallel if the track is large.
+     */
+    private static IntStream rows(TrackGrid grid) {
+        IntStream rows = IntStream.range(0, grid.getHeight());
+        return (long) grid.getWidth() * grid.getHeight() >= PARALLEL_THRESHOLD ? rows.parallel() : rows;
+    }
+
+    /**
+     * Finds the largest finite distance from the finish line, i.e. the length of a lap, and sums the distances
+     * of the track cells from the closest wall, reducing the rows of the track.
+     *
+     * @return the lap length, the sum of the wall distances and the number of cells summed.
+     */
+    private long[] measureTrack(TrackGrid grid, FinishDistanceField finishDistances, DistanceField wallDistances) {
+        return rows(grid).collect(() -> new long[3], (track, row) -> {
+            for (int column = 0; column < grid.getWidth(); column++) {
+                int index = grid.index(row, column);
+                int distance = finishDistances.distance(index);
+                if (distance != FinishDistanceField.UNREACHABLE) {
+                    track[0] = Math.max(track[0], distance);
+                }
+                int wallDistance = wallDistances.chebyshevDistance(index);
+                if (wallDistance > 0) {
+                    track[1] += wallDistance;
+                    track[2]++;
+                }
+            }
+        }, (left, right) -> {
+            left[0] = Math.max(left[0], right[0]);
+            left[1] += right[1];
+            left[2] += right[2];
+        });
+    }
+
+    /**
+     * Computes the number of cells and the sums of their rows and columns for every band,
+     * reducing the rows of the track in parallel on large tracks.
+     * Band <code>0</code> is the farthest from the finish line, i.e. the one right after the start.
+     *
+     * @return the sums, as <code>(count, rowSum, columnSum)</code> triples indexed by band.
+     */
+    private long[] measureBands(TrackGrid grid, FinishDistanceField finishDistances, int lapLength, int bandWidth, int bands) {
+        return rows(grid).collect(() -> new long[3 * bands], (sums, row) -> {
+            for (int column = 0; column < grid.getWidth(); column++) {
+                int distance = finishDistances.distance(grid.index(row, column));
+                if (distance != FinishDistanceField.UNREACHABLE && distance > 0) {
+                    int band = (lapLength - distance) / bandWidth;
+                    sums[3 * band]++;
+                    sums[3 * band + 1] += row;
+                    sums[3 * band + 2] += column;
+                }
+            }
+        }, (left, right) -> {
+            for (int i = 0; i < left.length; i++) {
+                left[i] += right[i];
+            }
+        });
+    }
+
+    /**
+     * Finds the band with the sharpest turn of every run of bands where the centre line turns
+     * by more than {@link #CORNER_ANGLE}. Bands without cells are skipped.
+     *
+     * @param sums  the sums of every band, as computed by {@link #measureBands}.
+     * @param bands the number of bands.
+     * @return the indexes of the corner bands, from the start to the finish line.
+     */
+    private List<Integer> findCornerBands(long[] sums, int bands) {
+        List<double[]> centroids = new ArrayList<>();
+        List<Integer> centroidBands = new ArrayList<>();
+        for (int band = 0; band < bands; band++) {
+            long count = sums[3 * band];
+            if (count > 0) {
+                centroids.add(new double[]{(double) sums[3 * band + 1] / count, (double) sums[3 * band + 2] / count});
+                centroidBands.add(band);
+            }
+        }
+        List<Integer> corners = new ArrayList<>();
+        int sharpest = -1;
+        double sharpestTurn = 0;
+        for (int i = TURN_SPAN; i < centroids.size() - TURN_SPAN; i++) {
+            double turn = turnAngle(centroids.get(i - TURN_SPAN), centroids.get(i), centroids.get(i + TURN_SPAN));
+            if (turn >= CORNER_ANGLE) {
+                if (sharpest < 0 || turn > sharpestTurn) {
+                    sharpest = centroidBands.get(i);
+                    sharpestTurn = turn;
+                }
+            } else if (sharpest >= 0) {
+                corners.add(sharpest);
+                sharpest = -1;
+            }
+        }
+        if (sharpest >= 0) {
+            corners.add(sharpest);
+        }
+        return corners;
+    }
+
+    /**
+     * Computes the angle between the segment from <code>a</code> to <code>b</code> and the segment
+     * from <code>b</code> to <code>c</code>.
+     *
+     * @return the turn angle in radians, between <code>0</code> and <code>PI</code>.
+     */
+    private static double turnAngle(double[] a, double[] b, double[] c) {
+        double firstRow = b[0] - a[0], firstColumn = b[1] - a[1];
+        double secondRow = c[0] - b[0], secondColumn = c[1] - b[1];
+        double cross = firstRow * secondColumn - firstColumn * secondRow;
+        double dot = firstRow * secondRow + firstColumn * secondColumn;
+        return Math.abs(Math.atan2(cross, dot));
+    }
+
+    /**
+     * Collects the cells of the corner bands, reducing the rows of the track in a single pass.
+     *
+     * @param cornerBands the indexes of the corner bands, from the start to the finish line.
+     * @return the cells of every corner band, in the order of <code>cornerBands</code>.
+     */
+    private List<List<Coordinate>> collectBands(RaceTrack raceTrack, List<Integer> cornerBands, int lapLength,
+                                                int bandWidth, int bands) {
+        TrackGrid grid = raceTrack.getTrackGrid();
+        FinishDistanceField finishDistances = raceTrack.getFinishDistanceField();
+        int[] corners = new int[bands];
+        Arrays.fill(corners, -1);
+        for (int corner = 0; corner < cornerBands.size(); corner++) {
+            corners[cornerBands.get(corner)] = corner;
+        }
+        return rows(grid).collect(() -> newCellLists(cornerBands.size()), (cells, row) -> {
+            for (int column = 0; column < grid.getWidth(); column++) {
+                int distance = finishDistances.distance(grid.index(row, column));
+                if (distance != FinishDistanceField.UNREACHABLE && distance > 0) {
+                    int corner = corners[(lapLength - distance) / bandWidth];
+                    if (corner >= 0) {
+                        cells.get(corner).add(raceTrack.getCoordinate(row, column));
+                    }
+                }
+            }
+        }, (left, right) -> {
+            for (int corner = 0; corner < left.size(); corner++) {
+                left.get(corner).addAll(right.get(corner));
+            }
+        });
+    }
+
+    private static List<List<Coordinate>> newCellLists(int size) {
+        List<List<Coordinate>> cells = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cells.add(new ArrayList<>());
+        }
+        return cells;
+    }
+}
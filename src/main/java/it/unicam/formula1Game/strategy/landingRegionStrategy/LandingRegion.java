@@ -2,26 +2,51 @@ package it.unicam.formula1Game.strategy.landingRegionStrategy;
 
 import it.unicam.formula1Game.cell.Coordinate;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Set;
 
 /**
  * Represents a landing region within the game grid.
  * A landing region corresponds to a critical point of interest (e.g. corner) on the {@link it.unicam.formula1Game.racetrack.RaceTrack}
  * where players must adjust their strategy for optimal performance.
+ * <p>
+ * Distance queries are answered in constant time from an index built on first use:
+ * the prefix sums of the region's row and column histograms give the average Manhattan distance,
+ * and a distance transform over the region's bounding box gives the minimum one.
+ * Adding a cell discards the index, which is rebuilt by the next query.
  */
 public class LandingRegion {
     private final Set<Coordinate> cells;
-    private int width;
-    private int height;
+    /**
+     * The distance index of the region, <code>null</code> until the first query.
+     */
+    private volatile DistanceIndex distanceIndex;
 
     public LandingRegion(Set<Coordinate> cells) {
         this.cells = cells;
-        this.width = 0;
-        this.height = 0;
     }
 
+    /**
+     * Creates a landing region whose cells cannot change, so that it can be shared by every race on a track.
+     *
+     * @param cells the cells of the region, copied.
+     * @return the immutable {@code LandingRegion}.
+     */
+    public static LandingRegion immutable(Collection<Coordinate> cells) {
+        return new LandingRegion(Set.copyOf(cells));
+    }
+
+    /**
+     * Adds a cell to the region.
+     *
+     * @param coordinate the {@link Coordinate} of the cell.
+     * @throws UnsupportedOperationException if the region is {@link #immutable(Collection) immutable}.
+     */
     public void addNewCell(Coordinate coordinate) {
         this.cells.add(coordinate);
+        this.distanceIndex = null;
     }
 
     /**
@@ -30,10 +55,7 @@ public class LandingRegion {
      * @return The width of the landing region.
      */
     public int getWidth() {
-        if (width == 0) {
-            calculateDimensions();
-        }
-        return width;
+        return getDistanceIndex().columns;
     }
 
     /**
@@ -42,28 +64,190 @@ public class LandingRegion {
      * @return The height of the landing region.
      */
     public int getHeight() {
-        if (height == 0) {
-            calculateDimensions();
-        }
-        return height;
+        return getDistanceIndex().rows;
     }
 
+    /**
+     * Returns a read-only view of the region's cells.
+     *
+     * @return an unmodifiable {@link Set} of the cells.
+     */
     public Set<Coordinate> getCells() {
-        return cells;
+        return Collections.unmodifiableSet(this.cells);
+    }
+
+    /**
+     * Calculates the average Manhattan distance between a coordinate and the cells of the region.
+     *
+     * @param coordinate The {@link Coordinate} to evaluate.
+     * @return The average distance, {@link Double#MAX_VALUE} if the region is empty.
+     */
+    public double averageDistance(Coordinate coordinate) {
+        DistanceIndex index = getDistanceIndex();
+        if (index.size == 0) {
+            return Double.MAX_VALUE;
+        }
+        long total = index.rowHistogram.sumOfDistances(coordinate.getRow())
+                + index.columnHistogram.sumOfDistances(coordinate.getColumn());
+        return (double) total / index.size;
+    }
+
+    /**
+     * Calculates the minimum Manhattan distance between a coordinate and the cells of the region.
+     *
+     * @param coordinate The {@link Coordinate} to evaluate.
+     * @return The minimum distance, {@link Integer#MAX_VALUE} if the region is empty.
+     */
+    public int minimumDistance(Coordinate coordinate) {
+        DistanceIndex index = getDistanceIndex();
+        if (index.size == 0) {
+            return Integer.MAX_VALUE;
+        }
+        // Outside the bounding box, the closest cell is reached through the closest point of the box
+        int row = Math.min(Math.max(coordinate.getRow(), index.minRow), index.minRow + index.rows - 1);
+        int column = Math.min(Math.max(coordinate.getColumn(), index.minColumn), index.minColumn + index.columns - 1);
+        int outside = Math.abs(coordinate.getRow() - row) + Math.abs(coordinate.getColumn() - column);
+        return outside + index.distances[(row - index.minRow) * index.columns + column - index.minColumn];
+    }
+
+    /**
+     * Returns the distance index of the region, building it if needed.
+     * Concurrent callers may build the index more than once, but always get an equivalent one.
+     *
+     * @return The {@link DistanceIndex} of the region.
+     */
+    private DistanceIndex getDistanceIndex() {
+        DistanceIndex index = this.distanceIndex;
+        if (index == null) {
+            index = new DistanceIndex(this.cells);
+            this.distanceIndex = index;
+        }
+        return index;
     }
 
     /**
-     * Calculates the width and height of the landing region based on its cells
-     * and caches the results.
+     * The cumulative histogram of the cells along one axis.
      */
-    private void calculateDimensions() {
-        int minRow = cells.stream().mapToInt(Coordinate::getRow).min().orElse(0);
-        int maxRow = cells.stream().mapToInt(Coordinate::getRow).max().orElse(0);
-        int minCol = cells.stream().mapToInt(Coordinate::getColumn).min().orElse(0);
-        int maxCol = cells.stream().mapToInt(Coordinate::getColumn).max().orElse(0);
-
-        this.width = maxCol - minCol + 1;
-        this.height = maxRow - minRow + 1;
+    private static class Histogram {
+        /**
+         * The first coordinate covered by the histogram.
+         */
+        private final int min;
+        /**
+         * The number of cells at a coordinate lower or equal to <code>min + i</code>.
+         */
+        private final long[] counts;
+        /**
+         * The sum of the coordinates of the cells at a coordinate lower or equal to <code>min + i</code>.
+         */
+        private final long[] sums;
+
+        Histogram(int min, int length) {
+            this.min = min;
+            this.counts = new long[length];
+            this.sums = new long[length];
+        }
+
+        void add(int value) {
+            this.counts[value - this.min]++;
+            this.sums[value - this.min] += value;
+        }
+
+        void accumulate() {
+            for (int i = 1; i < this.counts.length; i++) {
+                this.counts[i] += this.counts[i - 1];
+                this.sums[i] += this.sums[i - 1];
+            }
+        }
+
+        /**
+         * Computes the sum of the distances, along this axis, between the given coordinate and every cell.
+         */
+        long sumOfDistances(int value) {
+            int last = this.counts.length - 1;
+            long size = this.counts[last];
+            long total = this.sums[last];
+            int i = Math.min(value - this.min, last);
+            long below = i < 0 ? 0 : this.counts[i];
+            long belowSum = i < 0 ? 0 : this.sums[i];
+            return value * below - belowSum + (total - belowSum) - value * (size - below);
+        }
     }
 
+    /**
+     * The precomputed data answering the distance queries of a region.
+     */
+    private static class DistanceIndex {
+        private final int size;
+        private final int minRow;
+        private final int minColumn;
+        private final int rows;
+        private final int columns;
+        private final Histogram rowHistogram;
+        private final Histogram columnHistogram;
+        /**
+         * The Manhattan distance from every cell of the bounding box to the closest cell of the region.
+         */
+        private final int[] distances;
+
+        DistanceIndex(Set<Coordinate> cells) {
+            this.size = cells.size();
+            int minRow = Integer.MAX_VALUE, maxRow = Integer.MIN_VALUE;
+            int minColumn = Integer.MAX_VALUE, maxColumn = Integer.MIN_VALUE;
+            for (Coordinate cell : cells) {
+                minRow = Math.min(minRow, cell.getRow());
+                maxRow = Math.max(maxRow, cell.getRow());
+                minColumn = Math.min(minColumn, cell.getColumn());
+                maxColumn = Math.max(maxColumn, cell.getColumn());
+            }
+            if (this.size == 0) {
+                minRow = maxRow = minColumn = maxColumn = 0;
+            }
+            this.minRow = minRow;
+            this.minColumn = minColumn;
+            this.rows = maxRow - minRow + 1;
+            this.columns = maxColumn - minColumn + 1;
+            this.rowHistogram = new Histogram(minRow, this.rows);
+            this.columnHistogram = new Histogram(minColumn, this.columns);
+            this.distances = new int[this.rows * this.columns];
+            Arrays.fill(this.distances, Integer.MAX_VALUE / 2);
+            for (Coordinate cell : cells) {
+                this.rowHistogram.add(cell.getRow());
+                this.columnHistogram.add(cell.getColumn());
+                this.distances[(cell.getRow() - minRow) * this.columns + cell.getColumn() - minColumn] = 0;
+            }
+            this.rowHistogram.accumulate();
+            this.columnHistogram.accumulate();
+            computeDistances();
+        }
+
+        /**
+         * Computes the exact Manhattan distance transform of the bounding box with a forward and a backward sweep.
+         */
+        private void computeDistances() {
+            int[] d = this.distances;
+            for (int row = 0; row < this.rows; row++) {
+                for (int column = 0; column < this.columns; column++) {
+                    int i = row * this.columns + column;
+                    if (row > 0) {
+                        d[i] = Math.min(d[i], d[i - this.columns] + 1);
+                    }
+                    if (column > 0) {
+                        d[i] = Math.min(d[i], d[i - 1] + 1);
+                    }
+                }
+            }
+            for (int row = this.rows - 1; row >= 0; row--) {
+                for (int column = this.columns - 1; column >= 0; column--) {
+                    int i = row * this.columns + column;
+                    if (row < this.rows - 1) {
+                        d[i] = Math.min(d[i], d[i + this.columns] + 1);
+                    }
+                    if (column < this.columns - 1) {
+                        d[i] = Math.min(d[i], d[i + 1] + 1);
+                    }
+                }
+            }
+        }
+    }
 }
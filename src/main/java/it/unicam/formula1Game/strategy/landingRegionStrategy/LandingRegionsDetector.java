@@ -69,9 +69,7 @@ public class LandingRegionsDetector implements ILandingRegionsDetector {
      * @param raceTrack      The {@link RaceTrack} from which to extract finish line coordinates.
      */
     private void addFinishLine(List<LandingRegion> landingRegions, RaceTrack raceTrack) {
-        LandingRegion finishLine = new LandingRegion(new HashSet<>());
-        finishLine.getCells().addAll(raceTrack.getFinishCoordinates());
-        landingRegions.add(finishLine);
+        landingRegions.add(new LandingRegion(new HashSet<>(raceTrack.getFinishCoordinates())));
     }
 
     /**
@@ -85,9 +83,8 @@ public class LandingRegionsDetector implements ILandingRegionsDetector {
         List<Coordinate> track = new ArrayList<>();
         for (int row = 0; row < raceTrack.getHeight(); row++) {
             for (int col = 0; col < raceTrack.getWidth(); col++) {
-                Coordinate coordinate = new Coordinate(row, col);
-                if (raceTrack.getCellAt(coordinate).cellType() != CellType.WALL) {
-                    track.add(coordinate);
+                if (raceTrack.getTrackGrid().cellTypeAt(row, col) != CellType.WALL) {
+                    track.add(raceTrack.getCoordinate(row, col));
                 }
             }
         }
@@ -15,11 +15,20 @@ import static it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegio
 
 /**
  * Implements a strategy for navigating a racetrack by focusing on {@link LandingRegion} objects.
+ * <p>
+ * Each player keeps the index of the next landing region to reach as its strategy progress,
+ * so the strategy itself is immutable and can be shared by any number of players and concurrent races.
  */
 public class LandingRegionsStrategy implements GameStrategy {
+    /**
+     * The identifier of this strategy in stored data.
+     */
+    private static final int STRATEGY_ID = 2;
     private final RaceTrack raceTrack;
-    private final ILandingRegionsDetector landingRegionsDetector;
-    private final Map<LandingRegion, Boolean> landingRegions = new LinkedHashMap<>();
+    /**
+     * The landing regions to reach, in order.
+     */
+    private final List<LandingRegion> landingRegions;
     private final static double DISTANCE_WEIGHT = 0.7;
     private final static double VELOCITY_WEIGHT = 0.3;
     private final static double MAX_WEIGHT = Double.MAX_VALUE;
@@ -33,20 +42,7 @@ public class LandingRegionsStrategy implements GameStrategy {
      */
     public LandingRegionsStrategy(RaceTrack raceTrack, ILandingRegionsDetector landingRegionsDetector) {
         this.raceTrack = raceTrack;
-        this.landingRegionsDetector = landingRegionsDetector;
-        initializeLandingRegions();
-    }
-
-    /**
-     * Initializes the landing regions for the strategy using the {@link LandingRegionsDetector} object.
-     * Each detected {@link LandingRegion} in the {@link RaceTrack} is added to the internal map,
-     * with its visited status set to {@code false}.
-     */
-    private void initializeLandingRegions() {
-        List<LandingRegion> landingRegions = landingRegionsDetector.detectLandingRegions(raceTrack);
-        for (LandingRegion landingRegion : landingRegions) {
-            this.landingRegions.put(landingRegion, false);
-        }
+        this.landingRegions = List.copyOf(landingRegionsDetector.detectLandingRegions(raceTrack));
     }
 
     /**
@@ -62,13 +58,13 @@ public class LandingRegionsStrategy implements GameStrategy {
         Set<Coordinate> availableMoves = getAvailableMoves(player);
         if (!availableMoves.isEmpty()) {
             // Get the next unvisited landing region
-            LandingRegion nextLandingRegion = getFirstUnvisitedLandingRegion();
-            List<WeightedMove> weightedMoves = evaluateMoves(availableMoves, player.getPosition(), nextLandingRegion);
+            int progress = player.getStrategyProgress();
+            List<WeightedMove> weightedMoves = evaluateMoves(availableMoves, player.getPosition(), progress);
             if (!weightedMoves.isEmpty()) {
                 // Choose the move with the highest weight
                 Coordinate chosenMove = chooseMove(weightedMoves);
                 // Check if the chosen move is inside the next unvisited landing region
-                updateVisitedLandingRegions(chosenMove);
+                updateVisitedLandingRegions(player, progress, chosenMove);
                 player.makeMove(chosenMove);
                 checkHasCrashed(player);
                 return;
@@ -92,16 +88,18 @@ public class LandingRegionsStrategy implements GameStrategy {
     }
 
     /**
-     * Updates the visited status of the next landing region.
-     * If the given {@link Coordinate} belongs to the first unvisited {@link LandingRegion},
-     * the region is marked as visited.
+     * Updates the player's progress.
+     * If the given {@link Coordinate} belongs to the next {@link LandingRegion} to reach,
+     * the region is marked as visited by moving the player's progress to the following one.
      *
+     * @param player     The {@link CpuPlayer} making the move.
+     * @param progress   The index of the next landing region to reach.
      * @param coordinate The {@link Coordinate} of the move to evaluate.
      */
-    private void updateVisitedLandingRegions(Coordinate coordinate) {
-        LandingRegion next = getFirstUnvisitedLandingRegion();
+    private void updateVisitedLandingRegions(CpuPlayer player, int progress, Coordinate coordinate) {
+        LandingRegion next = getLandingRegion(progress);
         if (next != null && next.getCells().contains(coordinate)) {
-            landingRegions.put(next, true); // Mark as visited
+            player.setStrategyProgress(progress + 1);
         }
     }
 
@@ -112,11 +110,13 @@ public class LandingRegionsStrategy implements GameStrategy {
      * @param move              The {@link Coordinate} representing the move to evaluate.
      * @param playerPosition    The current position of the player.
      * @param nextLandingRegion The next unvisited {@link LandingRegion}.
+     * @param secondNextRegion  The unvisited {@link LandingRegion} after the next one, {@code null} if none exists.
      * @param maxVelocity       The maximum recommended velocity for the target landing region.
      * @return A {@link WeightedMove} object containing the move and its calculated weight.
      */
-    private WeightedMove evaluateSingleMove(Coordinate move, Coordinate playerPosition, LandingRegion nextLandingRegion, double maxVelocity) {
-        CellType cellType = this.raceTrack.getCellAt(move).cellType();
+    private WeightedMove evaluateSingleMove(Coordinate move, Coordinate playerPosition, LandingRegion nextLandingRegion,
+                                            LandingRegion secondNextRegion, double maxVelocity) {
+        CellType cellType = StrategyUtils.sweepMove(playerPosition, move, this.raceTrack);
         if (cellType == CellType.FINISH) {
             return new WeightedMove(move, MAX_WEIGHT);
         } else if (cellType == CellType.WALL) {
@@ -126,7 +126,7 @@ public class LandingRegionsStrategy implements GameStrategy {
         double averageDistance = calculateAverageDistance(move, nextLandingRegion);
         double weight = calculateWeight(theoreticalVelocity, averageDistance, maxVelocity);
         if (weight == 1) {
-            return new WeightedMove(move, adjustWeight(weight, move, nextLandingRegion));
+            return new WeightedMove(move, adjustWeight(weight, move, secondNextRegion));
         }
         return new WeightedMove(move, weight);
     }
@@ -134,68 +134,42 @@ public class LandingRegionsStrategy implements GameStrategy {
     /**
      * Evaluates the available moves by assigning weights based on their distance to the next unvisited landing region.
      *
-     * @param availableMoves    A set of available {@link Coordinate} objects for the player.
-     * @param playerPosition    The {@link CpuPlayer} current position.
-     * @param nextLandingRegion The first unvisited {@link LandingRegion} towards which the player is moving.
+     * @param availableMoves A set of available {@link Coordinate} objects for the player.
+     * @param playerPosition The {@link CpuPlayer} current position.
+     * @param progress       The index of the first unvisited {@link LandingRegion} towards which the player is moving.
      * @return A list of {@link WeightedMove} objects representing the moves and their corresponding weights.
      */
-    private List<WeightedMove> evaluateMoves(Set<Coordinate> availableMoves, Coordinate playerPosition, LandingRegion nextLandingRegion) {
+    private List<WeightedMove> evaluateMoves(Set<Coordinate> availableMoves, Coordinate playerPosition, int progress) {
+        LandingRegion nextLandingRegion = getLandingRegion(progress);
         if (nextLandingRegion == null) {
             return List.of(); // No moves to evaluate if there's no next region
         }
+        LandingRegion secondNextRegion = getLandingRegion(progress + 1);
         double maxVelocity = calculateMaxVelocity(nextLandingRegion, this.raceTrack);
         return availableMoves.stream()
-                .map(move -> evaluateSingleMove(move, playerPosition, nextLandingRegion, maxVelocity))
+                .map(move -> evaluateSingleMove(move, playerPosition, nextLandingRegion, secondNextRegion, maxVelocity))
                 .toList();
 
     }
 
     /**
-     * Adjusts the weight of a move based on its proximity to the next unvisited landing region
-     * and the following unvisited region, if it exists.
-     * The method calculates the distance of the move to the second-next unvisited landing region
-     * for a more refined weight adjustment.
+     * Adjusts the weight of a move based on its proximity to the unvisited landing region
+     * that follows the one currently targeted, if it exists.
      *
-     * @param weight        The initial weight of the move.
-     * @param move          The {@link Coordinate} representing the player's potential move.
-     * @param currentRegion The {@link LandingRegion} currently being targeted.
+     * @param weight           The initial weight of the move.
+     * @param move             The {@link Coordinate} representing the player's potential move.
+     * @param secondNextRegion The {@link LandingRegion} after the one currently targeted, {@code null} if none exists.
      * @return The final adjusted weight.
      */
-    private double adjustWeight(double weight, Coordinate move, LandingRegion currentRegion) {
-        // Find the next unvisited landing region
-        LandingRegion secondNextUnvisited = findNextUnvisitedRegion(currentRegion);
+    private double adjustWeight(double weight, Coordinate move, LandingRegion secondNextRegion) {
         // Modify the weight based on the next unvisited region
-        if (secondNextUnvisited != null) {
-            double distance = calculateMinimumDistance(move, secondNextUnvisited);
+        if (secondNextRegion != null) {
+            double distance = calculateMinimumDistance(move, secondNextRegion);
             weight += 1 / (1 + distance); // Adjust weight based on proximity to the second-next region
         }
         return weight;
     }
 
-    /**
-     * Finds the next unvisited {@link LandingRegion} after the specified region
-     * in the {@link LinkedHashMap}.
-     *
-     * @param currentRegion The {@link LandingRegion} to start searching from.
-     * @return The next unvisited {@link LandingRegion}, or {@code null} if none exists.
-     */
-    private LandingRegion findNextUnvisitedRegion(LandingRegion currentRegion) {
-        boolean foundCurrent = false;
-        for (Map.Entry<LandingRegion, Boolean> entry : this.landingRegions.entrySet()) {
-            if (foundCurrent && !entry.getValue()) {
-                // Return the first unvisited region found after the current one
-                return entry.getKey();
-            }
-            // Mark when the current region is found
-            if (entry.getKey().equals(currentRegion)) {
-                foundCurrent = true;
-            }
-        }
-        // Return null if no unvisited region is found after the current region
-        return null;
-    }
-
-
     /**
      * Calculates the weight of a potential move based on its theoretical velocity,
      * distance to the target landing region, and the maximum recommended velocity.
@@ -222,17 +196,13 @@ public class LandingRegionsStrategy implements GameStrategy {
     }
 
     /**
-     * Retrieves the first {@link LandingRegion} mapped to a {@code false} value in the landingRegions map.
+     * Retrieves the {@link LandingRegion} at the given position along the track.
      *
-     * @return The first {@link LandingRegion} with a {@code false} value, or {@code null} if none exist.
+     * @param index The index of the landing region, i.e. a player's progress.
+     * @return The {@link LandingRegion}, or {@code null} if all the regions have been visited.
      */
-    private LandingRegion getFirstUnvisitedLandingRegion() {
-        for (Map.Entry<LandingRegion, Boolean> entry : this.landingRegions.entrySet()) {
-            if (!entry.getValue()) {
-                return entry.getKey();
-            }
-        }
-        return null; // Return null if no LandingRegion is mapped to false
+    private LandingRegion getLandingRegion(int index) {
+        return index < this.landingRegions.size() ? this.landingRegions.get(index) : null;
     }
 
 
@@ -255,11 +225,16 @@ public class LandingRegionsStrategy implements GameStrategy {
      */
     @Override
     public void checkHasCrashed(CpuPlayer player) {
-        if (this.raceTrack.getCellAt(player.getPosition()).cellType() == CellType.WALL) {
+        if (StrategyUtils.sweepLastMove(player, this.raceTrack) == CellType.WALL) {
             player.setHasCrashed(true);
         }
     }
 
+    @Override
+    public int getStrategyId() {
+        return STRATEGY_ID;
+    }
+
     @Override
     public String toString() {
         return "LandingRegionsStrategy";
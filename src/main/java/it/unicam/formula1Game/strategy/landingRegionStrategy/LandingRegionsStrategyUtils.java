@@ -2,7 +2,6 @@ package it.unicam.formula1Game.strategy.landingRegionStrategy;
 
 import it.unicam.formula1Game.cell.Coordinate;
 import it.unicam.formula1Game.racetrack.RaceTrack;
-import it.unicam.formula1Game.strategy.StrategyUtils;
 
 /**
  * Defines helper methods to handle calculations over movement decisions such as velocity and distance.
@@ -28,30 +27,26 @@ public class LandingRegionsStrategyUtils {
 
     /**
      * Calculates the minimum distance between a move and the cells in the specified landing region.
+     * The distance is read from the region's distance transform in constant time.
      *
      * @param move          The {@link Coordinate} representing the player's potential move.
      * @param landingRegion The {@link LandingRegion} to evaluate against.
      * @return The minimum distance between the move and the cells in the landing region.
      */
     public static int calculateMinimumDistance(Coordinate move, LandingRegion landingRegion) {
-        return landingRegion.getCells().stream()
-                .mapToInt(coordinate -> StrategyUtils.calculateDistance(move, coordinate))
-                .min()
-                .orElse(Integer.MAX_VALUE);
+        return landingRegion.minimumDistance(move);
     }
 
     /**
      * Calculates the average distance between a move and the cells in the specified landing region.
+     * The distance is computed from the prefix sums of the region's histograms in constant time.
      *
      * @param move          The {@link Coordinate} representing the player's potential move.
      * @param landingRegion The {@link LandingRegion} to evaluate against.
      * @return The average distance between the move and the cells in the landing region.
      */
     public static double calculateAverageDistance(Coordinate move, LandingRegion landingRegion) {
-        return landingRegion.getCells().stream()
-                .mapToInt(coordinate -> StrategyUtils.calculateDistance(move, coordinate))
-                .average()
-                .orElse(Double.MAX_VALUE); // Return a large value if there are no cells
+        return landingRegion.averageDistance(move);
     }
 
 }
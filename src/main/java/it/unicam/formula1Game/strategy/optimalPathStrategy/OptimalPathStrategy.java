@@ -0,0 +1,132 @@
+package it.unicam.formula1Game.strategy.optimalPathStrategy;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.GameStrategy;
+import it.unicam.formula1Game.strategy.StrategyUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code OptimalPathStrategy} class implements the {@link GameStrategy} interface and drives the player
+ * along a minimum-round path to the finish line, planned by a {@link VectorRaceSolver}.
+ * <p>
+ * Plans are stored as a policy that maps every state of a planned path to the velocity of the next move,
+ * so the search only runs when a player reaches a state that has not been planned yet.
+ * The policy can be shared by all the players using this strategy.
+ */
+public class OptimalPathStrategy implements GameStrategy {
+    /**
+     * The identifier of this strategy in stored data.
+     */
+    private static final int STRATEGY_ID = 3;
+    /**
+     * The {@link RaceTrack} where the game takes place.
+     */
+    private final RaceTrack raceTrack;
+    /**
+     * The velocity of the next move, packed as a {@link Coordinate}, for every planned state.
+     */
+    private final Map<Long, Long> policy = new ConcurrentHashMap<>();
+    /**
+     * The solver of each thread planning on this track.
+     */
+    private final ThreadLocal<VectorRaceSolver> solvers;
+
+    /**
+     * Constructs a new {@code OptimalPathStrategy} with the specified racetrack.
+     *
+     * @param raceTrack the {@link RaceTrack} where the game is being played.
+     */
+    public OptimalPathStrategy(RaceTrack raceTrack) {
+        this.raceTrack = raceTrack;
+        this.solvers = ThreadLocal.withInitial(() -> new VectorRaceSolver(raceTrack));
+    }
+
+    /**
+     * Applies the optimal strategy to the {@link CpuPlayer}.
+     * The player follows the planned path; if the finish line cannot be reached,
+     * it keeps its velocity and crashes as soon as it hits a wall.
+     *
+     * @param player the {@link CpuPlayer} using this strategy.
+     */
+    @Override
+    public void applyStrategy(CpuPlayer player) {
+        Coordinate position = player.getPosition();
+        Coordinate lastMove = player.getLastMove();
+        Long velocity = plan(VectorRaceSolver.pack(position.getRow(), position.getColumn(),
+                lastMove.getRow(), lastMove.getColumn()));
+        Coordinate move = velocity == null
+                ? player.calculatePrincipalPoint()
+                : new Coordinate(position.getRow() + (int) (velocity >> 32), position.getColumn() + velocity.intValue());
+        if (!getAvailableMoves(player).contains(move)) {
+            player.setHasCrashed(true);
+            return;
+        }
+        player.makeMove(this.raceTrack.getCoordinate(move.getRow(), move.getColumn()));
+        checkHasCrashed(player);
+    }
+
+    /**
+     * Returns the velocity of the next move from a state, planning a new path if needed.
+     *
+     * @param state the packed state of the player.
+     * @return the velocity packed as a {@link Coordinate}, <code>null</code> if the finish line cannot be reached.
+     */
+    private Long plan(long state) {
+        if (VectorRaceSolver.row(state) >= this.raceTrack.getHeight() || VectorRaceSolver.column(state) >= this.raceTrack.getWidth()) {
+            return null;
+        }
+        Long velocity = this.policy.get(state);
+        if (velocity == null) {
+            long[] path = this.solvers.get().solve(state);
+            if (path == null) {
+                return null;
+            }
+            for (int i = 0; i < path.length - 1; i++) {
+                this.policy.put(path[i], Coordinate.pack(VectorRaceSolver.rowVelocity(path[i + 1]),
+                        VectorRaceSolver.columnVelocity(path[i + 1])));
+            }
+            velocity = this.policy.get(state);
+        }
+        return velocity;
+    }
+
+    /**
+     * Computes all possible moves for the {@link CpuPlayer} that are within the {@link RaceTrack} boundaries.
+     *
+     * @param player the {@link CpuPlayer} whose moves are being computed.
+     * @return A {@link Set} of {@link Coordinate} objects representing valid moves.
+     */
+    @Override
+    public Set<Coordinate> getAvailableMoves(CpuPlayer player) {
+        return StrategyUtils.getAvailableMoves(player.calculatePrincipalPoint(), this.raceTrack);
+    }
+
+    /**
+     * Checks if the specified player has crashed based on their current position.
+     * If the player crashes into a {@link CellType#WALL}, their {@code hasCrashed} field is set to {@code true}.
+     *
+     * @param player The {@link CpuPlayer} to check.
+     */
+    @Override
+    public void checkHasCrashed(CpuPlayer player) {
+        if (StrategyUtils.sweepLastMove(player, this.raceTrack) == CellType.WALL) {
+            player.setHasCrashed(true);
+        }
+    }
+
+    @Override
+    public int getStrategyId() {
+        return STRATEGY_ID;
+    }
+
+    @Override
+    public String toString() {
+        return "OptimalPathStrategy";
+    }
+}
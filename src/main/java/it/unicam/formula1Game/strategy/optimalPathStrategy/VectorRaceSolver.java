@@ -0,0 +1,433 @@
+package it.unicam.formula1Game.strategy.optimalPathStrategy;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.racetrack.FinishDistanceField;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
+
+import java.util.Arrays;
+
+/**
+ * Finds a minimum-round path to the finish line with an A* search over the states
+ * <code>(row, column, dRow, dColumn)</code> of a player.
+ * <p>
+ * From every state the player can change each component of its velocity by at most one, as in
+ * {@link it.unicam.formula1Game.strategy.StrategyUtils#getAvailableMoves}, and land on any cell of the track
+ * as long as the segment of the move does not run into a wall. A move wins when its segment reaches the
+ * finish line while travelling in the departure direction of the {@link FinishDistanceField}.
+ * <p>
+ * The heuristic is the smallest number of rounds needed to cover the wall-aware distance to the finish line
+ * when accelerating at every round, which never overestimates the real cost.
+ * States are packed into <code>long</code> values and stored in primitive open-addressing tables
+ * and a binary heap, so that no object is allocated per visited state.
+ * A solver is not thread safe.
+ */
+public class VectorRaceSolver {
+    /**
+     * The marker of the free slots of the state table.
+     */
+    private static final long EMPTY = -1L;
+    /**
+     * The initial capacity of the state table, a power of two.
+     */
+    private static final int INITIAL_CAPACITY = 1 << 12;
+    /**
+     * The largest number of states a single expansion can add to the table.
+     */
+    private static final int MAX_SUCCESSORS = 9;
+    /**
+     * The {@link TrackGrid} of the track.
+     */
+    private final TrackGrid grid;
+    /**
+     * The distance to the finish line of every cell.
+     */
+    private final FinishDistanceField finishDistances;
+    /**
+     * The capacity of the state table when it is first allocated.
+     */
+    private final int initialCapacity;
+    /**
+     * The keys of the state table.
+     */
+    private long[] states;
+    /**
+     * The cost of the best known path to each state.
+     */
+    private int[] costs;
+    /**
+     * The heuristic of each state.
+     */
+    private int[] estimates;
+    /**
+     * The slot of the predecessor of each state, <code>-1</code> for the starting state.
+     */
+    private int[] parents;
+    /**
+     * The number of states in the table.
+     */
+    private int size;
+    /**
+     * The open set, as entries with the estimated total cost in the upper half and the slot in the lower half.
+     */
+    private long[] heap;
+    /**
+     * The number of entries in the heap.
+     */
+    private int heapSize;
+
+    /**
+     * Constructs a {@code VectorRaceSolver} for the given track.
+     *
+     * @param raceTrack the {@link RaceTrack} where the game is being played.
+     * @throws IllegalArgumentException if the track is too large for the packed states.
+     */
+    public VectorRaceSolver(RaceTrack raceTrack) {
+        this(raceTrack, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs a {@code VectorRaceSolver} for the given track, whose state table starts with the given capacity.
+     *
+     * @param raceTrack       the {@link RaceTrack} where the game is being played.
+     * @param initialCapacity the initial capacity of the state table, a power of two.
+     * @throws IllegalArgumentException if the track is too large for the packed states
+     *                                  or the capacity is not a positive power of two.
+     */
+    public VectorRaceSolver(RaceTrack raceTrack, int initialCapacity) {
+        if (raceTrack.getWidth() >= 0xFFFF || raceTrack.getHeight() >= 0xFFFF) {
+            throw new IllegalArgumentException("Track too large for the vector race solver");
+        }
+        if (initialCapacity <= 0 || Integer.bitCount(initialCapacity) != 1) {
+            throw new IllegalArgumentException("The initial capacity must be a positive power of two");
+        }
+        this.grid = raceTrack.getTrackGrid();
+        this.finishDistances = raceTrack.getFinishDistanceField();
+        this.initialCapacity = initialCapacity;
+    }
+
+    /**
+     * Packs a state into a single <code>long</code>, using 16 bits for each component.
+     *
+     * @param row     the row of the position.
+     * @param column  the column of the position.
+     * @param dRow    the row component of the velocity.
+     * @param dColumn the column component of the velocity.
+     * @return the packed state.
+     */
+    public static long pack(int row, int column, int dRow, int dColumn) {
+        return ((long) (row & 0xFFFF) << 48) | ((long) (column & 0xFFFF) << 32)
+                | ((long) (dRow & 0xFFFF) << 16) | (dColumn & 0xFFFF);
+    }
+
+    public static int row(long state) {
+        return (int) (state >>> 48);
+    }
+
+    public static int column(long state) {
+        return (int) (state >>> 32) & 0xFFFF;
+    }
+
+    public static int rowVelocity(long state) {
+        return (short) (state >>> 16);
+    }
+
+    public static int columnVelocity(long state) {
+        return (short) state;
+    }
+
+    /**
+     * Searches a minimum-round path from the given state to the finish line.
+     * The returned path starts with the given state and ends with the state reached by the winning move,
+     * whose position may lie beyond the finish line.
+     *
+     * @param start the packed starting state.
+     * @return the packed states along the path, <code>null</code> if the finish line cannot be reached.
+     */
+    public long[] solve(long start) {
+        reset();
+        int startDistance = distanceToFinish(row(start), column(start));
+        if (startDistance == FinishDistanceField.UNREACHABLE) {
+            return null;
+        }
+        ensureCapacity(1);
+        int startSlot = insert(start);
+        this.costs[startSlot] = 0;
+        this.parents[startSlot] = -1;
+        this.estimates[startSlot] = heuristic(startDistance, start);
+        push(this.estimates[startSlot], startSlot);
+        int bestCost = Integer.MAX_VALUE;
+        long bestState = EMPTY;
+        long bestGoal = EMPTY;
+        while (this.heapSize > 0) {
+            // Growing the table moves the slots, so it only happens between expansions
+            ensureCapacity(MAX_SUCCESSORS);
+            long entry = pop();
+            int slot = (int) entry;
+            int estimate = (int) (entry >>> 32);
+            if (estimate >= bestCost) {
+                break;
+            }
+            if (estimate != this.costs[slot] + this.estimates[slot]) {
+                continue;
+            }
+            long state = this.states[slot];
+            int cost = this.costs[slot] + 1;
+            int row = row(state), column = column(state);
+            for (int aRow = -1; aRow <= 1; aRow++) {
+                for (int aColumn = -1; aColumn <= 1; aColumn++) {
+                    int dRow = rowVelocity(state) + aRow;
+                    int dColumn = columnVelocity(state) + aColumn;
+                    int nextRow = row + dRow, nextColumn = column + dColumn;
+                    if (nextRow < 0 || nextRow >= this.grid.getHeight() || nextColumn < 0 || nextColumn >= this.grid.getWidth()) {
+                        continue;
+                    }
+                    CellType cellType = this.grid.sweep(row, column, dRow, dColumn);
+                    if (cellType == CellType.WALL) {
+                        continue;
+                    }
+                    long next = pack(nextRow, nextColumn, dRow, dColumn);
+                    if (cellType == CellType.FINISH) {
+                        if (isWinning(dRow, dColumn) && cost < bestCost) {
+                            bestCost = cost;
+                            bestState = state;
+                            bestGoal = next;
+                        }
+                        continue;
+                    }
+                    relax(slot, next, cost);
+                }
+            }
+        }
+        // Slots move when the table grows, so the last state before the finish line is looked up again
+        return bestGoal == EMPTY ? null : buildPath(find(bestState), bestGoal, bestCost);
+    }
+
+    /**
+     * Checks whether a move through the finish line travels in the departure direction.
+     *
+     * @param dRow    the row component of the move.
+     * @param dColumn the column component of the move.
+     * @return <code>true</code> if the move wins the race, <code>false</code> otherwise.
+     */
+    private boolean isWinning(int dRow, int dColumn) {
+        return dRow * this.finishDistances.getDepartureRow() + dColumn * this.finishDistances.getDepartureColumn() > 0;
+    }
+
+    /**
+     * Records a path to a state, if it is shorter than the best known one.
+     *
+     * @param parent the slot of the state the move starts from.
+     * @param next   the packed state reached by the move.
+     * @param cost   the cost of the path.
+     */
+    private void relax(int parent, long next, int cost) {
+        int slot = find(next);
+        if (slot < 0) {
+            int distance = distanceToFinish(row(next), column(next));
+            if (distance == FinishDistanceField.UNREACHABLE) {
+                return;
+            }
+            slot = insert(next);
+            this.estimates[slot] = heuristic(distance, next);
+        } else if (this.costs[slot] <= cost) {
+            return;
+        }
+        this.costs[slot] = cost;
+        this.parents[slot] = parent;
+        push(cost + this.estimates[slot], slot);
+    }
+
+    /**
+     * Computes the smallest number of rounds <code>k</code> such that a player accelerating at every round
+     * covers the given distance, i.e. <code>k * speed + k * (k + 1) / 2 &ge; distance</code>,
+     * where the speed is the Chebyshev norm of the state's velocity.
+     *
+     * @param distance the distance to the finish line.
+     * @param state    the packed state.
+     * @return a lower bound of the rounds needed to reach the finish line.
+     */
+    static int heuristic(int distance, long state) {
+        long speed = Math.max(Math.abs(rowVelocity(state)), Math.abs(columnVelocity(state)));
+        double b = 2 * speed + 1;
+        int rounds = (int) Math.max(0, Math.ceil((-b + Math.sqrt(b * b + 8.0 * distance)) / 2));
+        while (rounds > 0 && covered(rounds - 1, speed) >= distance) {
+            rounds--;
+        }
+        while (covered(rounds, speed) < distance) {
+            rounds++;
+        }
+        return rounds;
+    }
+
+    /**
+     * Computes the distance covered in the given number of rounds when accelerating at every round.
+     */
+    private static long covered(long rounds, long speed) {
+        return rounds * speed + rounds * (rounds + 1) / 2;
+    }
+
+    private int distanceToFinish(int row, int column) {
+        return this.finishDistances.distance(this.grid.index(row, column));
+    }
+
+    /**
+     * Rebuilds the path ending with the winning move.
+     */
+    private long[] buildPath(int slot, long goal, int cost) {
+        long[] path = new long[cost + 1];
+        path[cost] = goal;
+        for (int i = cost - 1; i >= 0; i--) {
+            path[i] = this.states[slot];
+            slot = this.parents[slot];
+        }
+        return path;
+    }
+
+    /**
+     * Empties the state table and the heap, allocating them on first use.
+     */
+    private void reset() {
+        if (this.states == null) {
+            allocate(this.initialCapacity);
+            this.heap = new long[this.initialCapacity];
+        } else {
+            Arrays.fill(this.states, EMPTY);
+        }
+        this.size = 0;
+        this.heapSize = 0;
+    }
+
+    private void allocate(int capacity) {
+        this.states = new long[capacity];
+        Arrays.fill(this.states, EMPTY);
+        this.costs = new int[capacity];
+        this.estimates = new int[capacity];
+        this.parents = new int[capacity];
+    }
+
+    /**
+     * Spreads the bits of a state to pick its first probe in the table.
+     */
+    private static int hash(long state) {
+        long h = state * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Finds the slot of a state.
+     *
+     * @param state the packed state.
+     * @return the slot of the state, <code>-1</code> if it has not been visited.
+     */
+    private int find(long state) {
+        int mask = this.states.length - 1;
+        for (int slot = hash(state) & mask; ; slot = (slot + 1) & mask) {
+            if (this.states[slot] == state) {
+                return slot;
+            }
+            if (this.states[slot] == EMPTY) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Grows the table until the given number of states can be inserted while keeping it at most half full.
+     *
+     * @param states the number of states to make room for.
+     */
+    private void ensureCapacity(int states) {
+        while (2 * (this.size + states) > this.states.length) {
+            grow();
+        }
+    }
+
+    /**
+     * Inserts a state that is not in the table yet. The table never grows here, so that the slots
+     * held by the caller stay valid: room must be made beforehand with {@link #ensureCapacity(int)}.
+     *
+     * @param state the packed state.
+     * @return the slot of the state.
+     */
+    private int insert(long state) {
+        int mask = this.states.length - 1;
+        int slot = hash(state) & mask;
+        while (this.states[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        this.states[slot] = state;
+        this.size++;
+        return slot;
+    }
+
+    /**
+     * Doubles the state table, moving every state and rebuilding the parents and the heap with the new slots.
+     */
+    private void grow() {
+        long[] oldStates = this.states;
+        int[] oldCosts = this.costs, oldEstimates = this.estimates, oldParents = this.parents;
+        allocate(oldStates.length * 2);
+        int[] moved = new int[oldStates.length];
+        int mask = this.states.length - 1;
+        for (int old = 0; old < oldStates.length; old++) {
+            if (oldStates[old] != EMPTY) {
+                int slot = hash(oldStates[old]) & mask;
+                while (this.states[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                this.states[slot] = oldStates[old];
+                this.costs[slot] = oldCosts[old];
+                this.estimates[slot] = oldEstimates[old];
+                moved[old] = slot;
+            }
+        }
+        for (int old = 0; old < oldStates.length; old++) {
+            if (oldStates[old] != EMPTY) {
+                this.parents[moved[old]] = oldParents[old] < 0 ? -1 : moved[oldParents[old]];
+            }
+        }
+        long[] entries = Arrays.copyOf(this.heap, this.heapSize);
+        this.heapSize = 0;
+        for (long entry : entries) {
+            push((int) (entry >>> 32), moved[(int) entry]);
+        }
+    }
+
+    private void push(int estimate, int slot) {
+        if (this.heapSize == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, this.heap.length * 2);
+        }
+        long entry = ((long) estimate << 32) | slot;
+        int i = this.heapSize++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (this.heap[parent] <= entry) {
+                break;
+            }
+            this.heap[i] = this.heap[parent];
+            i = parent;
+        }
+        this.heap[i] = entry;
+    }
+
+    private long pop() {
+        long top = this.heap[0];
+        long last = this.heap[--this.heapSize];
+        int i = 0;
+        int half = this.heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < this.heapSize && this.heap[child + 1] < this.heap[child]) {
+                child++;
+            }
+            if (last <= this.heap[child]) {
+                break;
+            }
+            this.heap[i] = this.heap[child];
+            i = child;
+        }
+        this.heap[i] = last;
+        return top;
+    }
+}
@@ -6,6 +6,7 @@ import it.unicam.formula1Game.player.CpuPlayer;
 import it.unicam.formula1Game.racetrack.RaceTrack;
 import it.unicam.formula1Game.strategy.GameStrategy;
 import it.unicam.formula1Game.strategy.StrategyUtils;
+import it.unicam.formula1Game.strategy.TranspositionTable;
 import it.unicam.formula1Game.strategy.WeightedMove;
 
 import java.util.*;
@@ -19,10 +20,18 @@ import static it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRan
  * assigning weights based on cell type, distance from track borders, and player velocity.
  */
 public class WeightedRandomStrategy implements GameStrategy {
+    /**
+     * The identifier of this strategy in stored data, e.g. in a {@link TranspositionTable}.
+     */
+    private static final int STRATEGY_ID = 1;
     /**
      * The {@link RaceTrack} where the game takes place.
      */
     private final RaceTrack raceTrack;
+    /**
+     * The table where the chosen moves are shared, <code>null</code> if decisions are not cached.
+     */
+    private final TranspositionTable transpositionTable;
 
     /**
      * Constructs a new {@code WeightedRandomStrategy} with the specified racetrack.
@@ -30,7 +39,19 @@ public class WeightedRandomStrategy implements GameStrategy {
      * @param raceTrack the {@link RaceTrack} where the game is being played.
      */
     public WeightedRandomStrategy(RaceTrack raceTrack) {
+        this(raceTrack, null);
+    }
+
+    /**
+     * Constructs a new {@code WeightedRandomStrategy} that looks up and records its decisions
+     * in the given {@link TranspositionTable}.
+     *
+     * @param raceTrack          the {@link RaceTrack} where the game is being played.
+     * @param transpositionTable the table shared with the other strategies, <code>null</code> to disable caching.
+     */
+    public WeightedRandomStrategy(RaceTrack raceTrack, TranspositionTable transpositionTable) {
         this.raceTrack = raceTrack;
+        this.transpositionTable = transpositionTable;
     }
 
     /**
@@ -42,6 +63,9 @@ public class WeightedRandomStrategy implements GameStrategy {
      */
     @Override
     public void applyStrategy(CpuPlayer player) {
+        if (this.transpositionTable != null && applyCachedMove(player)) {
+            return;
+        }
         Set<Coordinate> availableMoves = getAvailableMoves(player);
         if (!availableMoves.isEmpty()) {
             List<WeightedMove> weightedMoves = evaluateMoves(availableMoves, player);
@@ -52,6 +76,35 @@ public class WeightedRandomStrategy implements GameStrategy {
         }
     }
 
+    /**
+     * Applies the move stored in the {@link TranspositionTable} for the player's state, if any.
+     *
+     * @param player the {@link CpuPlayer} using this strategy.
+     * @return <code>true</code> if a move has been applied, <code>false</code> if the state has not been decided yet.
+     */
+    private boolean applyCachedMove(CpuPlayer player) {
+        long entry = this.transpositionTable.probe(decisionKey(player), -1);
+        if (entry == -1) {
+            return false;
+        }
+        player.makeMove(this.raceTrack.getCoordinate(TranspositionTable.entryRow(entry), TranspositionTable.entryColumn(entry)));
+        checkHasCrashed(player);
+        return true;
+    }
+
+    /**
+     * Builds the key of the player's current state in the {@link TranspositionTable}.
+     *
+     * @param player the {@link CpuPlayer} using this strategy.
+     * @return the key of the decision.
+     */
+    private long decisionKey(CpuPlayer player) {
+        Coordinate position = player.getPosition();
+        Coordinate lastMove = player.getLastMove();
+        return TranspositionTable.key(this.raceTrack.getFingerprint(), STRATEGY_ID,
+                position.getRow(), position.getColumn(), lastMove.getRow(), lastMove.getColumn());
+    }
+
     /**
      * Applies the highest weighted move to the player based on the evaluated weighted moves.
      * If no move is available, the player is marked as crashed.
@@ -64,6 +117,10 @@ public class WeightedRandomStrategy implements GameStrategy {
                 .max(Comparator.comparingDouble(WeightedMove::weight))
                 .ifPresentOrElse(
                         move -> {
+                            if (this.transpositionTable != null) {
+                                this.transpositionTable.store(decisionKey(player), TranspositionTable.packEntry(
+                                        move.coordinate().getRow(), move.coordinate().getColumn(), (float) move.weight()));
+                            }
                             player.makeMove(move.coordinate());
                             checkHasCrashed(player);
                         },
@@ -90,7 +147,7 @@ public class WeightedRandomStrategy implements GameStrategy {
      */
     @Override
     public void checkHasCrashed(CpuPlayer player) {
-        if (this.raceTrack.getCellAt(player.getPosition()).cellType() == CellType.WALL) {
+        if (StrategyUtils.sweepLastMove(player, this.raceTrack) == CellType.WALL) {
             player.setHasCrashed(true);
         }
     }
@@ -117,7 +174,7 @@ public class WeightedRandomStrategy implements GameStrategy {
      * @return The calculated weight for the move.
      */
     private double calculateMoveWeight(CpuPlayer player, Coordinate move) {
-        CellType cellType = this.raceTrack.getCellAt(move).cellType();
+        CellType cellType = StrategyUtils.sweepMove(player.getPosition(), move, this.raceTrack);
         double cellTypePenalty = switch (cellType) {
             case WALL -> 1; // Lowest value for walls
             case TRACK -> 10; // Favor track cells
@@ -165,6 +222,11 @@ public class WeightedRandomStrategy implements GameStrategy {
                 (velocityPenalty * VELOCITY_WEIGHT);
     }
 
+    @Override
+    public int getStrategyId() {
+        return STRATEGY_ID;
+    }
+
     @Override
     public String toString() {
         return "WeightedRandomStrategy";
@@ -1,8 +1,8 @@
 package it.unicam.formula1Game.strategy.weightedRandomStrategy;
 
-import it.unicam.formula1Game.cell.CellType;
 import it.unicam.formula1Game.cell.Coordinate;
 import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.racetrack.TrackGrid;
 
 /**
  * A utility class that provides features for the {@link WeightedRandomStrategy} class.
@@ -35,21 +35,19 @@ public class WeightedRandomStrategyUtils {
     public static final double SIGMA_VALUE = 1.0;
 
     /**
-     * Calculates the distance of a move from the closest border.
+     * Calculates the distance of a move from the closest border, along the four axis directions.
+     * The distance is read from the {@link it.unicam.formula1Game.racetrack.DistanceField} of the track.
      *
      * @param move The move to evaluate.
      * @return The distance from the closest border.
      */
     public static int calculateDistanceFromBorders(Coordinate move, RaceTrack raceTrack) {
-        int distanceToTop = calculateDistanceInDirection(move, -1, 0, raceTrack);
-        int distanceToRight = calculateDistanceInDirection(move, 0, 1, raceTrack);
-        int distanceToBottom = calculateDistanceInDirection(move, 1, 0, raceTrack);
-        int distanceToLeft = calculateDistanceInDirection(move, 0, -1, raceTrack);
-        return Math.min(Math.min(distanceToTop, distanceToBottom), Math.min(distanceToLeft, distanceToRight));
+        return raceTrack.getDistanceField().rayDistanceAt(move.getRow(), move.getColumn());
     }
 
     /**
      * Calculates the distance from a given move to the nearest wall in a specified direction.
+     * The walk always ends, at the latest on the ring of wall sentinels around the {@link TrackGrid}.
      *
      * @param move      The starting coordinate.
      * @param rowStep   The row increment for the direction (-1 for up, 1 for down, 0 for no vertical movement).
@@ -58,15 +56,14 @@ public class WeightedRandomStrategyUtils {
      * @return The distance to the nearest wall in the specified direction.
      */
     public static int calculateDistanceInDirection(Coordinate move, int rowStep, int colStep, RaceTrack raceTrack) {
+        TrackGrid grid = raceTrack.getTrackGrid();
+        int step = rowStep * grid.getStride() + colStep;
+        int index = grid.index(move.getRow(), move.getColumn());
         int distance = 0;
-        boolean found = false;
-        while (!found) {
+        do {
             distance++;
-            Coordinate next = new Coordinate(move.getRow() + distance * rowStep, move.getColumn() + distance * colStep);
-            if (raceTrack.getCellAt(next).cellType() == CellType.WALL) {
-                found = true;
-            }
-        }
+            index += step;
+        } while (!grid.isWall(index));
         return distance;
     }
 }
@@ -0,0 +1,128 @@
+package it.unicam.formula1Game.tournament;
+
+import it.unicam.formula1Game.strategy.GameStrategy;
+
+/**
+ * Aggregated results of a single {@link GameStrategy} over all the races of a tournament.
+ */
+public class StrategyStatistics {
+    /**
+     * The name of the strategy.
+     */
+    private final String strategyName;
+    /**
+     * The number of races the strategy took part in.
+     */
+    private long races;
+    /**
+     * The number of players driven by the strategy over all the races.
+     */
+    private long players;
+    /**
+     * The number of races won by a player driven by the strategy.
+     */
+    private long wins;
+    /**
+     * The number of players driven by the strategy that crashed.
+     */
+    private long crashes;
+    /**
+     * The sum of the rounds needed to finish the races won by the strategy.
+     */
+    private long winningRounds;
+
+    /**
+     * Constructs an empty {@code StrategyStatistics} for the given strategy.
+     *
+     * @param strategyName the name of the strategy.
+     */
+    StrategyStatistics(String strategyName) {
+        this.strategyName = strategyName;
+    }
+
+    /**
+     * Records the participation of the strategy to a race.
+     *
+     * @param players the number of players driven by the strategy in the race.
+     * @param crashes the number of those players that crashed.
+     */
+    void recordRace(int players, int crashes) {
+        this.races++;
+        this.players += players;
+        this.crashes += crashes;
+    }
+
+    /**
+     * Records a race won by the strategy.
+     *
+     * @param rounds the number of rounds needed to finish the race.
+     */
+    void recordWin(int rounds) {
+        this.wins++;
+        this.winningRounds += rounds;
+    }
+
+    /**
+     * Adds the values of another {@code StrategyStatistics} of the same strategy to this one.
+     *
+     * @param other the statistics to merge.
+     */
+    void merge(StrategyStatistics other) {
+        this.races += other.races;
+        this.players += other.players;
+        this.wins += other.wins;
+        this.crashes += other.crashes;
+        this.winningRounds += other.winningRounds;
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public long getRaces() {
+        return races;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getCrashes() {
+        return crashes;
+    }
+
+    /**
+     * Returns the fraction of races, among those the strategy took part in, won by the strategy.
+     *
+     * @return the win rate, between <code>0</code> and <code>1</code>.
+     */
+    public double getWinRate() {
+        return races == 0 ? 0.0 : (double) wins / races;
+    }
+
+    /**
+     * Returns the fraction of players driven by the strategy that crashed.
+     *
+     * @return the crash rate, between <code>0</code> and <code>1</code>.
+     */
+    public double getCrashRate() {
+        return players == 0 ? 0.0 : (double) crashes / players;
+    }
+
+    /**
+     * Returns the average number of rounds needed by the strategy to win a race.
+     *
+     * @return the average rounds to finish, <code>0</code> if the strategy never won.
+     */
+    public double getAverageRoundsToFinish() {
+        return wins == 0 ? 0.0 : (double) winningRounds / wins;
+    }
+
+    @Override
+    public String toString() {
+        return strategyName +
+                " - win rate: " + getWinRate() +
+                ", crash rate: " + getCrashRate() +
+                ", average rounds to finish: " + getAverageRoundsToFinish();
+    }
+}
@@ -0,0 +1,116 @@
+package it.unicam.formula1Game.tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated results of a tournament, i.e. of many races played on the same
+ * {@link it.unicam.formula1Game.racetrack.RaceTrack}.
+ */
+public class TournamentResult {
+    /**
+     * The statistics of each strategy, in the order of the tournament's strategy factories.
+     */
+    private final List<StrategyStatistics> strategyStatistics;
+    /**
+     * The number of races played.
+     */
+    private long races;
+    /**
+     * The number of races that ended without a winner.
+     */
+    private long racesWithoutWinner;
+    /**
+     * The sum of the rounds played over all the races.
+     */
+    private long totalRounds;
+
+    /**
+     * Constructs an empty {@code TournamentResult} for the given strategies.
+     *
+     * @param strategyNames the names of the strategies taking part in the tournament.
+     */
+    TournamentResult(List<String> strategyNames) {
+        this.strategyStatistics = new ArrayList<>(strategyNames.size());
+        for (String strategyName : strategyNames) {
+            this.strategyStatistics.add(new StrategyStatistics(strategyName));
+        }
+    }
+
+    /**
+     * Records the end of a race.
+     *
+     * @param rounds    the number of rounds played.
+     * @param hasWinner <code>true</code> if a player reached the finish line.
+     */
+    void recordRace(int rounds, boolean hasWinner) {
+        this.races++;
+        this.totalRounds += rounds;
+        if (!hasWinner) {
+            this.racesWithoutWinner++;
+        }
+    }
+
+    /**
+     * Adds the values of another {@code TournamentResult} of the same tournament to this one.
+     *
+     * @param other the result to merge.
+     * @return this result.
+     */
+    TournamentResult merge(TournamentResult other) {
+        this.races += other.races;
+        this.racesWithoutWinner += other.racesWithoutWinner;
+        this.totalRounds += other.totalRounds;
+        for (int i = 0; i < this.strategyStatistics.size(); i++) {
+            this.strategyStatistics.get(i).merge(other.strategyStatistics.get(i));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the statistics of the strategy created by the factory at the given index.
+     *
+     * @param index the index of the strategy factory.
+     * @return the {@link StrategyStatistics} of the strategy.
+     */
+    public StrategyStatistics getStrategyStatistics(int index) {
+        return strategyStatistics.get(index);
+    }
+
+    /**
+     * Returns the statistics of all the strategies, in the order of the tournament's strategy factories.
+     *
+     * @return an unmodifiable {@link List} of {@link StrategyStatistics}.
+     */
+    public List<StrategyStatistics> getStrategyStatistics() {
+        return Collections.unmodifiableList(strategyStatistics);
+    }
+
+    public long getRaces() {
+        return races;
+    }
+
+    public long getRacesWithoutWinner() {
+        return racesWithoutWinner;
+    }
+
+    /**
+     * Returns the average number of rounds played per race.
+     *
+     * @return the average number of rounds, <code>0</code> if no race has been played.
+     */
+    public double getAverageRounds() {
+        return races == 0 ? 0.0 : (double) totalRounds / races;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Races: ").append(races)
+                .append(", without winner: ").append(racesWithoutWinner)
+                .append(", average rounds: ").append(getAverageRounds()).append("\n");
+        strategyStatistics.forEach(statistics -> sb.append(statistics).append("\n"));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,207 @@
+package it.unicam.formula1Game.tournament;
+
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.metrics.MetricsRegistry;
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.GameStrategy;
+import it.unicam.formula1Game.strategy.GameStrategyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs a tournament, i.e. many headless races on the same {@link RaceTrack}, on a work-stealing
+ * {@link ForkJoinPool} and aggregates their results in a {@link TournamentResult}.
+ * <p>
+ * Every race gets fresh {@link GameStrategy} instances from the given factories, so that strategies
+ * holding per-race state are never shared between threads. The order in which the strategies are
+ * assigned to the players is rotated at every race, so that no strategy is favored by the start position.
+ */
+public class TournamentRunner {
+    /**
+     * The number of races below which a task is no longer split.
+     */
+    private static final int RACES_PER_TASK = 8;
+    /**
+     * The {@link RaceTrack} where every race takes place.
+     */
+    private final RaceTrack raceTrack;
+    /**
+     * The factories of the strategies taking part in the tournament.
+     */
+    private final List<GameStrategyFactory> strategyFactories;
+    /**
+     * The names of the strategies taking part in the tournament.
+     */
+    private final List<String> strategyNames;
+    /**
+     * The number of threads used to run the races.
+     */
+    private final int parallelism;
+    /**
+     * The maximum number of rounds after which a race is stopped without a winner.
+     */
+    private final int maxRounds;
+    /**
+     * The registry where the metrics of the races are kept, <code>null</code> if no metric is kept.
+     */
+    private volatile MetricsRegistry metricsRegistry;
+
+    /**
+     * Constructs a {@code TournamentRunner} that uses all the available processors.
+     * Races are stopped without a winner after as many rounds as the cells of the track.
+     *
+     * @param raceTrack         the {@link RaceTrack} where every race takes place.
+     * @param strategyFactories the {@link GameStrategyFactory} objects of the competing strategies.
+     */
+    public TournamentRunner(RaceTrack raceTrack, List<GameStrategyFactory> strategyFactories) {
+        this(raceTrack, strategyFactories, Runtime.getRuntime().availableProcessors(),
+                raceTrack.getWidth() * raceTrack.getHeight());
+    }
+
+    /**
+     * Constructs a {@code TournamentRunner}.
+     *
+     * @param raceTrack         the {@link RaceTrack} where every race takes place.
+     * @param strategyFactories the {@link GameStrategyFactory} objects of the competing strategies.
+     * @param parallelism       the number of threads used to run the races.
+     * @param maxRounds         the maximum number of rounds after which a race is stopped without a winner.
+     * @throws IllegalArgumentException if no strategy factory is given or the parallelism is not positive.
+     */
+    public TournamentRunner(RaceTrack raceTrack, List<GameStrategyFactory> strategyFactories, int parallelism, int maxRounds) {
+        if (strategyFactories.isEmpty()) {
+            throw new IllegalArgumentException("At least one strategy is required");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.raceTrack = raceTrack;
+        this.strategyFactories = List.copyOf(strategyFactories);
+        this.parallelism = parallelism;
+        this.maxRounds = maxRounds;
+        this.strategyNames = new ArrayList<>();
+        for (GameStrategyFactory factory : this.strategyFactories) {
+            this.strategyNames.add(factory.create(raceTrack).toString());
+        }
+    }
+
+    /**
+     * Runs the given number of races and aggregates their results.
+     *
+     * @param numberOfRaces the number of races to run.
+     * @return the {@link TournamentResult} of the tournament.
+     */
+    public TournamentResult run(int numberOfRaces) {
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            return pool.invoke(new RacesTask(0, numberOfRaces));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Sets the registry where the metrics of the races run from now on are kept.
+     * The registry is shared by every race, whatever thread runs it.
+     *
+     * @param metricsRegistry the {@link MetricsRegistry}, <code>null</code> to stop keeping metrics.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Runs a single headless race and records its outcome in the given result.
+     *
+     * @param raceIndex the progressive number of the race, used to rotate the strategies.
+     * @param result    the {@link TournamentResult} where the outcome is recorded.
+     */
+    private void runRace(int raceIndex, TournamentResult result) {
+        int numberOfStrategies = this.strategyFactories.size();
+        int offset = raceIndex % numberOfStrategies;
+        List<GameStrategy> strategies = new ArrayList<>(numberOfStrategies);
+        for (int i = 0; i < numberOfStrategies; i++) {
+            strategies.add(this.strategyFactories.get((i + offset) % numberOfStrategies).create(this.raceTrack));
+        }
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setStrategies(strategies);
+        gameEngine.setMaxRounds(this.maxRounds);
+        gameEngine.setMetricsRegistry(this.metricsRegistry);
+        gameEngine.initializeEnvironment(this.raceTrack);
+        gameEngine.makeFirstMove();
+        gameEngine.startGame();
+        recordOutcome(gameEngine, offset, result);
+    }
+
+    /**
+     * Records the outcome of a finished race in the given result.
+     *
+     * @param gameEngine the {@link CpuGameEngine} that ran the race.
+     * @param offset     the rotation applied to the strategies in the race.
+     * @param result     the {@link TournamentResult} where the outcome is recorded.
+     */
+    private void recordOutcome(CpuGameEngine gameEngine, int offset, TournamentResult result) {
+        int numberOfStrategies = this.strategyFactories.size();
+        int[] players = new int[numberOfStrategies];
+        int[] crashes = new int[numberOfStrategies];
+        CpuPlayer[] racePlayers = gameEngine.getPlayers();
+        for (int i = 0; i < racePlayers.length; i++) {
+            // Players are assigned to the strategies in a round-robin fashion by the engine
+            int strategyIndex = (i % numberOfStrategies + offset) % numberOfStrategies;
+            players[strategyIndex]++;
+            if (racePlayers[i].hasCrashed()) {
+                crashes[strategyIndex]++;
+            }
+            if (racePlayers[i] == gameEngine.getWinner()) {
+                result.getStrategyStatistics(strategyIndex).recordWin(gameEngine.getRound());
+            }
+        }
+        for (int i = 0; i < numberOfStrategies; i++) {
+            if (players[i] > 0) {
+                result.getStrategyStatistics(i).recordRace(players[i], crashes[i]);
+            }
+        }
+        result.recordRace(gameEngine.getRound(), gameEngine.getWinner() != null);
+    }
+
+    /**
+     * A {@link RecursiveTask} that runs a range of races, splitting it in halves until
+     * it is small enough to be run by a single thread.
+     */
+    private class RacesTask extends RecursiveTask<TournamentResult> {
+        private static final long serialVersionUID = 1L;
+        /**
+         * The index of the first race of the range (inclusive).
+         */
+        private final int from;
+        /**
+         * The index of the last race of the range (exclusive).
+         */
+        private final int to;
+
+        RacesTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TournamentResult compute() {
+            if (this.to - this.from <= RACES_PER_TASK) {
+                TournamentResult result = new TournamentResult(strategyNames);
+                for (int race = this.from; race < this.to; race++) {
+                    runRace(race, result);
+                }
+                return result;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            RacesTask left = new RacesTask(this.from, middle);
+            left.fork();
+            TournamentResult right = new RacesTask(middle, this.to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package it.unicam.formula1Game.validator;
+
+import it.unicam.formula1Game.parser.BinaryTrackParser;
+import it.unicam.formula1Game.parser.TrackCompiler;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * The {@code BinaryTrackValidator} class implements the {@link ConfigurationFileValidator} interface.
+ * It provides functionality to validate whether a configuration file is a compiled track file.
+ */
+public class BinaryTrackValidator implements ConfigurationFileValidator {
+    /**
+     * Validates the given configuration file by checking its extension and the first bytes of its header.
+     *
+     * @param configurationFile The {@link File} object representing the configuration file to validate.
+     * @return {@code true} if the file is a compiled track file, {@code false} otherwise.
+     */
+    @Override
+    public boolean validate(File configurationFile) {
+        if (!configurationFile.getName().endsWith(TrackCompiler.EXTENSION)) {
+            return false;
+        }
+        try (DataInputStream input = new DataInputStream(new FileInputStream(configurationFile))) {
+            return input.readInt() == BinaryTrackParser.MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
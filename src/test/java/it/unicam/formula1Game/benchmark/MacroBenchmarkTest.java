@@ -0,0 +1,95 @@
+package it.unicam.formula1Game.benchmark;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MacroBenchmarkTest {
+
+    @Test
+    public void run_test() throws InvalidConfigurationException, IOException {
+        Path workDirectory = Files.createTempDirectory("macro");
+        MacroBenchmark benchmark = new MacroBenchmark(Duration.ZERO, Duration.ofMillis(200), workDirectory);
+        BenchmarkReport report = benchmark.run(List.of(
+                new Scenario(Scenario.Mode.ENGINE, "ring64", 3, "mixed"),
+                new Scenario(Scenario.Mode.APPLICATION, "shipped", 2, "mixed")));
+        assertEquals(2, report.results().size());
+        ScenarioResult engine = report.results().get(0);
+        assertEquals("engine/ring64/3p/mixed", engine.scenario());
+        assertTrue(engine.races() >= 1);
+        assertEquals(List.of(engine.racesPerSecond()), engine.trialRacesPerSecond());
+        assertTrue(engine.racesPerSecond() > 0);
+        assertTrue(engine.meanRounds() > 0);
+        assertTrue(engine.raceP50Millis() <= engine.raceP99Millis());
+        assertTrue(engine.roundP50Micros() <= engine.roundP99Micros());
+        ScenarioResult application = report.results().get(1);
+        assertTrue(application.racesPerSecond() > 0);
+        assertNull(application.roundP99Micros());
+        assertTrue(Files.exists(workDirectory.resolve("ring64-3p.json")));
+    }
+
+    @Test
+    public void run_test_invalid_scenario() {
+        MacroBenchmark benchmark = new MacroBenchmark(Duration.ZERO, Duration.ZERO, Path.of("."));
+        assertThrows(InvalidConfigurationException.class,
+                () -> benchmark.run(new Scenario(Scenario.Mode.ENGINE, "shipped", 2, "unknown")));
+        assertThrows(InvalidConfigurationException.class,
+                () -> benchmark.run(new Scenario(Scenario.Mode.APPLICATION, "shipped", 4, "mixed")));
+    }
+
+    @Test
+    public void compare_test() throws IOException {
+        BenchmarkReport baseline = BenchmarkReport.merge(List.of(
+                trial(100, 20.0, 100, 8), trial(104, 21.0, 98, 8), trial(96, 19.0, 102, 8)));
+        assertEquals(3, baseline.trials());
+        assertEquals(100, baseline.results().get(0).racesPerSecond(), 1e-9);
+        Path file = Files.createTempFile("baseline", ".json");
+        try {
+            baseline.write(file);
+            assertEquals(baseline, BenchmarkReport.read(file));
+        } finally {
+            Files.delete(file);
+        }
+        // A consistent slowdown beyond the threshold is a regression
+        BenchmarkReport slower = BenchmarkReport.merge(List.of(
+                trial(80, 25.0, 70, 8), trial(82, 26.0, 72, 8), trial(78, 24.0, 68, 8)));
+        List<String> regressions = slower.compare(baseline, 0.1);
+        assertEquals(3, regressions.size());
+        assertTrue(regressions.get(0).startsWith("engine/a: 80.0 races/s"));
+        assertTrue(regressions.get(1).startsWith("engine/a: round p99"));
+        assertTrue(regressions.get(2).startsWith("application/b"));
+        assertTrue(slower.compare(baseline, 0.5).isEmpty());
+        // A mean beyond the threshold is not a regression if the trials are too noisy to tell
+        BenchmarkReport noisy = BenchmarkReport.merge(List.of(
+                trial(40, 10.0, 100, 8), trial(140, 30.0, 100, 8), trial(60, 20.0, 100, 8)));
+        assertTrue(noisy.compare(baseline, 0.1).isEmpty());
+        // A single trial on either side cannot be compared
+        assertTrue(trial(10, 99.0, 10, 8).compare(baseline, 0.1).isEmpty());
+    }
+
+    @Test
+    public void interval_test() {
+        double[] interval = BenchmarkReport.interval(List.of(9.0, 10.0, 11.0), List.of(19.0, 20.0, 21.0));
+        // The difference is -10 and each mean has a standard error of 1/sqrt(3), with 4 degrees of freedom
+        assertEquals(-10 - 2.776 * Math.sqrt(2.0 / 3), interval[0], 1e-9);
+        assertEquals(-10 + 2.776 * Math.sqrt(2.0 / 3), interval[1], 1e-9);
+        assertNull(BenchmarkReport.interval(List.of(1.0), List.of(1.0, 2.0)));
+    }
+
+    /**
+     * Builds the report of a trial with an engine scenario and an application scenario.
+     */
+    private static BenchmarkReport trial(double engineRacesPerSecond, double roundP99, double applicationRacesPerSecond,
+                                         int races) {
+        return new BenchmarkReport("17", 1, 1000, 2000, 1, List.of(
+                new ScenarioResult("engine/a", races, engineRacesPerSecond, 50, 1, 2, 10.0, roundP99),
+                new ScenarioResult("application/b", races, applicationRacesPerSecond, 50, 1, 2, null, null)));
+    }
+}
@@ -9,9 +9,16 @@ import it.unicam.formula1Game.strategy.GameStrategy;
 import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsDetector;
 import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
 import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.*;
 
 import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
@@ -82,5 +89,73 @@ public class CpuGameEngineTest {
         assertEquals(this.gameEngine.endGame(), this.gameEngine.getWinner());
     }
 
+    @Test
+    public void step_test() {
+        this.gameEngine.setStrategies(Arrays.stream(this.strategies).toList());
+        this.gameEngine.initializeEnvironment(this.raceTrack);
+        this.gameEngine.makeFirstMove();
+        assertEquals(this.gameEngine.getRound(), 1);
+        assertFalse(this.gameEngine.step());
+        assertEquals(this.gameEngine.getRound(), 2);
+        while (!this.gameEngine.step()) {
+            assertFalse(this.gameEngine.isFinished());
+        }
+        assertTrue(this.gameEngine.isFinished());
+        int lastRound = this.gameEngine.getRound();
+        assertTrue(this.gameEngine.step());
+        assertEquals(this.gameEngine.getRound(), lastRound);
+    }
+
+    @Test
+    public void flight_recorder_events_test() throws IOException {
+        Map<String, Integer> counts = recordRace(Integer.MAX_VALUE);
+        assertEquals(1, (int) counts.get("formula1.RaceStart"));
+        assertEquals(1, (int) counts.get("formula1.RaceEnd"));
+        assertEquals(this.gameEngine.getRound(), (int) counts.get("formula1.Round"));
+        assertTrue(counts.get("formula1.StrategyDecision") >= this.gameEngine.getRound() - 1);
+    }
 
+    @Test
+    public void flight_recorder_events_test_first_move() throws IOException {
+        // The race is stopped by the first move, before any round is played by a strategy
+        Map<String, Integer> counts = recordRace(1);
+        assertEquals(1, (int) counts.get("formula1.RaceEnd"));
+        assertEquals(1, (int) counts.get("formula1.Round"));
+        assertNull(counts.get("formula1.StrategyDecision"));
+    }
+
+    /**
+     * Runs a race while recording the flight recorder events of the engine, whatever their duration.
+     *
+     * @param maxRounds the maximum number of rounds of the race.
+     * @return the number of events recorded, by name.
+     */
+    private Map<String, Integer> recordRace(int maxRounds) throws IOException {
+        Path dump = Files.createTempFile("race", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : List.of("formula1.RaceStart", "formula1.RaceEnd", "formula1.Round", "formula1.StrategyDecision")) {
+                recording.enable(name).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            this.gameEngine.setStrategies(Arrays.stream(this.strategies).toList());
+            this.gameEngine.setMaxRounds(maxRounds);
+            this.gameEngine.initializeEnvironment(this.raceTrack);
+            this.gameEngine.makeFirstMove();
+            this.gameEngine.startGame();
+            recording.stop();
+            recording.dump(dump);
+            Map<String, Integer> counts = new HashMap<>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+                counts.merge(event.getEventType().getName(), 1, Integer::sum);
+                assertEquals(this.raceTrack.getFingerprint(), event.getLong("track"));
+                if (event.getEventType().getName().equals("formula1.StrategyDecision")) {
+                    int candidates = event.getInt("candidates");
+                    assertTrue(candidates >= 0 && candidates <= 9);
+                }
+            }
+            return counts;
+        } finally {
+            Files.delete(dump);
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutputSinkTest {
+
+    @Test
+    public void writes_round_test() {
+        PrintStream out = new PrintStream(new ByteArrayOutputStream());
+        assertFalse(OutputSink.none().writesFrames());
+        assertFalse(OutputSink.summary(out).writesRound(0, true));
+        OutputSink everyThird = OutputSink.everyNthRound(out, 3);
+        assertTrue(everyThird.writesRound(0, false));
+        assertFalse(everyThird.writesRound(4, false));
+        assertTrue(everyThird.writesRound(4, true));
+        assertTrue(everyThird.writesRound(6, false));
+        assertTrue(OutputSink.everyRound(out).writesRound(5, false));
+        assertThrows(IllegalArgumentException.class, () -> OutputSink.everyNthRound(out, 0));
+    }
+
+    @Test
+    public void summary_test() throws InvalidConfigurationException {
+        RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.summary(new PrintStream(output)));
+        gameEngine.setStrategies(List.of(new WeightedRandomStrategy(raceTrack)));
+        gameEngine.initializeEnvironment(raceTrack);
+        gameEngine.makeFirstMove();
+        gameEngine.startGame();
+        // Only the result of the race is written, without any frame
+        String written = output.toString();
+        assertFalse(written.contains("ROUND"));
+        assertTrue(written.startsWith("*****************THE WINNER IS") || written.startsWith("NO WINNER"));
+    }
+
+    @Test
+    public void round_limit_result_test() throws InvalidConfigurationException {
+        RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.summary(new PrintStream(output)));
+        gameEngine.setStrategies(List.of(new WeightedRandomStrategy(raceTrack)));
+        gameEngine.setMaxRounds(1);
+        gameEngine.initializeEnvironment(raceTrack);
+        gameEngine.makeFirstMove();
+        gameEngine.startGame();
+        // The race is stopped after the first move, with every player still on the track
+        assertFalse(gameEngine.getPlayerStates().allCrashed());
+        assertEquals("NO WINNER, ROUND LIMIT REACHED" + System.lineSeparator(), output.toString());
+    }
+
+    @Test
+    public void write_error_test() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        OutputSink.summary(new PrintStream(output)).writeError("ERROR");
+        OutputSink.none().writeError("DISCARDED");
+        assertEquals("ERROR" + System.lineSeparator(), output.toString());
+    }
+}
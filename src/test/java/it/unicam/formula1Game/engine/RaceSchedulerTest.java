@@ -0,0 +1,135 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.player.Player;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RaceSchedulerTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+
+    public RaceSchedulerTest() throws InvalidConfigurationException {
+    }
+
+    private CpuGameEngine newRace() {
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setStrategies(List.of(
+                new WeightedRandomStrategy(this.raceTrack),
+                new LandingRegionsStrategy(this.raceTrack, new LandingRegionsDetector())));
+        gameEngine.initializeEnvironment(this.raceTrack);
+        gameEngine.makeFirstMove();
+        return gameEngine;
+    }
+
+    @Test
+    public void interleave_races_test() throws Exception {
+        RaceScheduler scheduler = new RaceScheduler(2, 4);
+        List<CompletableFuture<CpuGameEngine>> races = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            races.add(scheduler.submit(newRace()));
+        }
+        scheduler.close();
+        assertEquals(scheduler.getOutstandingRaces(), 0);
+        for (CompletableFuture<CpuGameEngine> race : races) {
+            assertTrue(race.isDone());
+            assertTrue(race.get().isFinished());
+        }
+        assertThrows(RejectedExecutionException.class, () -> scheduler.submit(newRace()));
+    }
+
+    @Test
+    public void announce_result_test() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.everyRound(new PrintStream(output)));
+        gameEngine.setStrategies(List.of(new WeightedRandomStrategy(this.raceTrack)));
+        gameEngine.initializeEnvironment(this.raceTrack);
+        gameEngine.makeFirstMove();
+        RaceScheduler scheduler = new RaceScheduler(1, 1);
+        CompletableFuture<CpuGameEngine> race = scheduler.submit(gameEngine);
+        scheduler.close();
+        // The race ends as if it was played by startGame, after every round has been printed
+        String written = output.toString();
+        String result = race.get().getWinner() == null ? "NO WINNER" : "THE WINNER IS";
+        assertTrue(written.lastIndexOf(result) > written.lastIndexOf("ROUND"));
+    }
+
+    @Test
+    public void failing_race_test() {
+        RaceScheduler scheduler = new RaceScheduler(2, 2);
+        CompletableFuture<GameEngine> failing = scheduler.submit(new FailingEngine(new AssertionError("failed")));
+        CompletableFuture<GameEngine> throwing = scheduler.submit(new FailingEngine(new IllegalStateException("failed")));
+        CompletableFuture<CpuGameEngine> race = scheduler.submit(newRace());
+        // The races failing with an error or an exception still end, so closing does not wait forever
+        scheduler.close();
+        assertEquals(0, scheduler.getOutstandingRaces());
+        ExecutionException error = assertThrows(ExecutionException.class, failing::get);
+        assertInstanceOf(AssertionError.class, error.getCause());
+        assertThrows(ExecutionException.class, throwing::get);
+        assertTrue(race.isDone());
+    }
+
+    @Test
+    public void worker_survives_error_test() throws Exception {
+        RaceScheduler scheduler = new RaceScheduler(1, 4);
+        CompletableFuture<GameEngine> failing = scheduler.submit(new FailingEngine(new AssertionError("failed")));
+        assertThrows(ExecutionException.class, failing::get);
+        // The only worker is still alive and plays the next race to the end
+        CompletableFuture<CpuGameEngine> race = scheduler.submit(newRace());
+        assertTrue(race.get(10, TimeUnit.SECONDS).isFinished());
+        scheduler.close();
+        assertEquals(0, scheduler.getOutstandingRaces());
+    }
+
+    /**
+     * A game engine whose rounds always fail with the given throwable.
+     */
+    private record FailingEngine(Throwable failure) implements GameEngine {
+        @Override
+        public void initializeEnvironment(RaceTrack raceTrack) {
+        }
+
+        @Override
+        public void startGame() {
+        }
+
+        @Override
+        public boolean step() {
+            if (this.failure instanceof Error error) {
+                throw error;
+            }
+            throw (RuntimeException) this.failure;
+        }
+
+        @Override
+        public Player endGame() {
+            return null;
+        }
+
+        @Override
+        public boolean checkEndCondition() {
+            return false;
+        }
+
+        @Override
+        public void makeFirstMove() {
+        }
+    }
+}
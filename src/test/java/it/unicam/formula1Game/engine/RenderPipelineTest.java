@@ -0,0 +1,61 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.player.Player;
+import it.unicam.formula1Game.player.PlayerView;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderPipelineTest {
+    private final RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+
+    public RenderPipelineTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void snapshot_test() throws InvalidConfigurationException {
+        Coordinate start = this.raceTrack.getStartCoordinates().get(0);
+        CpuPlayer player = new CpuPlayer(4, start);
+        RoundSnapshot snapshot = RoundSnapshot.of(1, "ROUND 1", new Player[]{player}, false);
+        String description = player.describe();
+        player.makeMove(this.raceTrack.getCoordinate(start.getRow(), start.getColumn() - 1));
+        player.setHasCrashed(true);
+        PlayerView copy = snapshot.players().get(0);
+        assertEquals(4, copy.getId());
+        assertEquals(start, copy.getPosition());
+        assertEquals(new Coordinate(0, 0), copy.getLastMove());
+        assertFalse(copy.hasCrashed());
+        assertEquals(player.getStrategyName(), copy.getStrategyName());
+        assertEquals(description, copy.describe());
+    }
+
+    @Test
+    public void final_frame_test() throws InvalidConfigurationException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        Player[] players = {new CpuPlayer(4, this.raceTrack.getStartCoordinates().get(0))};
+        RenderPipeline pipeline = new RenderPipeline(new TrackRenderer(this.raceTrack, false), this.raceTrack,
+                new PrintStream(output), 20, 2);
+        int rounds = 1000;
+        for (int round = 1; round < rounds; round++) {
+            pipeline.publish(RoundSnapshot.of(round, "ROUND " + round, players, false));
+        }
+        pipeline.publish(RoundSnapshot.of(rounds, "FINAL ROUND", players, true));
+        pipeline.close();
+        // A slow output skips rounds, but never the last one
+        assertTrue(pipeline.getDroppedFrames() > 0);
+        assertEquals(rounds, pipeline.getRenderedFrames() + pipeline.getDroppedFrames());
+        assertTrue(output.toString().contains("FINAL ROUND"));
+        assertThrows(IllegalStateException.class,
+                () -> pipeline.publish(RoundSnapshot.of(rounds, "CLOSED", players, true)));
+    }
+}
@@ -0,0 +1,57 @@
+package it.unicam.formula1Game.engine;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackRendererTest {
+    private final RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+
+    public TrackRendererTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void first_frame_test() throws InvalidConfigurationException {
+        TrackRenderer renderer = new TrackRenderer(this.raceTrack, false);
+        Coordinate start = this.raceTrack.getStartCoordinates().get(0);
+        renderer.update(List.of(new CpuPlayer(7, start)));
+        StringBuilder sb = new StringBuilder();
+        renderer.render(sb, "TITLE");
+        String[] lines = sb.toString().split("\n");
+        assertEquals(this.raceTrack.getHeight() + 1, lines.length);
+        assertEquals("TITLE", lines[0]);
+        assertEquals('7', lines[start.getRow() + 1].charAt(start.getColumn()));
+    }
+
+    @Test
+    public void changed_rows_test() throws InvalidConfigurationException {
+        TrackRenderer renderer = new TrackRenderer(this.raceTrack, false);
+        Coordinate start = this.raceTrack.getStartCoordinates().get(0);
+        CpuPlayer player = new CpuPlayer(3, start);
+        String startRow = renderer.getRow(start.getRow());
+        renderer.update(List.of(player));
+        renderer.render(new StringBuilder(), "ROUND 1");
+        player.makeMove(this.raceTrack.getCoordinate(start.getRow() - 1, start.getColumn() - 1));
+        renderer.update(List.of(player));
+        StringBuilder sb = new StringBuilder();
+        renderer.render(sb, "ROUND 2");
+        String[] lines = sb.toString().split("\n");
+        // Only the row left by the player and the row it moved to are drawn again
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].endsWith("|" + renderer.getRow(start.getRow() - 1)));
+        assertTrue(lines[2].endsWith("|" + startRow));
+        assertEquals('3', renderer.getRow(start.getRow() - 1).charAt(start.getColumn() - 1));
+        StringBuilder unchanged = new StringBuilder();
+        renderer.render(unchanged, "ROUND 3");
+        assertEquals("ROUND 3\n", unchanged.toString());
+    }
+}
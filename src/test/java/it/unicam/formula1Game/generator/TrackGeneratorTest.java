@@ -0,0 +1,94 @@
+package it.unicam.formula1Game.generator;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.FinishDistanceField;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackGeneratorTest {
+
+    @Test
+    public void generate_test_closed_loop() throws InvalidConfigurationException {
+        for (String direction : new String[]{"cw", "ccw"}) {
+            RaceTrack raceTrack = new TrackGenerator(120, 60, 5, 4, 3, direction, 7).generate();
+            assertEquals(direction, raceTrack.getDirection());
+            assertEquals(3, raceTrack.getNumberOfPlayers());
+            assertFalse(raceTrack.getStartCoordinates().isEmpty());
+            assertFalse(raceTrack.getFinishCoordinates().isEmpty());
+            // Every start cell reaches the finish line only after a whole lap
+            FinishDistanceField distances = raceTrack.getFinishDistanceField();
+            for (Coordinate start : raceTrack.getStartCoordinates()) {
+                int distance = distances.distanceAt(start.getRow(), start.getColumn());
+                assertNotEquals(FinishDistanceField.UNREACHABLE, distance);
+                assertTrue(distance > 120);
+            }
+        }
+    }
+
+    @Test
+    public void generate_test_race() throws InvalidConfigurationException {
+        for (String direction : new String[]{"cw", "ccw"}) {
+            RaceTrack raceTrack = new TrackGenerator(96, 48, 4, 3, 2, direction, 5).generate();
+            CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+            gameEngine.setMaxRounds(raceTrack.getWidth() * raceTrack.getHeight());
+            gameEngine.setStrategies(List.of(new WeightedRandomStrategy(raceTrack)));
+            gameEngine.initializeEnvironment(raceTrack);
+            gameEngine.makeFirstMove();
+            // The first move, always to the left, leads away from the finish line in both directions
+            assertFalse(gameEngine.isFinished());
+            gameEngine.startGame();
+            assertTrue(gameEngine.getRound() > 1);
+        }
+    }
+
+    @Test
+    public void write_test_parsed() throws InvalidConfigurationException, IOException {
+        TrackGenerator generator = new TrackGenerator(64, 32, 11);
+        Path file = Files.createTempFile("track", ".json");
+        try {
+            generator.write(file);
+            RaceTrack parsed = new JsonParser().parse(file.toFile());
+            assertEquals(64, parsed.getWidth());
+            assertEquals(32, parsed.getHeight());
+            assertEquals(generator.generate().getFingerprint(), parsed.getFingerprint());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void write_test_deterministic() throws IOException {
+        assertArrayEquals(write(new TrackGenerator(300, 250, 6, 5, 2, "ccw", 3)),
+                write(new TrackGenerator(300, 250, 6, 5, 2, "ccw", 3)));
+        assertFalse(Arrays.equals(write(new TrackGenerator(300, 250, 6, 5, 2, "ccw", 3)),
+                write(new TrackGenerator(300, 250, 6, 5, 2, "ccw", 4))));
+    }
+
+    @Test
+    public void constructor_test_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(10, 40, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(40, 40, 30, 2, 2, "ccw", 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(40, 40, 4, 2, 2, "up", 1));
+        assertThrows(IllegalArgumentException.class, () -> new TrackGenerator(40, 40, 4, 2, 1, "cw", 1));
+    }
+
+    private static byte[] write(TrackGenerator generator) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        generator.write(output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,153 @@
+package it.unicam.formula1Game.metrics;
+
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.player.CpuPlayer;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsRegistryTest {
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void histogram_test_buckets() {
+        for (long value = 0; value < 1 << 16; value++) {
+            int bucket = Histogram.bucketOf(value);
+            assertTrue(value <= Histogram.upperBound(bucket));
+            assertTrue(bucket == 0 || value > Histogram.upperBound(bucket - 1));
+        }
+        assertEquals(Long.MAX_VALUE, Histogram.upperBound(Histogram.BUCKETS - 1));
+    }
+
+    @Test
+    public void histogram_test_percentiles() {
+        Histogram histogram = new Histogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value * 1000L);
+        }
+        HistogramSnapshot snapshot = histogram.snapshot();
+        assertEquals(100, snapshot.count());
+        assertEquals(50_500, snapshot.mean());
+        // Percentiles are known within a quarter of their magnitude
+        assertTrue(snapshot.percentile(0.5) >= 50_000 && snapshot.percentile(0.5) < 50_000 * 1.25);
+        assertTrue(snapshot.percentile(0.99) >= 99_000 && snapshot.percentile(0.99) < 99_000 * 1.25);
+        assertEquals(0, new Histogram().snapshot().percentile(0.5));
+    }
+
+    @Test
+    public void write_text_test() throws IOException {
+        this.registry.counter(MetricsRegistry.WINS, "strategy", "A\"B").add(3);
+        this.registry.histogram(MetricsRegistry.ROUND_LATENCY).record(1000);
+        StringBuilder text = new StringBuilder();
+        this.registry.writeText(text);
+        String exposition = text.toString();
+        assertTrue(exposition.contains("# TYPE f1_wins_total counter\nf1_wins_total{strategy=\"A\\\"B\"} 3\n"));
+        assertTrue(exposition.contains("# TYPE f1_round_latency_seconds histogram\n"));
+        assertTrue(exposition.contains("f1_round_latency_seconds_bucket{le=\"+Inf\"} 1\n"));
+        assertTrue(exposition.contains("f1_round_latency_seconds_sum 1.0E-6\n"));
+        assertTrue(exposition.contains("f1_round_latency_seconds_count 1\n"));
+        assertThrows(IllegalArgumentException.class, () -> this.registry.counter(MetricsRegistry.WINS, "strategy"));
+    }
+
+    @Test
+    public void write_text_test_fixed_buckets() throws IOException {
+        this.registry.histogram(MetricsRegistry.RENDER_LATENCY, "sink", "a").record(1000);
+        this.registry.histogram(MetricsRegistry.RENDER_LATENCY, "sink", "b").record(5_000_000_000L);
+        this.registry.histogram(MetricsRegistry.RENDER_LATENCY, "sink", "c");
+        StringBuilder text = new StringBuilder();
+        this.registry.writeText(text);
+        // Every series has the same buckets, whatever values it holds
+        List<String> ladders = new ArrayList<>();
+        for (String sink : List.of("a", "b", "c")) {
+            StringBuilder ladder = new StringBuilder();
+            for (String line : text.toString().split("\n")) {
+                if (line.startsWith("f1_render_latency_seconds_bucket{sink=\"" + sink + "\"")) {
+                    ladder.append(line, line.indexOf("le="), line.lastIndexOf(' ')).append('\n');
+                }
+            }
+            ladders.add(ladder.toString());
+        }
+        assertEquals(MetricsRegistry.MAX_BOUNDARY_EXPONENT - MetricsRegistry.MIN_BOUNDARY_EXPONENT + 2,
+                ladders.get(0).split("\n").length);
+        assertEquals(ladders.get(0), ladders.get(1));
+        assertEquals(ladders.get(0), ladders.get(2));
+        assertTrue(text.toString().contains("f1_render_latency_seconds_bucket{sink=\"a\",le=\"1.023E-6\"} 1\n"));
+        assertTrue(text.toString().contains("f1_render_latency_seconds_bucket{sink=\"b\",le=\"4.294967295\"} 0\n"));
+        assertTrue(text.toString().contains("f1_render_latency_seconds_bucket{sink=\"b\",le=\"8.589934591\"} 1\n"));
+    }
+
+    @Test
+    public void engine_test_race_metrics() throws InvalidConfigurationException {
+        RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setMetricsRegistry(this.registry);
+        gameEngine.setStrategies(List.of(new WeightedRandomStrategy(raceTrack),
+                new LandingRegionsStrategy(raceTrack, new GeometricLandingRegionsDetector())));
+        gameEngine.initializeEnvironment(raceTrack);
+        gameEngine.makeFirstMove();
+        gameEngine.startGame();
+        MetricsSnapshot snapshot = this.registry.snapshot();
+        assertEquals(1, snapshot.counter(MetricsRegistry.RACES));
+        assertEquals(gameEngine.getRound() - 1, snapshot.counter(MetricsRegistry.ROUNDS));
+        assertEquals(gameEngine.getRound() - 1, gameEngine.getRoundLatencies().count());
+        assertEquals(gameEngine.getRound() - 1,
+                snapshot.histograms().get(MetricsRegistry.ROUND_LATENCY).count());
+        long decisions = 0;
+        long wins = 0;
+        for (CpuPlayer player : gameEngine.getPlayers()) {
+            String labels = "{strategy=\"" + player.getStrategy() + "\"}";
+            decisions += snapshot.counter(MetricsRegistry.DECISIONS + labels);
+            wins += snapshot.counter(MetricsRegistry.WINS + labels);
+            assertEquals(snapshot.counter(MetricsRegistry.DECISIONS + labels),
+                    snapshot.histograms().get(MetricsRegistry.DECISION_LATENCY + labels).count());
+        }
+        assertTrue(decisions >= gameEngine.getRound() - 1);
+        assertEquals(gameEngine.getWinner() == null ? 0 : 1, wins);
+    }
+
+    @Test
+    public void engine_test_race_ended_by_first_move() throws InvalidConfigurationException {
+        RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setMetricsRegistry(this.registry);
+        gameEngine.setMaxRounds(1);
+        gameEngine.setStrategies(List.of(new WeightedRandomStrategy(raceTrack)));
+        gameEngine.initializeEnvironment(raceTrack);
+        gameEngine.makeFirstMove();
+        assertTrue(gameEngine.isFinished());
+        // The race is recorded as ended even if no strategy has played
+        MetricsSnapshot snapshot = this.registry.snapshot();
+        assertEquals(1, snapshot.counter(MetricsRegistry.RACES));
+        assertEquals(0, snapshot.histograms().get(MetricsRegistry.ROUND_LATENCY).count());
+    }
+
+    @Test
+    public void server_test() throws IOException {
+        this.registry.counter(MetricsRegistry.RACES).increment();
+        try (MetricsServer server = new MetricsServer(this.registry, 0)) {
+            HttpURLConnection connection = (HttpURLConnection)
+                    new URL("http://127.0.0.1:" + server.getPort() + MetricsServer.PATH).openConnection();
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream body = connection.getInputStream()) {
+                assertTrue(new String(body.readAllBytes(), StandardCharsets.UTF_8).contains("f1_races_total 1\n"));
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package it.unicam.formula1Game.parser;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.validator.BinaryTrackValidator;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryTrackParserTest {
+    private final RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+
+    public BinaryTrackParserTest() throws InvalidConfigurationException {
+    }
+
+    /**
+     * Compiles the test track into a temporary file.
+     *
+     * @return the path of the compiled track.
+     */
+    private Path compile() throws InvalidConfigurationException, IOException {
+        Path compiled = Files.createTempFile("track", TrackCompiler.EXTENSION);
+        // The file stays mapped until the track is garbage collected, so it cannot be deleted right away everywhere
+        compiled.toFile().deleteOnExit();
+        TrackCompiler.compile(this.raceTrack, compiled);
+        return compiled;
+    }
+
+    @Test
+    public void compile_and_parse_test() throws InvalidConfigurationException, IOException {
+        Path compiled = compile();
+        assertTrue(new BinaryTrackValidator().validate(compiled.toFile()));
+        assertFalse(new BinaryTrackValidator().validate(new File(filePath)));
+        RaceTrack loaded = new BinaryTrackParser().parse(compiled.toFile());
+        assertEquals(50, loaded.getWidth());
+        assertEquals(15, loaded.getHeight());
+        assertEquals(2, loaded.getNumberOfPlayers());
+        assertEquals("ccw", loaded.getDirection());
+        assertEquals(CellType.START, loaded.getTrackGrid().cellTypeAt(1, 21));
+        assertEquals(this.raceTrack.getFingerprint(), loaded.getFingerprint());
+        assertEquals(this.raceTrack.getStartCoordinates(), loaded.getStartCoordinates());
+    }
+
+    @Test
+    public void corrupted_file_test() throws InvalidConfigurationException, IOException {
+        Path compiled = compile();
+        try (RandomAccessFile file = new RandomAccessFile(compiled.toFile(), "rw")) {
+            file.seek(BinaryTrackParser.HEADER_SIZE + 100);
+            file.write(CellType.WALL.ordinal() ^ 1);
+        }
+        assertThrows(InvalidConfigurationException.class, () -> new BinaryTrackParser().parse(compiled.toFile()));
+        assertThrows(InvalidConfigurationException.class, () -> new BinaryTrackParser().parse(new File(filePath)));
+    }
+
+    @Test
+    public void invalid_cell_type_test() throws InvalidConfigurationException, IOException {
+        Path compiled = compile();
+        try (RandomAccessFile file = new RandomAccessFile(compiled.toFile(), "rw")) {
+            file.seek(BinaryTrackParser.HEADER_SIZE + 100);
+            file.write(CellType.values().length);
+            // A matching checksum does not save the invalid cell
+            byte[] cells = new byte[(int) file.length() - BinaryTrackParser.HEADER_SIZE];
+            file.seek(BinaryTrackParser.HEADER_SIZE);
+            file.readFully(cells);
+            file.seek(24);
+            file.writeInt((int) BinaryTrackParser.checksum(ByteBuffer.wrap(cells)));
+        }
+        assertThrows(InvalidConfigurationException.class, () -> new BinaryTrackParser().parse(compiled.toFile()));
+        // A parser trusting its files does not read the cells while loading
+        assertEquals(50, new BinaryTrackParser(false).parse(compiled.toFile()).getWidth());
+    }
+
+    @Test
+    public void invalid_header_test() throws InvalidConfigurationException, IOException {
+        Path compiled = compile();
+        try (RandomAccessFile file = new RandomAccessFile(compiled.toFile(), "rw")) {
+            file.seek(16);
+            file.writeInt(1);
+        }
+        assertThrows(InvalidConfigurationException.class, () -> new BinaryTrackParser().parse(compiled.toFile()));
+    }
+}
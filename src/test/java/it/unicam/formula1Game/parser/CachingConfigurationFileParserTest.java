@@ -0,0 +1,171 @@
+package it.unicam.formula1Game.parser;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingConfigurationFileParserTest {
+    /**
+     * The number of files actually parsed.
+     */
+    private final AtomicInteger parsed = new AtomicInteger();
+    private final ConfigurationFileParser countingParser = file -> {
+        this.parsed.incrementAndGet();
+        return new JsonParser().parse(file);
+    };
+
+    @Test
+    public void parse_test_cached() throws InvalidConfigurationException {
+        CachingConfigurationFileParser parser = new CachingConfigurationFileParser(this.countingParser);
+        RaceTrack first = parser.parse(new File(filePath));
+        RaceTrack second = parser.parse(new File(filePath));
+        assertSame(first, second);
+        assertEquals(1, this.parsed.get());
+        assertEquals(1, parser.getHits());
+        assertEquals(1, parser.getMisses());
+        assertEquals(0.5, parser.getHitRate());
+        assertEquals(CachingConfigurationFileParser.weigh(first), parser.getWeight());
+        assertEquals(CellType.START, first.getTrackGrid().cellTypeAt(1, 21));
+        assertThrows(ReadOnlyBufferException.class, () -> first.getTrackGrid().setCellType(1, 21, CellType.WALL));
+    }
+
+    @Test
+    public void parse_test_modified_file() throws InvalidConfigurationException, IOException {
+        Path copy = Files.createTempFile("track", ".json");
+        try {
+            Files.copy(Path.of(filePath), copy, StandardCopyOption.REPLACE_EXISTING);
+            CachingConfigurationFileParser parser = new CachingConfigurationFileParser(this.countingParser);
+            RaceTrack first = parser.parse(copy.toFile());
+            Files.setLastModifiedTime(copy, FileTime.fromMillis(Files.getLastModifiedTime(copy).toMillis() + 1000));
+            assertNotSame(first, parser.parse(copy.toFile()));
+            assertEquals(2, this.parsed.get());
+        } finally {
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    public void parse_test_content_hash() throws InvalidConfigurationException, IOException {
+        Path copy = Files.createTempFile("track", ".json");
+        try {
+            Files.copy(Path.of(filePath), copy, StandardCopyOption.REPLACE_EXISTING);
+            CachingConfigurationFileParser parser = new CachingConfigurationFileParser(this.countingParser,
+                    CachingConfigurationFileParser.KeyStrategy.CONTENT_HASH, CachingConfigurationFileParser.DEFAULT_MAX_WEIGHT);
+            assertSame(parser.parse(new File(filePath)), parser.parse(copy.toFile()));
+            assertEquals(1, this.parsed.get());
+        } finally {
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    public void parse_test_eviction() throws InvalidConfigurationException, IOException {
+        Path copy = Files.createTempFile("track", ".json");
+        try {
+            Files.copy(Path.of(filePath), copy, StandardCopyOption.REPLACE_EXISTING);
+            RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+            CachingConfigurationFileParser parser = new CachingConfigurationFileParser(this.countingParser,
+                    CachingConfigurationFileParser.KeyStrategy.FILE_ATTRIBUTES, CachingConfigurationFileParser.weigh(raceTrack));
+            parser.parse(new File(filePath));
+            parser.parse(copy.toFile());
+            assertEquals(1, parser.size());
+            assertEquals(1, parser.getEvictions());
+            parser.parse(new File(filePath));
+            assertEquals(3, this.parsed.get());
+        } finally {
+            Files.delete(copy);
+        }
+    }
+
+    @Test
+    public void parse_test_coalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachingConfigurationFileParser parser = new CachingConfigurationFileParser(file -> {
+            this.parsed.incrementAndGet();
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new JsonParser().parse(file);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<RaceTrack>> results = new ArrayList<>();
+            results.add(executor.submit(() -> parser.parse(new File(filePath))));
+            started.await();
+            for (int i = 0; i < 3; i++) {
+                results.add(executor.submit(() -> parser.parse(new File(filePath))));
+            }
+            while (parser.getCoalescedLoads() < 3) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<RaceTrack> result : results) {
+                assertSame(results.get(0).get(), result.get());
+            }
+            assertEquals(1, this.parsed.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void parse_test_coalesced_failure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CachingConfigurationFileParser parser = new CachingConfigurationFileParser(file -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("failed");
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RaceTrack> loading = executor.submit(() -> parser.parse(new File(filePath)));
+            started.await();
+            Future<RaceTrack> waiting = executor.submit(() -> parser.parse(new File(filePath)));
+            while (parser.getCoalescedLoads() < 1) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            // The waiting thread fails with the exception of the load, not with its wrapper
+            assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, loading::get).getCause());
+            assertInstanceOf(IllegalStateException.class, assertThrows(ExecutionException.class, waiting::get).getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void parse_test_invalid_file() {
+        CachingConfigurationFileParser parser = new CachingConfigurationFileParser(this.countingParser);
+        assertThrows(InvalidConfigurationException.class, () -> parser.parse(new File("missing.json")));
+        assertEquals(0, parser.size());
+    }
+}
@@ -0,0 +1,63 @@
+package it.unicam.formula1Game.parser;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingJsonParserTest {
+    private final StreamingJsonParser parser = new StreamingJsonParser();
+
+    /**
+     * Writes a configuration to a temporary file.
+     */
+    private static File configuration(String json) throws IOException {
+        Path file = Files.createTempFile("track", ".json");
+        file.toFile().deleteOnExit();
+        return Files.writeString(file, json).toFile();
+    }
+
+    @Test
+    public void parse_test_valid() throws InvalidConfigurationException {
+        RaceTrack raceTrack = this.parser.parse(new File(filePath));
+        RaceTrack expected = new JsonParser().parse(new File(filePath));
+        assertEquals(50, raceTrack.getWidth());
+        assertEquals(15, raceTrack.getHeight());
+        assertEquals(2, raceTrack.getNumberOfPlayers());
+        assertEquals("ccw", raceTrack.getDirection());
+        assertEquals(CellType.START, raceTrack.getTrackGrid().cellTypeAt(1, 21));
+        assertEquals(expected.getFingerprint(), raceTrack.getFingerprint());
+    }
+
+    @Test
+    public void track_before_dimensions_test() throws InvalidConfigurationException, IOException {
+        RaceTrack raceTrack = this.parser.parse(configuration(
+                "{\"track\": [\"****\", \"*+-*\", \"****\"], \"direction\": \"cw\", \"numPlayers\": 2, \"width\": 4, \"height\": 3}"));
+        assertEquals(4, raceTrack.getWidth());
+        assertEquals(CellType.FINISH, raceTrack.getTrackGrid().cellTypeAt(1, 2));
+    }
+
+    @Test
+    public void fail_fast_test() throws IOException {
+        // The file is not even valid JSON after the first invalid value, which is reported instead
+        InvalidConfigurationException invalidHeader = assertThrows(InvalidConfigurationException.class,
+                () -> this.parser.parse(configuration("{\"width\": 0, \"height\": [")));
+        assertTrue(invalidHeader.getMessage().contains("width"));
+        InvalidConfigurationException invalidRow = assertThrows(InvalidConfigurationException.class,
+                () -> this.parser.parse(configuration(
+                        "{\"width\": 4, \"height\": 3, \"numPlayers\": 2, \"direction\": \"cw\", \"track\": [\"**x*\", ")));
+        assertTrue(invalidRow.getMessage().contains("Invalid cell character 'x'"));
+        assertThrows(InvalidConfigurationException.class, () -> this.parser.parse(configuration(
+                "{\"width\": 4, \"height\": 3, \"numPlayers\": 2, \"direction\": \"cw\", \"track\": [\"****\", \"****\"]}")));
+        assertThrows(InvalidConfigurationException.class, () -> this.parser.parse(configuration(
+                "{\"width\": 4, \"height\": 3, \"numPlayers\": 2, \"direction\": \"up\"}")));
+    }
+}
@@ -0,0 +1,41 @@
+package it.unicam.formula1Game.player;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerStateTableTest {
+    private final PlayerStateTable states = new PlayerStateTable(2);
+
+    @Test
+    public void add_and_move_test() {
+        int first = states.add(3, 1, 21);
+        int second = states.add(7, 2, 21);
+        assertEquals(states.size(), 2);
+        states.move(first, 1, 20);
+        assertEquals(states.getRow(first), 1);
+        assertEquals(states.getColumn(first), 20);
+        assertEquals(states.getRowShift(first), 0);
+        assertEquals(states.getColumnShift(first), -1);
+        assertEquals(states.getColumnShift(second), 0);
+        assertThrows(IllegalStateException.class, () -> states.add(9, 0, 0));
+    }
+
+    @Test
+    public void view_test() {
+        int slot = states.add(4, 5, 5);
+        CpuPlayer player = new CpuPlayer(states, slot);
+        player.makeMove(new Coordinate(6, 7));
+        assertEquals(states.getRow(slot), 6);
+        assertEquals(states.getColumn(slot), 7);
+        assertEquals(player.getLastMove(), new Coordinate(1, 2));
+        assertEquals(player.getId(), 4);
+        assertEquals(player.getStrategyProgress(), 0);
+        player.setStrategyProgress(3);
+        assertEquals(states.getStrategyProgress(slot), 3);
+        assertFalse(states.allCrashed());
+        player.setHasCrashed(true);
+        assertTrue(states.allCrashed());
+    }
+}
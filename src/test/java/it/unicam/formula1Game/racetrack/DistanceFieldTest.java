@@ -0,0 +1,47 @@
+package it.unicam.formula1Game.racetrack;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategyUtils.calculateDistanceInDirection;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceFieldTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+    private final DistanceField field = raceTrack.getDistanceField();
+
+    public DistanceFieldTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void ray_distance_test() {
+        for (int row = 0; row < raceTrack.getHeight(); row++) {
+            for (int column = 0; column < raceTrack.getWidth(); column++) {
+                if (raceTrack.getTrackGrid().cellTypeAt(row, column) == CellType.WALL) {
+                    assertEquals(field.rayDistanceAt(row, column), 0);
+                    continue;
+                }
+                Coordinate cell = new Coordinate(row, column);
+                int expected = Math.min(
+                        Math.min(calculateDistanceInDirection(cell, -1, 0, raceTrack), calculateDistanceInDirection(cell, 1, 0, raceTrack)),
+                        Math.min(calculateDistanceInDirection(cell, 0, -1, raceTrack), calculateDistanceInDirection(cell, 0, 1, raceTrack)));
+                assertEquals(field.rayDistanceAt(row, column), expected);
+            }
+        }
+    }
+
+    @Test
+    public void chebyshev_distance_test() {
+        assertEquals(field.chebyshevDistanceAt(0, 0), 0);
+        assertEquals(field.chebyshevDistanceAt(2, 10), 1);
+        assertEquals(field.chebyshevDistanceAt(2, 20), 2);
+        assertSame(raceTrack.getDistanceField(), field);
+    }
+}
@@ -0,0 +1,47 @@
+package it.unicam.formula1Game.racetrack;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FinishDistanceFieldTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+    private final FinishDistanceField field = raceTrack.getFinishDistanceField();
+
+    public FinishDistanceFieldTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void departure_direction_test() {
+        // The finish line is at the top of a counter-clockwise track, so players leave it going left
+        assertEquals(field.getDepartureRow(), 0);
+        assertEquals(field.getDepartureColumn(), -1);
+    }
+
+    @Test
+    public void finish_distance_test() {
+        assertEquals(field.distanceAt(2, 22), 0);
+        assertEquals(field.distanceAt(2, 23), 1);
+        assertEquals(field.distanceAt(0, 0), FinishDistanceField.UNREACHABLE);
+        assertEquals(field.distanceAt(-1, 5), FinishDistanceField.UNREACHABLE);
+        // The start line is next to the finish line, but players must run a whole lap to reach it
+        assertTrue(field.distanceAt(2, 21) > field.distanceAt(2, 30));
+        assertTrue(field.distanceAt(2, 20) > field.distanceAt(12, 35));
+    }
+
+    @Test
+    public void parallel_search_test() {
+        FinishDistanceField parallel = new FinishDistanceField(raceTrack.getTrackGrid(), raceTrack.getDirection(), true);
+        for (int row = 0; row < raceTrack.getHeight(); row++) {
+            for (int column = 0; column < raceTrack.getWidth(); column++) {
+                assertEquals(parallel.distanceAt(row, column), field.distanceAt(row, column));
+            }
+        }
+    }
+}
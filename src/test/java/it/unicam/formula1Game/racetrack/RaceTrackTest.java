@@ -70,4 +70,13 @@ public class RaceTrackTest {
         assertFalse(raceTrack.isWithinBoundaries(new Coordinate(0,2)));
         assertFalse(raceTrack.isWithinBoundaries(new Coordinate(2,0)));
     }
+    @Test
+    public void test_get_coordinate(){
+        assertSame(raceTrack.getCoordinate(1,1),raceTrack.getCoordinate(1,1));
+        assertEquals(raceTrack.getCoordinate(1,0),new Coordinate(1,0));
+        assertSame(raceTrack.getFinishCoordinates().get(0),raceTrack.getCoordinate(1,0));
+        assertEquals(raceTrack.getCoordinate(-1,2),new Coordinate(-1,2));
+        assertEquals(new Coordinate(-1,2).getRow(),-1);
+        assertEquals(new Coordinate(-1,-2).getColumn(),-2);
+    }
 }
@@ -0,0 +1,66 @@
+package it.unicam.formula1Game.racetrack;
+
+import it.unicam.formula1Game.cell.CellType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackGridTest {
+    private final TrackGrid grid = new TrackGrid(3, 2);
+
+    @Test
+    public void sentinel_ring_test() {
+        grid.setCellType(0, 0, CellType.TRACK);
+        grid.setCellType(1, 2, CellType.FINISH);
+        assertEquals(grid.cellTypeAt(0, 0), CellType.TRACK);
+        assertEquals(grid.cellTypeAt(1, 2), CellType.FINISH);
+        assertEquals(grid.cellTypeAt(0, 1), CellType.WALL);
+        assertEquals(grid.cellTypeAt(-1, 0), CellType.WALL);
+        assertEquals(grid.cellTypeAt(5, 7), CellType.WALL);
+        int index = grid.index(0, 0);
+        assertTrue(grid.isWall(index - 1));
+        assertTrue(grid.isWall(index - grid.getStride()));
+        assertEquals(grid.typeAt(grid.index(1, 2)), CellType.FINISH);
+        assertTrue(grid.isWall(grid.index(1, 2) + 1));
+        assertThrows(IllegalArgumentException.class, () -> grid.setCellType(2, 0, CellType.TRACK));
+    }
+
+    @Test
+    public void wrap_buffer_test() {
+        assertEquals(TrackGrid.paddedSize(3, 2), 20);
+        assertThrows(IllegalArgumentException.class, () -> new TrackGrid(3, 2, ByteBuffer.allocate(6)));
+        TrackGrid wrapped = new TrackGrid(3, 2, grid.getCells());
+        assertEquals(wrapped.cellTypeAt(1, 1), CellType.WALL);
+    }
+
+    @Test
+    public void sweep_test() {
+        TrackGrid corridor = new TrackGrid(6, 1);
+        corridor.setCellType(0, 0, CellType.TRACK);
+        corridor.setCellType(0, 1, CellType.TRACK);
+        corridor.setCellType(0, 3, CellType.TRACK);
+        corridor.setCellType(0, 4, CellType.FINISH);
+        corridor.setCellType(0, 5, CellType.TRACK);
+        // Jumping over the wall in column 2 is a crash even if the landing cell is a track cell
+        assertEquals(corridor.sweep(0, 0, 0, 3), CellType.WALL);
+        assertEquals(corridor.sweep(0, 0, 0, 1), CellType.TRACK);
+        // Skipping past the finish line still crosses it
+        assertEquals(corridor.sweep(0, 3, 0, 2), CellType.FINISH);
+        assertEquals(corridor.sweep(0, 5, 0, 3), CellType.WALL);
+        assertEquals(corridor.sweep(-1, 0, 0, 1), CellType.WALL);
+    }
+
+    @Test
+    public void segment_offsets_test() {
+        assertArrayEquals(SegmentTable.offsets(0, 0), new int[]{0, 0});
+        assertArrayEquals(SegmentTable.offsets(0, -2), new int[]{0, 0, 0, -1, 0, -2});
+        assertArrayEquals(SegmentTable.offsets(2, 2), new int[]{0, 0, 1, 1, 2, 2});
+        int[] fast = SegmentTable.offsets(40, -3);
+        assertEquals(fast.length, 82);
+        assertEquals(fast[80], 40);
+        assertEquals(fast[81], -3);
+        assertSame(SegmentTable.offsets(40, -3), fast);
+    }
+}
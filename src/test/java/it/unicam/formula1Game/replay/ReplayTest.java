@@ -0,0 +1,107 @@
+package it.unicam.formula1Game.replay;
+
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.player.PlayerStateTable;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplayTest {
+    private final RaceTrack raceTrack = new JsonParser().parse(new File(filePath));
+
+    public ReplayTest() throws InvalidConfigurationException {
+    }
+
+    /**
+     * Plays a recorded race, returning the state of the players at the end of every round.
+     */
+    private List<int[]> playRace(ReplayWriter writer, long seed) {
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setStrategies(List.of(new WeightedRandomStrategy(this.raceTrack),
+                new LandingRegionsStrategy(this.raceTrack, new GeometricLandingRegionsDetector())));
+        gameEngine.setSeed(seed);
+        gameEngine.setReplayWriter(writer);
+        gameEngine.initializeEnvironment(this.raceTrack);
+        List<int[]> states = new ArrayList<>();
+        states.add(snapshot(gameEngine.getPlayerStates()));
+        gameEngine.makeFirstMove();
+        states.add(snapshot(gameEngine.getPlayerStates()));
+        while (!gameEngine.isFinished()) {
+            gameEngine.step();
+            states.add(snapshot(gameEngine.getPlayerStates()));
+        }
+        return states;
+    }
+
+    private static int[] snapshot(PlayerStateTable states) {
+        int[] snapshot = new int[states.size() * 2];
+        for (int slot = 0; slot < states.size(); slot++) {
+            snapshot[2 * slot] = states.getRow(slot);
+            snapshot[2 * slot + 1] = states.getColumn(slot);
+        }
+        return snapshot;
+    }
+
+    @Test
+    public void replay_test() throws IOException {
+        Path file = Files.createTempFile("races", ".f1r");
+        Files.delete(file);
+        List<int[]> first;
+        List<int[]> second;
+        try (ReplayWriter writer = new ReplayWriter(file)) {
+            first = playRace(writer, 42);
+        }
+        // Races are appended to an existing file
+        try (ReplayWriter writer = new ReplayWriter(file)) {
+            second = playRace(writer, 7);
+        }
+        try (ReplayReader reader = new ReplayReader(file)) {
+            assertEquals(2, reader.getRaceCount());
+            RaceReplay race = reader.getRace(1);
+            assertEquals(this.raceTrack.getFingerprint(), race.getTrackFingerprint());
+            assertEquals(7, race.getSeed());
+            assertEquals(second.size() - 1, race.getRounds());
+            assertEquals(1, race.getStrategyId(0));
+            assertEquals(2, race.getStrategyId(1));
+            assertEquals(first.size() - 1, reader.getRace(0).getRounds());
+            // Every round is rebuilt from the closest keyframe
+            for (int round = second.size() - 1; round >= 0; round--) {
+                ReplayFrame frame = race.frameAt(round);
+                for (int player = 0; player < race.getNumberOfPlayers(); player++) {
+                    assertEquals(second.get(round)[2 * player], frame.rows()[player]);
+                    assertEquals(second.get(round)[2 * player + 1], frame.columns()[player]);
+                }
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> race.frameAt(race.getRounds() + 1));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void encode_test() {
+        for (int dRow = -1; dRow <= 1; dRow++) {
+            for (int dColumn = -1; dColumn <= 1; dColumn++) {
+                int code = ReplayFormat.encode(dRow, dColumn);
+                assertTrue(code >= 0 && code < ReplayFormat.NO_MOVE);
+                assertEquals(dRow, ReplayFormat.rowAcceleration(code));
+                assertEquals(dColumn, ReplayFormat.columnAcceleration(code));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package it.unicam.formula1Game.strategy;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.generator.TrackGenerator;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.FinishDistanceField;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.GeometricLandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegion;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeometricLandingRegionsDetectorTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+    private final GeometricLandingRegionsDetector detector = new GeometricLandingRegionsDetector();
+    private final List<LandingRegion> landingRegions = detector.detectLandingRegions(raceTrack);
+
+    public GeometricLandingRegionsDetectorTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void detect_landing_regions_test() {
+        assertTrue(landingRegions.size() > 2);
+        assertEquals(landingRegions.get(landingRegions.size() - 1).getCells(), new HashSet<>(raceTrack.getFinishCoordinates()));
+        // Regions follow the direction of travel, getting closer to the finish line
+        FinishDistanceField finishDistances = raceTrack.getFinishDistanceField();
+        int previous = Integer.MAX_VALUE;
+        for (LandingRegion landingRegion : landingRegions) {
+            assertFalse(landingRegion.getCells().isEmpty());
+            int closest = Integer.MAX_VALUE;
+            for (Coordinate cell : landingRegion.getCells()) {
+                closest = Math.min(closest, finishDistances.distanceAt(cell.getRow(), cell.getColumn()));
+            }
+            assertTrue(closest < previous);
+            previous = closest;
+        }
+    }
+
+    @Test
+    public void memoized_detection_test() throws InvalidConfigurationException {
+        RaceTrack sameTrack = parser.parse(new File(filePath));
+        assertSame(new GeometricLandingRegionsDetector().detectLandingRegions(sameTrack), landingRegions);
+    }
+
+    @Test
+    public void immutable_regions_test() {
+        LandingRegion landingRegion = landingRegions.get(0);
+        assertThrows(UnsupportedOperationException.class, () -> landingRegion.addNewCell(new Coordinate(0, 0)));
+    }
+
+    @Test
+    public void bounded_memo_test() throws InvalidConfigurationException {
+        RaceTrack firstTrack = new TrackGenerator(64, 32, 0).generate();
+        List<LandingRegion> firstRegions = detector.detectLandingRegions(firstTrack);
+        for (int seed = 1; seed <= GeometricLandingRegionsDetector.MAX_MEMOIZED_TRACKS; seed++) {
+            detector.detectLandingRegions(new TrackGenerator(64, 32, seed).generate());
+        }
+        // The first track was the least recently used, so its regions are detected again
+        List<LandingRegion> detectedAgain = detector.detectLandingRegions(firstTrack);
+        assertNotSame(firstRegions, detectedAgain);
+        assertEquals(firstRegions.size(), detectedAgain.size());
+        for (int i = 0; i < firstRegions.size(); i++) {
+            assertEquals(firstRegions.get(i).getCells(), detectedAgain.get(i).getCells());
+        }
+    }
+}
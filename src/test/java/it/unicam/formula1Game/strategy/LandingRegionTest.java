@@ -0,0 +1,44 @@
+package it.unicam.formula1Game.strategy;
+
+import it.unicam.formula1Game.cell.Coordinate;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegion;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LandingRegionTest {
+
+    @Test
+    public void distance_queries_test() {
+        Set<Coordinate> cells = Set.of(new Coordinate(2, 3), new Coordinate(2, 4), new Coordinate(5, 8), new Coordinate(6, 1));
+        LandingRegion landingRegion = new LandingRegion(new HashSet<>(cells));
+        for (int row = -3; row < 10; row++) {
+            for (int column = -2; column < 12; column++) {
+                Coordinate move = new Coordinate(row, column);
+                int minimum = Integer.MAX_VALUE;
+                double sum = 0;
+                for (Coordinate cell : cells) {
+                    int distance = StrategyUtils.calculateDistance(move, cell);
+                    minimum = Math.min(minimum, distance);
+                    sum += distance;
+                }
+                assertEquals(landingRegion.minimumDistance(move), minimum);
+                assertEquals(landingRegion.averageDistance(move), sum / cells.size(), 1e-9);
+            }
+        }
+        assertEquals(landingRegion.getWidth(), 8);
+        assertEquals(landingRegion.getHeight(), 5);
+    }
+
+    @Test
+    public void add_new_cell_test() {
+        LandingRegion landingRegion = new LandingRegion(new HashSet<>());
+        assertEquals(landingRegion.minimumDistance(new Coordinate(0, 0)), Integer.MAX_VALUE);
+        landingRegion.addNewCell(new Coordinate(1, 1));
+        assertEquals(landingRegion.minimumDistance(new Coordinate(0, 0)), 2);
+        assertThrows(UnsupportedOperationException.class, () -> landingRegion.getCells().add(new Coordinate(0, 0)));
+    }
+}
@@ -0,0 +1,78 @@
+package it.unicam.formula1Game.strategy;
+
+import it.unicam.formula1Game.cell.CellType;
+import it.unicam.formula1Game.engine.CpuGameEngine;
+import it.unicam.formula1Game.engine.OutputSink;
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.optimalPathStrategy.OptimalPathStrategy;
+import it.unicam.formula1Game.strategy.optimalPathStrategy.VectorRaceSolver;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static it.unicam.formula1Game.strategy.optimalPathStrategy.VectorRaceSolver.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OptimalPathStrategyTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+
+    public OptimalPathStrategyTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void solve_test() {
+        VectorRaceSolver solver = new VectorRaceSolver(raceTrack);
+        long[] path = solver.solve(pack(2, 20, 0, -1));
+        assertValidPath(path);
+        // A solver can be reused and finds the same number of rounds
+        assertEquals(solver.solve(pack(2, 20, 0, -1)).length, path.length);
+        assertNull(solver.solve(pack(0, 0, 0, 0)));
+    }
+
+    @Test
+    public void solve_test_growing_table() {
+        long[] expected = new VectorRaceSolver(raceTrack).solve(pack(2, 20, 0, -1));
+        // The table grows many times during the search, moving the slots of the states being expanded
+        VectorRaceSolver solver = new VectorRaceSolver(raceTrack, 2);
+        long[] path = solver.solve(pack(2, 20, 0, -1));
+        assertValidPath(path);
+        assertEquals(expected.length, path.length);
+        assertEquals(expected.length, solver.solve(pack(2, 20, 0, -1)).length);
+        assertThrows(IllegalArgumentException.class, () -> new VectorRaceSolver(raceTrack, 3));
+    }
+
+    /**
+     * Checks that every state of the path is reached from the previous one by a legal move
+     * and that only the last move crosses the finish line.
+     */
+    private void assertValidPath(long[] path) {
+        assertNotNull(path);
+        for (int i = 1; i < path.length; i++) {
+            assertTrue(Math.abs(rowVelocity(path[i]) - rowVelocity(path[i - 1])) <= 1);
+            assertTrue(Math.abs(columnVelocity(path[i]) - columnVelocity(path[i - 1])) <= 1);
+            assertEquals(row(path[i]), row(path[i - 1]) + rowVelocity(path[i]));
+            assertEquals(column(path[i]), column(path[i - 1]) + columnVelocity(path[i]));
+            CellType expected = i == path.length - 1 ? CellType.FINISH : CellType.TRACK;
+            CellType cellType = raceTrack.getTrackGrid().sweep(row(path[i - 1]), column(path[i - 1]),
+                    rowVelocity(path[i]), columnVelocity(path[i]));
+            assertEquals(cellType == CellType.START ? CellType.TRACK : cellType, expected);
+        }
+    }
+
+    @Test
+    public void optimal_race_test() {
+        CpuGameEngine gameEngine = new CpuGameEngine(OutputSink.none());
+        gameEngine.setStrategies(List.of(new OptimalPathStrategy(raceTrack)));
+        gameEngine.initializeEnvironment(raceTrack);
+        gameEngine.makeFirstMove();
+        gameEngine.startGame();
+        assertNotNull(gameEngine.getWinner());
+        long[] path = new VectorRaceSolver(raceTrack).solve(pack(2, 20, 0, -1));
+        assertTrue(gameEngine.getRound() <= path.length);
+    }
+}
@@ -0,0 +1,53 @@
+package it.unicam.formula1Game.strategy;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import it.unicam.formula1Game.tournament.TournamentRunner;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranspositionTableTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+
+    public TranspositionTableTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void store_and_probe_test() {
+        TranspositionTable table = new TranspositionTable(2);
+        long key = TranspositionTable.key(raceTrack.getFingerprint(), 1, 2, 20, 0, -1);
+        assertEquals(table.probe(key, -1), -1L);
+        table.store(key, TranspositionTable.packEntry(3, 19, 2.5f));
+        long entry = table.probe(key, -1);
+        assertEquals(TranspositionTable.entryRow(entry), 3);
+        assertEquals(TranspositionTable.entryColumn(entry), 19);
+        assertEquals(TranspositionTable.entryScore(entry), 2.5f, 0);
+        // With a single bucket, the oldest of three entries is evicted
+        long second = TranspositionTable.key(raceTrack.getFingerprint(), 1, 2, 19, 0, -1);
+        long third = TranspositionTable.key(raceTrack.getFingerprint(), 2, 2, 20, 0, -1);
+        table.store(second, TranspositionTable.packEntry(2, 18, 1f));
+        table.store(third, TranspositionTable.packEntry(2, 21, 1f));
+        assertEquals(table.probe(key, -1), -1L);
+        assertNotEquals(table.probe(second, -1), -1L);
+        assertNotEquals(table.probe(third, -1), -1L);
+        assertEquals(table.getHits(), 3L);
+        assertEquals(table.getMisses(), 2L);
+    }
+
+    @Test
+    public void shared_table_test() {
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        TournamentRunner runner = new TournamentRunner(raceTrack,
+                List.of(track -> new WeightedRandomStrategy(track, table)), 4, 500);
+        assertEquals(runner.run(20).getStrategyStatistics(0).getWinRate(), 1.0, 0);
+        assertTrue(table.getHitRate() > 0.9);
+    }
+}
@@ -0,0 +1,49 @@
+package it.unicam.formula1Game.tournament;
+
+import it.unicam.formula1Game.exceptions.InvalidConfigurationException;
+import it.unicam.formula1Game.parser.JsonParser;
+import it.unicam.formula1Game.racetrack.RaceTrack;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsDetector;
+import it.unicam.formula1Game.strategy.landingRegionStrategy.LandingRegionsStrategy;
+import it.unicam.formula1Game.strategy.weightedRandomStrategy.WeightedRandomStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+
+import static it.unicam.formula1Game.parser.JsonParserTest.filePath;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentRunnerTest {
+    private final JsonParser parser = new JsonParser();
+    private final RaceTrack raceTrack = parser.parse(new File(filePath));
+    private final TournamentRunner runner = new TournamentRunner(raceTrack, List.of(
+            WeightedRandomStrategy::new,
+            track -> new LandingRegionsStrategy(track, new LandingRegionsDetector())
+    ));
+
+    public TournamentRunnerTest() throws InvalidConfigurationException {
+    }
+
+    @Test
+    public void run_tournament_test() {
+        TournamentResult result = runner.run(40);
+        assertEquals(result.getRaces(), 40L);
+        assertEquals(result.getStrategyStatistics().size(), 2);
+        assertEquals(result.getStrategyStatistics(0).getStrategyName(), "WeightedRandomStrategy");
+        assertEquals(result.getStrategyStatistics(1).getStrategyName(), "LandingRegionsStrategy");
+        long wins = 0;
+        for (StrategyStatistics statistics : result.getStrategyStatistics()) {
+            assertEquals(statistics.getRaces(), 40L);
+            assertTrue(statistics.getWinRate() >= 0 && statistics.getWinRate() <= 1);
+            assertTrue(statistics.getCrashRate() >= 0 && statistics.getCrashRate() <= 1);
+            wins += statistics.getWins();
+        }
+        assertEquals(wins + result.getRacesWithoutWinner(), 40L);
+    }
+
+    @Test
+    public void invalid_tournament_test() {
+        assertThrows(IllegalArgumentException.class, () -> new TournamentRunner(raceTrack, List.of()));
+    }
+}